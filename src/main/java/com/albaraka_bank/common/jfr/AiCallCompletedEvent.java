@@ -0,0 +1,41 @@
+package com.albaraka_bank.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One call to the chat model, successful or not. */
+@Name("com.albaraka_bank.AiCallCompleted")
+@Label("AI Call Completed")
+@Category({"Albaraka Bank", "AI"})
+@Description("A document analysis request to the chat model")
+@StackTrace(false)
+public class AiCallCompletedEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Document Type")
+    String documentType;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Response Length")
+    @DataAmount(DataAmount.BYTES)
+    long responseLength;
+
+    public void complete(String outcome, String documentType, Double amount, String response) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.documentType = documentType;
+            this.amount = amount != null ? amount : 0;
+            this.responseLength = response != null ? response.length() : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.albaraka_bank.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One uploaded file written to storage. */
+@Name("com.albaraka_bank.DocumentStored")
+@Label("Document Stored")
+@Category({"Albaraka Bank", "Storage"})
+@Description("An uploaded document copied to storage")
+@StackTrace(false)
+public class DocumentStoredEvent extends jdk.jfr.Event {
+
+    @Label("Operation Id")
+    long operationId;
+
+    @Label("Content Type")
+    String contentType;
+
+    @Label("Size")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    public void complete(Long operationId, String contentType, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.operationId = operationId != null ? operationId : 0;
+            this.contentType = contentType;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
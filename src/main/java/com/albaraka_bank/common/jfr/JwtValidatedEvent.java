@@ -0,0 +1,27 @@
+package com.albaraka_bank.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One bearer token checked by the API filter, including the user lookup. */
+@Name("com.albaraka_bank.JwtValidated")
+@Label("JWT Validated")
+@Category({"Albaraka Bank", "Security"})
+@Description("A bearer token parsed, its user loaded and the token checked against it")
+@StackTrace(false)
+public class JwtValidatedEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    String outcome;
+
+    public void complete(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
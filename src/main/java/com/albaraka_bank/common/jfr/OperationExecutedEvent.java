@@ -0,0 +1,44 @@
+package com.albaraka_bank.common.jfr;
+
+import com.albaraka_bank.common.money.Money;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One operation applied to its accounts, from taking the account locks (when it takes them on
+ * its own) to its ledger entries.
+ */
+@Name("com.albaraka_bank.OperationExecuted")
+@Label("Operation Executed")
+@Category({"Albaraka Bank", "Operations"})
+@Description("An operation applied to its accounts, including lock waits, balance updates and ledger entries")
+@StackTrace(false)
+public class OperationExecutedEvent extends jdk.jfr.Event {
+
+    @Label("Operation Id")
+    long operationId;
+
+    @Label("Type")
+    String type;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Source Account Id")
+    long sourceAccountId;
+
+    /** Ends the event and commits it, filling in the fields only when a recording wants it. */
+    public void complete(Long operationId, String type, Money amount, Long sourceAccountId) {
+        end();
+        if (shouldCommit()) {
+            this.operationId = operationId != null ? operationId : 0;
+            this.type = type;
+            this.amount = amount.doubleValue();
+            this.sourceAccountId = sourceAccountId != null ? sourceAccountId : 0;
+            commit();
+        }
+    }
+}
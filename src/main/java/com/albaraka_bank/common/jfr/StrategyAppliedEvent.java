@@ -0,0 +1,36 @@
+package com.albaraka_bank.common.jfr;
+
+import com.albaraka_bank.common.money.Money;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Balance checks and updates done by one operation strategy. */
+@Name("com.albaraka_bank.StrategyApplied")
+@Label("Strategy Applied")
+@Category({"Albaraka Bank", "Operations"})
+@Description("An operation strategy checked and moved balances")
+@StackTrace(false)
+public class StrategyAppliedEvent extends jdk.jfr.Event {
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Account Id")
+    long accountId;
+
+    public void complete(String strategy, Money amount, Long accountId) {
+        end();
+        if (shouldCommit()) {
+            this.strategy = strategy;
+            this.amount = amount.doubleValue();
+            this.accountId = accountId != null ? accountId : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.albaraka_bank.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accounts gained an optimistic lock version after the table existed, and schema updates add
+ * the column as NULL on existing rows, which Hibernate cannot increment. Start those rows at 0
+ * before the web server starts taking requests. Only touches NULLs, so it is safe on every node.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AccountVersionBackfill implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int updated = jdbcTemplate.update("UPDATE accounts SET version = 0 WHERE version IS NULL");
+        if (updated > 0) {
+            log.info("Set the version of {} accounts to 0", updated);
+        }
+    }
+}
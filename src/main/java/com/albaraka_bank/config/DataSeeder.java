@@ -1,5 +1,6 @@
 package com.albaraka_bank.config;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.account.repository.AccountRepository;
 import com.albaraka_bank.modules.iam.model.User;
@@ -11,7 +12,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Component
@@ -54,7 +54,7 @@ public class DataSeeder implements CommandLineRunner {
             Account account = new Account();
             account.setOwner(user);
             account.setAccountNumber("ALB" + (1000000000 + user.getId()));
-            account.setBalance(new BigDecimal("0.00"));
+            account.setBalance(Money.ZERO);
             accountRepository.save(account);
             System.out.println("Seeded account for: " + user.getEmail());
         }
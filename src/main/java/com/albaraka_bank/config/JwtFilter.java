@@ -1,11 +1,13 @@
 package com.albaraka_bank.config;
 
+import com.albaraka_bank.common.jfr.JwtValidatedEvent;
 import com.albaraka_bank.modules.iam.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,12 +18,21 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/** Bearer tokens checked here are counted as {@code bank.auth.token} by outcome. */
 @Component
-@RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final Counter acceptedTokens;
+    private final Counter rejectedTokens;
+
+    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.acceptedTokens = meterRegistry.counter("bank.auth.token", "outcome", "accepted");
+        this.rejectedTokens = meterRegistry.counter("bank.auth.token", "outcome", "rejected");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -37,8 +48,17 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
+        JwtValidatedEvent event = new JwtValidatedEvent();
+        event.begin();
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        try {
+            userEmail = jwtService.extractUsername(jwt);
+        } catch (RuntimeException e) {
+            // Malformed, badly signed or expired
+            rejectedTokens.increment();
+            event.complete("rejected");
+            throw e;
+        }
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             var userDetails = this.userDetailsService.loadUserByUsername(userEmail);
@@ -51,6 +71,11 @@ public class JwtFilter extends OncePerRequestFilter {
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                acceptedTokens.increment();
+                event.complete("accepted");
+            } else {
+                rejectedTokens.increment();
+                event.complete("rejected");
             }
         }
         filterChain.doFilter(request, response);
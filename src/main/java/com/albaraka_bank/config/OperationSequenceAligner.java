@@ -0,0 +1,37 @@
+package com.albaraka_bank.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operation ids used to come from an identity column. On PostgreSQL databases created before
+ * the switch to {@code operations_seq}, move the sequence past the existing ids before the
+ * web server starts taking requests. Never moves it backwards, so it is safe on every node.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OperationSequenceAligner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+
+        Long value = jdbcTemplate.queryForObject("""
+                SELECT setval('operations_seq', GREATEST(
+                    (SELECT COALESCE(MAX(id), 0) FROM operations),
+                    (SELECT last_value FROM operations_seq)))
+                """, Long.class);
+        log.debug("operations_seq aligned to {}", value);
+    }
+}
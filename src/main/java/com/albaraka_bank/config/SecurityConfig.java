@@ -1,16 +1,20 @@
 package com.albaraka_bank.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -18,6 +22,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,6 +34,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.logout.LogoutSuccessHandler;
@@ -69,6 +75,8 @@ public class SecurityConfig {
                                 .csrf(csrf -> csrf.ignoringRequestMatchers("/logout", "/register", "/agent/**",
                                                 "/admin/**", "/client/**"))
                                 .authorizeHttpRequests(auth -> auth
+                                                // Streamed responses re-dispatch once the original request was authorized
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 .requestMatchers(PathRequest.toStaticResources().atCommonLocations())
                                                 .permitAll()
                                                 .requestMatchers("/login", "/register").permitAll()
@@ -110,6 +118,7 @@ public class SecurityConfig {
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .authorizeHttpRequests(auth -> auth
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 .requestMatchers("/api/keycloak/client/**").hasRole("CLIENT")
                                                 .requestMatchers("/api/keycloak/agent/**").hasRole("AGENT_BANCAIRE")
                                                 .requestMatchers("/api/keycloak/admin/**").hasRole("ADMIN")
@@ -129,6 +138,7 @@ public class SecurityConfig {
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .authorizeHttpRequests(auth -> auth
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 .requestMatchers("/auth/**", "/v3/api-docs/**", "/swagger-ui/**")
                                                 .permitAll()
                                                 .requestMatchers("/api/client/**").hasRole("CLIENT")
@@ -143,6 +153,52 @@ public class SecurityConfig {
                 return http.build();
         }
 
+        @Value("${app.metrics.scrape.username:prometheus}")
+        private String scrapeUsername;
+
+        @Value("${app.metrics.scrape.password:}")
+        private String scrapePassword;
+
+        /**
+         * Health needs no credentials. Prometheus scrapes authenticate with HTTP basic as the
+         * scrape user, and are refused while no scrape password is set. Every other actuator
+         * endpoint is refused.
+         */
+        @Bean
+        @Order(4)
+        public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+                http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                                .csrf(AbstractHttpConfigurer::disable)
+                                .authorizeHttpRequests(auth -> {
+                                        auth.requestMatchers(EndpointRequest.to("health")).permitAll();
+                                        if (!scrapePassword.isEmpty()) {
+                                                auth.requestMatchers(EndpointRequest.to("prometheus"))
+                                                                .hasRole("METRICS_SCRAPER");
+                                        }
+                                        auth.anyRequest().denyAll();
+                                })
+                                .httpBasic(Customizer.withDefaults())
+                                .authenticationManager(scrapeAuthenticationManager())
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+                return http.build();
+        }
+
+        // Only the scrape user, so application accounts cannot read metrics
+        private AuthenticationManager scrapeAuthenticationManager() {
+                InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+                if (!scrapePassword.isEmpty()) {
+                        scrapeUsers.createUser(User.withUsername(scrapeUsername)
+                                        .password(passwordEncoder().encode(scrapePassword))
+                                        .roles("METRICS_SCRAPER")
+                                        .build());
+                }
+                DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder());
+                provider.setUserDetailsService(scrapeUsers);
+                return new ProviderManager(provider);
+        }
+
         @Bean
         public AuthenticationProvider authenticationProvider() {
                 DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(passwordEncoder());
@@ -2,21 +2,28 @@ package com.albaraka_bank.modules.account.controller;
 
 import com.albaraka_bank.common.util.SecurityUtils;
 import com.albaraka_bank.modules.account.dto.AccountResponse;
+import com.albaraka_bank.modules.account.dto.BalanceAtResponse;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.account.service.AccountService;
 import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.ledger.service.BalanceHistoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/client")
 @RequiredArgsConstructor
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceHistoryService balanceHistoryService;
 
     @GetMapping("/account")
     public ResponseEntity<AccountResponse> getMyAccount() {
@@ -25,10 +32,24 @@ public class AccountController {
 
         AccountResponse response = AccountResponse.builder()
                 .accountNumber(account.getAccountNumber())
-                .balance(account.getBalance())
+                .balance(accountService.getBalanceView(account))
                 .ownerName(user.getFullName())
                 .build();
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Balance including every operation executed before {@code at}
+     */
+    @GetMapping("/account/balance-at")
+    public ResponseEntity<BalanceAtResponse> getBalanceAt(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        Account account = accountService.getAccountByOwner(SecurityUtils.getCurrentUser());
+        return ResponseEntity.ok(BalanceAtResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .at(at)
+                .balance(balanceHistoryService.balanceAt(account, at))
+                .build());
+    }
 }
@@ -0,0 +1,101 @@
+package com.albaraka_bank.modules.account.controller;
+
+import com.albaraka_bank.modules.account.dto.AccountResponse;
+import com.albaraka_bank.modules.account.dto.AccountTierRequest;
+import com.albaraka_bank.modules.account.dto.BalanceAtResponse;
+import com.albaraka_bank.modules.account.dto.BalanceSlotsRequest;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.service.AccountCache;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.ledger.service.BalanceHistoryService;
+import com.albaraka_bank.modules.operation.service.statement.StatementFormat;
+import com.albaraka_bank.modules.operation.service.statement.StatementService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/accounts")
+@RequiredArgsConstructor
+public class AdminAccountController {
+
+    private final AccountService accountService;
+    private final AccountCache accountCache;
+    private final StatementService statementService;
+    private final BalanceHistoryService balanceHistoryService;
+
+    /**
+     * Full statement of any account, for audits
+     */
+    @GetMapping("/{accountNumber}/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable String accountNumber,
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Account account = accountService.getAccountByNumber(accountNumber);
+        return statementService.export(account, format, from, to).toResponseEntity();
+    }
+
+    @GetMapping("/{accountNumber}/balance-at")
+    public ResponseEntity<BalanceAtResponse> getBalanceAt(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        Account account = accountService.getAccountByNumber(accountNumber);
+        return ResponseEntity.ok(BalanceAtResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .at(at)
+                .balance(balanceHistoryService.balanceAt(account, at))
+                .build());
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<AccountCache.Stats>> getCacheStats() {
+        return ResponseEntity.ok(accountCache.stats());
+    }
+
+    /**
+     * Spread a hot account's balance over several slots, or fold it back into one row
+     */
+    @PutMapping("/{accountNumber}/balance-slots")
+    public ResponseEntity<AccountResponse> setBalanceSlots(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody BalanceSlotsRequest request) {
+        Account account = accountService.setBalanceSlots(accountNumber, request.getSlots());
+
+        AccountResponse response = AccountResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .balance(accountService.getBalance(account).toBigDecimal())
+                .ownerName(account.getOwner().getFullName())
+                .tier(account.getTier())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Tier the validation rules match on
+     */
+    @PutMapping("/{accountNumber}/tier")
+    public ResponseEntity<AccountResponse> setTier(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody AccountTierRequest request) {
+        Account account = accountService.setTier(accountNumber, request.getTier());
+
+        AccountResponse response = AccountResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .balance(accountService.getBalance(account).toBigDecimal())
+                .ownerName(account.getOwner().getFullName())
+                .tier(account.getTier())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.albaraka_bank.modules.account.dto;
 
+import com.albaraka_bank.modules.account.model.AccountTier;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,5 +16,6 @@ public class AccountResponse {
     private String accountNumber;
     private BigDecimal balance;
     private String ownerName;
+    private AccountTier tier;
 }
 
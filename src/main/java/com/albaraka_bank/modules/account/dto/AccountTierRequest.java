@@ -0,0 +1,12 @@
+package com.albaraka_bank.modules.account.dto;
+
+import com.albaraka_bank.modules.account.model.AccountTier;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class AccountTierRequest {
+
+    @NotNull(message = "Tier is required")
+    private AccountTier tier;
+}
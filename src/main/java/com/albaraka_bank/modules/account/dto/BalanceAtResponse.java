@@ -0,0 +1,19 @@
+package com.albaraka_bank.modules.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceAtResponse {
+    private String accountNumber;
+    private LocalDateTime at;
+    private BigDecimal balance;
+}
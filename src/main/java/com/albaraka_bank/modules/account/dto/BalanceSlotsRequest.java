@@ -0,0 +1,14 @@
+package com.albaraka_bank.modules.account.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class BalanceSlotsRequest {
+
+    // 0 or 1 turns hot-account mode off
+    @Min(value = 0, message = "Slots cannot be negative")
+    @Max(value = 64, message = "At most 64 slots are supported")
+    private int slots;
+}
@@ -1,15 +1,19 @@
 package com.albaraka_bank.modules.account.model;
 
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.common.money.MoneyConverter;
+import com.albaraka_bank.modules.account.service.AccountCacheListener;
 import com.albaraka_bank.modules.iam.model.User;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
+@EntityListeners(AccountCacheListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,13 +23,32 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(unique = true, nullable = false)
     private String accountNumber;
 
     @Column(nullable = false)
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)
+    private Money balance;
+
+    // Ledger entries posted up to this instant are included in balance
+    private LocalDateTime balanceAsOf;
+
+    // Number of AccountBalanceSlot rows holding part of the balance, null for ordinary accounts
+    private Integer balanceSlots;
+
+    // Selects which validation rules apply to operations from this account
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private AccountTier tier = AccountTier.STANDARD;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User owner;
+
+    public boolean hasBalanceSlots() {
+        return balanceSlots != null && balanceSlots > 0;
+    }
 }
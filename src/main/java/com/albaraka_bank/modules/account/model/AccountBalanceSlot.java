@@ -0,0 +1,37 @@
+package com.albaraka_bank.modules.account.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Part of a hot account's balance. Credits land on one slot picked at random so that
+ * concurrent credits rarely wait on the same row; debits draw the slots down in order.
+ */
+@Entity
+@Table(name = "account_balance_slots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_balance_slots_account_slot", columnNames = {"account_id", "slot"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountBalanceSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(nullable = false)
+    private int slot;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+}
@@ -0,0 +1,7 @@
+package com.albaraka_bank.modules.account.model;
+
+public enum AccountTier {
+    STANDARD,
+    PREMIUM,
+    BUSINESS
+}
@@ -3,8 +3,14 @@ package com.albaraka_bank.modules.account.repository;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.iam.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +18,22 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByAccountNumber(String accountNumber);
 
     Optional<Account> findByOwner(User owner);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Modifying
+    @Query(value = """
+            UPDATE accounts SET
+                balance = balance + COALESCE((
+                    SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                    FROM ledger_entries e
+                    WHERE e.account_id = accounts.id
+                      AND e.created_at <= :cutoff
+                      AND (accounts.balance_as_of IS NULL OR e.created_at > accounts.balance_as_of)), 0),
+                balance_as_of = :cutoff,
+                version = COALESCE(version, 0) + 1
+            WHERE id IN (:accountIds)
+              AND (balance_as_of IS NULL OR balance_as_of < :cutoff)
+            """, nativeQuery = true)
+    int snapshotLedger(@Param("accountIds") Collection<Long> accountIds, @Param("cutoff") LocalDateTime cutoff);
 }
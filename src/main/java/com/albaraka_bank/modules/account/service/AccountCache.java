@@ -0,0 +1,201 @@
+package com.albaraka_bank.modules.account.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory lookups in front of the accounts table.
+ * <p>
+ * Owner and account number map to an account id. A mapping is only answered while the account's
+ * own entry still names that owner and number: {@link AccountCacheListener} drops the entry when
+ * either changes locally, and {@code id-ttl} bounds how long a change made on another node goes
+ * unseen. The balance view is versioned by the account row and expires after {@code balance-ttl},
+ * which bounds staleness for changes that do not touch the row (balance slots, ledger entries) or
+ * that were made on another node. Local balance changes evict it immediately.
+ */
+@Component
+public class AccountCache implements MeterBinder {
+
+    private final Region<Long, Long> accountIdByOwner;
+    private final Region<String, Long> accountIdByNumber;
+    private final Map<Long, AccountKeys> keysByAccountId;
+    private final Region<Long, BalanceView> balances;
+    private final long idTtlNanos;
+    private final long balanceTtlNanos;
+
+    public AccountCache(@Value("${app.account.cache.max-size:10000}") int maxSize,
+            @Value("${app.account.cache.id-ttl:PT10M}") Duration idTtl,
+            @Value("${app.account.cache.balance-ttl:PT2S}") Duration balanceTtl) {
+        this.accountIdByOwner = new Region<>("owner", maxSize);
+        this.accountIdByNumber = new Region<>("number", maxSize);
+        this.keysByAccountId = boundedMap(maxSize);
+        this.balances = new Region<>("balance", maxSize);
+        this.idTtlNanos = idTtl.toNanos();
+        this.balanceTtlNanos = balanceTtl.toNanos();
+    }
+
+    public record Stats(String region, long size, long hits, long misses) {
+    }
+
+    private record AccountKeys(Long ownerId, String accountNumber, long expiresAt) {
+    }
+
+    private record BalanceView(Long version, BigDecimal balance, long expiresAt) {
+    }
+
+    public Long accountIdForOwner(Long ownerId) {
+        Long accountId = ownerId == null ? null : accountIdByOwner.peek(ownerId);
+        AccountKeys keys = accountId == null ? null : current(accountId);
+        return accountIdByOwner.answer(keys != null && ownerId.equals(keys.ownerId()) ? accountId : null);
+    }
+
+    public Long accountIdForNumber(String accountNumber) {
+        Long accountId = accountIdByNumber.peek(accountNumber);
+        AccountKeys keys = accountId == null ? null : current(accountId);
+        return accountIdByNumber.answer(keys != null && accountNumber.equals(keys.accountNumber()) ? accountId : null);
+    }
+
+    public void putAccount(Long accountId, Long ownerId, String accountNumber) {
+        keysByAccountId.put(accountId, new AccountKeys(ownerId, accountNumber, System.nanoTime() + idTtlNanos));
+        accountIdByOwner.put(ownerId, accountId);
+        accountIdByNumber.put(accountNumber, accountId);
+    }
+
+    /** Stops answering the account's owner and number lookups if either is no longer theirs. */
+    public void accountChanged(Long accountId, Long ownerId, String accountNumber) {
+        AccountKeys keys = keysByAccountId.get(accountId);
+        if (keys != null && (!Objects.equals(keys.ownerId(), ownerId)
+                || !Objects.equals(keys.accountNumber(), accountNumber))) {
+            keysByAccountId.remove(accountId);
+        }
+    }
+
+    public void evictAccount(Long accountId) {
+        keysByAccountId.remove(accountId);
+    }
+
+    /** Drops everything, for when accounts were deleted or changed outside the application. */
+    public void clear() {
+        keysByAccountId.clear();
+        accountIdByOwner.clear();
+        accountIdByNumber.clear();
+        balances.clear();
+    }
+
+    // Owner and number entries are only trusted while this one agrees with them
+    private AccountKeys current(Long accountId) {
+        AccountKeys keys = keysByAccountId.get(accountId);
+        return keys != null && System.nanoTime() - keys.expiresAt() < 0 ? keys : null;
+    }
+
+    /** Null unless a view for this exact row version was cached less than balance-ttl ago. */
+    public BigDecimal balance(Long accountId, Long version) {
+        BalanceView view = balances.peek(accountId);
+        if (view != null && Objects.equals(view.version(), version) && System.nanoTime() - view.expiresAt() < 0) {
+            balances.hit();
+            return view.balance();
+        }
+        balances.miss();
+        return null;
+    }
+
+    public void putBalance(Long accountId, Long version, BigDecimal balance) {
+        balances.put(accountId, new BalanceView(version, balance, System.nanoTime() + balanceTtlNanos));
+    }
+
+    public void evictBalance(Long accountId) {
+        balances.evict(accountId);
+    }
+
+    public List<Stats> stats() {
+        return List.of(accountIdByOwner.stats(), accountIdByNumber.stats(), balances.stats());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Region<?, ?> region : List.of(accountIdByOwner, accountIdByNumber, balances)) {
+            FunctionCounter.builder("account.cache.requests", region.hits, LongAdder::sum)
+                    .tags("region", region.name, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("account.cache.requests", region.misses, LongAdder::sum)
+                    .tags("region", region.name, "result", "miss")
+                    .register(registry);
+            Gauge.builder("account.cache.size", region, Region::size)
+                    .tag("region", region.name)
+                    .register(registry);
+        }
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private static final class Region<K, V> {
+
+        private final String name;
+        private final Map<K, V> entries;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        Region(String name, int maxSize) {
+            this.name = name;
+            this.entries = boundedMap(maxSize);
+        }
+
+        V peek(K key) {
+            return entries.get(key);
+        }
+
+        // Counts the lookup and passes its result through
+        V answer(V value) {
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        void hit() {
+            hits.increment();
+        }
+
+        void miss() {
+            misses.increment();
+        }
+
+        void put(K key, V value) {
+            entries.put(key, value);
+        }
+
+        void evict(K key) {
+            entries.remove(key);
+        }
+
+        void clear() {
+            entries.clear();
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        Stats stats() {
+            return new Stats(name, size(), hits.sum(), misses.sum());
+        }
+    }
+}
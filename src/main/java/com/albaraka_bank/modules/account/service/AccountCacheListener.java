@@ -0,0 +1,48 @@
+package com.albaraka_bank.modules.account.service;
+
+import com.albaraka_bank.modules.account.model.Account;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link AccountCache} from answering an owner or account number lookup with an account
+ * that no longer has that owner or number. Runs again once the change is visible, so a read in
+ * between cannot re-cache the old mapping.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountCacheListener {
+
+    private final AccountCache accountCache;
+
+    @PostUpdate
+    void updated(Account account) {
+        Long accountId = account.getId();
+        Long ownerId = account.getOwner() != null ? account.getOwner().getId() : null;
+        String accountNumber = account.getAccountNumber();
+        accountCache.accountChanged(accountId, ownerId, accountNumber);
+        afterCompletion(() -> accountCache.accountChanged(accountId, ownerId, accountNumber));
+    }
+
+    @PostRemove
+    void removed(Account account) {
+        Long accountId = account.getId();
+        accountCache.evictAccount(accountId);
+        afterCompletion(() -> accountCache.evictAccount(accountId));
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -1,56 +1,278 @@
 package com.albaraka_bank.modules.account.service;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.model.AccountBalanceSlot;
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.account.repository.AccountBalanceSlotRepository;
 import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.lock.AccountLockManager;
 import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.ledger.service.LedgerService;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final LedgerService ledgerService;
+    private final AccountBalanceSlotRepository balanceSlotRepository;
+    private final AccountLockManager accountLockManager;
+    private final AccountCache accountCache;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Transactional
     public Account createAccount(User owner) {
         Account account = Account.builder()
                 .accountNumber(generateAccountNumber())
-                .balance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
                 .owner(owner)
                 .build();
         return accountRepository.save(account);
     }
 
+    /**
+     * With a cached id and an open persistence context this is a reference that is only loaded
+     * when something other than its id is read, so callers that just need the id skip the query.
+     */
     public Account getAccountByOwner(User owner) {
-        return accountRepository.findByOwner(owner)
+        Long cachedId = accountCache.accountIdForOwner(owner.getId());
+        if (cachedId != null && persistenceContextOpen()) {
+            return accountRepository.getReferenceById(cachedId);
+        }
+        Account account = accountRepository.findByOwner(owner)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
+        cacheAccount(account);
+        return account;
     }
 
     public Account getAccountByNumber(String accountNumber) {
-        return accountRepository.findByAccountNumber(accountNumber)
+        Long cachedId = accountCache.accountIdForNumber(accountNumber);
+        if (cachedId != null && persistenceContextOpen()) {
+            return accountRepository.getReferenceById(cachedId);
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
+        cacheAccount(account);
+        return account;
+    }
+
+    public Map<String, Account> getAccountsByNumbers(Collection<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return Map.of();
+        }
+        return accountRepository.findByAccountNumberIn(accountNumbers).stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+    }
+
+    public Map<Long, Account> getAccountsByIds(Collection<Long> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
     }
 
+    public Money getBalance(Account account) {
+        Money balance = account.getBalance();
+        if (account.hasBalanceSlots()) {
+            balance = balance.plus(Money.of(balanceSlotRepository.sumByAccountId(account.getId())));
+        }
+        if (!ledgerService.isLedgerMode()) {
+            return balance;
+        }
+        return balance.plus(Money.of(ledgerService.unsnapshottedDelta(account)));
+    }
+
+    /**
+     * Balance for display, served from the cache when the account row has not changed and the
+     * view is younger than {@code app.account.cache.balance-ttl}. Never use it to authorize a debit.
+     */
+    public BigDecimal getBalanceView(Account account) {
+        BigDecimal cached = accountCache.balance(account.getId(), account.getVersion());
+        if (cached != null) {
+            return cached;
+        }
+        BigDecimal balance = getBalance(account).toBigDecimal();
+        accountCache.putBalance(account.getId(), account.getVersion(), balance);
+        return balance;
+    }
+
+    // In ledger mode the movement is carried by the ledger entries recorded for the operation,
+    // so credit and debit leave the account row alone.
     @Transactional
-    public void credit(Account account, BigDecimal amount) {
-        account.setBalance(account.getBalance().add(amount));
+    public void credit(Account account, Money amount) {
+        evictBalanceView(account);
+        if (ledgerService.isLedgerMode()) {
+            return;
+        }
+        if (account.hasBalanceSlots()) {
+            // Only the chosen slot row is locked, the account row is left untouched
+            int slot = creditSlot(account);
+            AccountBalanceSlot target = balanceSlotRepository.findByAccountIdAndSlot(account.getId(), slot)
+                    .orElseThrow(() -> new IllegalStateException("Missing balance slot " + slot));
+            target.setBalance(target.getBalance().add(amount.toBigDecimal()));
+            return;
+        }
+        account.setBalance(account.getBalance().plus(amount));
         accountRepository.save(account);
     }
 
     @Transactional
-    public void debit(Account account, BigDecimal amount) {
-        if (account.getBalance().compareTo(amount) < 0) {
+    public void debit(Account account, Money amount) {
+        if (getBalance(account).isLessThan(amount)) {
             throw new RuntimeException("Insufficient balance");
         }
-        account.setBalance(account.getBalance().subtract(amount));
+        evictBalanceView(account);
+        if (ledgerService.isLedgerMode()) {
+            return;
+        }
+        if (account.hasBalanceSlots()) {
+            drawFromSlots(account, amount);
+            return;
+        }
+        account.setBalance(account.getBalance().minus(amount));
         accountRepository.save(account);
     }
 
+    /**
+     * Hot-account mode: the balance is the account row plus {@code slots} rows that take the
+     * credits. {@code 0} or {@code 1} folds every slot back into the account row.
+     * Only used in in-place mode: ledger mode credits are inserts already, and hot accounts
+     * should be folded back before switching to it.
+     */
+    @Transactional
+    public Account setBalanceSlots(String accountNumber, int slots) {
+        Account account = getAccountByNumber(accountNumber);
+        accountLockManager.lockInOrder(account);
+        evictBalanceView(account);
+
+        List<AccountBalanceSlot> existing = balanceSlotRepository.findByAccountIdOrderBySlot(account.getId());
+        BigDecimal folded = existing.stream()
+                .map(AccountBalanceSlot::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        balanceSlotRepository.deleteAll(existing);
+        balanceSlotRepository.flush();
+
+        account.setBalance(account.getBalance().plus(Money.of(folded)));
+        account.setBalanceSlots(slots > 1 ? slots : null);
+        if (account.hasBalanceSlots()) {
+            for (int slot = 0; slot < slots; slot++) {
+                balanceSlotRepository.save(AccountBalanceSlot.builder()
+                        .account(account)
+                        .slot(slot)
+                        .balance(BigDecimal.ZERO)
+                        .build());
+            }
+        }
+        return accountRepository.save(account);
+    }
+
+    /** Picks which validation rules apply to the account's operations from now on. */
+    @Transactional
+    public Account setTier(String accountNumber, AccountTier tier) {
+        Account account = getAccountByNumber(accountNumber);
+        account.setTier(tier);
+        return accountRepository.save(account);
+    }
+
+    // Evicted now and again once the change is visible, so a read in between cannot re-cache the old value
+    private void evictBalanceView(Account account) {
+        Long accountId = account.getId();
+        accountCache.evictBalance(accountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accountCache.evictBalance(accountId);
+                }
+            });
+        }
+    }
+
+    /**
+     * A random slot, but the same one for every credit to the account within a transaction. A
+     * transaction holding two slots of one account could deadlock with a debit, which locks
+     * them all in ascending order.
+     */
+    private int creditSlot(Account account) {
+        CreditedSlots credited = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(CreditedSlots.class::isInstance)
+                .map(CreditedSlots.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    CreditedSlots slots = new CreditedSlots();
+                    TransactionSynchronizationManager.registerSynchronization(slots);
+                    return slots;
+                });
+        return credited.slots.computeIfAbsent(account.getId(),
+                id -> ThreadLocalRandom.current().nextInt(account.getBalanceSlots()));
+    }
+
+    // Kept as a synchronization so it is suspended along with its transaction
+    private static final class CreditedSlots implements TransactionSynchronization {
+        private final Map<Long, Integer> slots = new HashMap<>();
+    }
+
+    // Debits hold the account lock, so only credits can race with this and they only add
+    private void drawFromSlots(Account account, Money amount) {
+        Money fromRow = account.getBalance().max(Money.ZERO).min(amount);
+        account.setBalance(account.getBalance().minus(fromRow));
+        Money remaining = amount.minus(fromRow);
+        if (remaining.signum() == 0) {
+            accountRepository.save(account);
+            return;
+        }
+
+        for (AccountBalanceSlot slot : balanceSlotRepository.findByAccountIdOrderBySlot(account.getId())) {
+            Money taken = Money.of(slot.getBalance()).max(Money.ZERO).min(remaining);
+            slot.setBalance(slot.getBalance().subtract(taken.toBigDecimal()));
+            remaining = remaining.minus(taken);
+            if (remaining.signum() == 0) {
+                break;
+            }
+        }
+        if (remaining.signum() > 0) {
+            throw new RuntimeException("Insufficient balance");
+        }
+        accountRepository.save(account);
+    }
+
+    // Only once committed: a row inserted or renumbered by a transaction that rolls back must not be cached
+    private void cacheAccount(Account account) {
+        Long accountId = account.getId();
+        Long ownerId = account.getOwner().getId();
+        String accountNumber = account.getAccountNumber();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountCache.putAccount(accountId, ownerId, accountNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountCache.putAccount(accountId, ownerId, accountNumber);
+            }
+        });
+    }
+
+    // A reference handed out without one could not be loaded later
+    private boolean persistenceContextOpen() {
+        return TransactionSynchronizationManager.hasResource(entityManagerFactory);
+    }
+
     private String generateAccountNumber() {
         StringBuilder sb = new StringBuilder("ALB");
         Random random = new Random();
@@ -0,0 +1,19 @@
+package com.albaraka_bank.modules.account.service.lock;
+
+import com.albaraka_bank.modules.account.model.Account;
+
+/**
+ * Serialises balance changes on accounts.
+ * Locks are always taken in a deterministic order so that two operations touching
+ * the same pair of accounts can never deadlock, and they are held until the
+ * surrounding transaction completes. Once this returns, the given entities reflect
+ * the latest committed balance.
+ */
+public interface AccountLockManager {
+
+    /**
+     * Locks every non-null account in a single call. Callers must lock all the
+     * accounts they are going to modify in one invocation per transaction.
+     */
+    void lockInOrder(Account... accounts);
+}
@@ -0,0 +1,37 @@
+package com.albaraka_bank.modules.account.service.lock;
+
+import com.albaraka_bank.modules.account.model.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Row-level locking with {@code SELECT ... FOR UPDATE}, ordered by account id.
+ * Works across several application nodes sharing the same database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.account.locking", havingValue = "pessimistic", matchIfMissing = true)
+public class PessimisticAccountLockManager implements AccountLockManager {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void lockInOrder(Account... accounts) {
+        Map<Long, Account> byId = new TreeMap<>();
+        Arrays.stream(accounts)
+                .filter(Objects::nonNull)
+                .forEach(account -> byId.putIfAbsent(account.getId(), account));
+
+        byId.values().forEach(account -> entityManager.refresh(Hibernate.unproxy(account),
+                LockModeType.PESSIMISTIC_WRITE));
+    }
+}
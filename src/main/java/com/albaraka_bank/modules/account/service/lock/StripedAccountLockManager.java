@@ -0,0 +1,102 @@
+package com.albaraka_bank.modules.account.service.lock;
+
+import com.albaraka_bank.modules.account.model.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-JVM striped locking. Accounts are hashed onto a fixed set of locks which are
+ * acquired in ascending stripe order and released once the transaction has committed
+ * or rolled back. Only safe when a single application node writes to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.account.locking", havingValue = "striped")
+public class StripedAccountLockManager implements AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StripedAccountLockManager(
+            @Value("${app.account.lock-stripes:1024}") int stripeCount,
+            @Value("${app.account.lock-timeout:10s}") Duration timeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public void lockInOrder(Account... accounts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Account locks require an active transaction");
+        }
+
+        int[] indexes = Arrays.stream(accounts)
+                .filter(Objects::nonNull)
+                .mapToInt(account -> stripeFor(account.getId()))
+                .sorted()
+                .distinct()
+                .toArray();
+
+        for (int i = 0; i < indexes.length; i++) {
+            ReentrantLock lock = stripes[indexes[i]];
+            if (!tryLock(lock)) {
+                unlock(indexes, i);
+                throw new IllegalStateException("Timed out waiting for account lock");
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(indexes, indexes.length);
+            }
+        });
+
+        // The previous holder has committed by now, so re-read the balances it left behind
+        Map<Long, Account> byId = new HashMap<>();
+        Arrays.stream(accounts)
+                .filter(Objects::nonNull)
+                .forEach(account -> byId.putIfAbsent(account.getId(), account));
+        byId.values().forEach(account -> entityManager.refresh(Hibernate.unproxy(account)));
+    }
+
+    int stripeFor(Long accountId) {
+        long h = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (stripes.length - 1);
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void unlock(int[] indexes, int acquired) {
+        for (int i = acquired - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+}
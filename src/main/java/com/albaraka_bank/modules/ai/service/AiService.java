@@ -1,8 +1,10 @@
 package com.albaraka_bank.modules.ai.service;
 
+import com.albaraka_bank.common.jfr.AiCallCompletedEvent;
 import com.albaraka_bank.modules.ai.model.AiAnalysisResult;
 import com.albaraka_bank.modules.ai.model.AiDecision;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.Prompt;
@@ -10,13 +12,32 @@ import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Model calls are timed as {@code bank.ai.analysis} by outcome: {@code success}, {@code invalid_response}
+ * (answered, but not in the expected format) or {@code error} (the call failed). The failure rate is the
+ * share of the last two in the total count.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AiService {
 
     private final ChatModel chatModel;
+    private final Timer successTimer;
+    private final Timer invalidResponseTimer;
+    private final Timer errorTimer;
+
+    public AiService(ChatModel chatModel, MeterRegistry meterRegistry) {
+        this.chatModel = chatModel;
+        this.successTimer = timer(meterRegistry, "success");
+        this.invalidResponseTimer = timer(meterRegistry, "invalid_response");
+        this.errorTimer = timer(meterRegistry, "error");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("bank.ai.analysis").tag("outcome", outcome).register(meterRegistry);
+    }
 
     public AiAnalysisResult analyzeOperation(Double amount, String documentType, String documentContent) {
         log.info("AI analyzing operation: amount={}, docType={}", amount, documentType);
@@ -49,15 +70,30 @@ public class AiService {
                 "documentType", documentType,
                 "documentContent", documentContent != null ? documentContent : "No content extracted"));
 
-        String response = chatModel.call(prompt).getResult().getOutput().getText().trim();
+        AiCallCompletedEvent event = new AiCallCompletedEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String response;
+        try {
+            response = chatModel.call(prompt).getResult().getOutput().getText().trim();
+        } catch (RuntimeException e) {
+            errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.complete("error", documentType, amount, null);
+            throw e;
+        }
 
         try {
             String[] parts = response.split("REASONING:", 2);
             String decisionStr = parts[0].replace("DECISION:", "").trim();
             String reasoning = parts.length > 1 ? parts[1].trim() : "No reasoning provided";
 
-            return new AiAnalysisResult(AiDecision.valueOf(decisionStr), reasoning);
+            AiAnalysisResult result = new AiAnalysisResult(AiDecision.valueOf(decisionStr), reasoning);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.complete("success", documentType, amount, response);
+            return result;
         } catch (Exception e) {
+            invalidResponseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.complete("invalid_response", documentType, amount, response);
             log.warn("AI returned invalid format: {}. Defaulting to NEED_HUMAN_REVIEW", response);
             return new AiAnalysisResult(AiDecision.NEED_HUMAN_REVIEW,
                     "AI Error: " + response);
@@ -1,5 +1,7 @@
 package com.albaraka_bank.modules.ai.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
@@ -7,11 +9,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
 public class TextExtractionService {
 
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    public TextExtractionService(MeterRegistry meterRegistry) {
+        this.successTimer = Timer.builder("bank.document.text-extraction").tag("outcome", "success")
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder("bank.document.text-extraction").tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
     public String extractText(MultipartFile file) {
         String contentType = file.getContentType();
 
@@ -19,15 +32,20 @@ public class TextExtractionService {
             return "Unknown content type";
         }
 
+        // Only PDFs are parsed, the other types return straight away and are not timed
+        long start = System.nanoTime();
         try {
             if (contentType.equals("application/pdf")) {
-                return extractFromPdf(file);
+                String text = extractFromPdf(file);
+                successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return text;
             } else if (contentType.startsWith("image/")) {
                 return "Image content (OCR not available yet). Please verify visually.";
             } else {
                 return "Unsupported file type for text extraction: " + contentType;
             }
         } catch (Exception e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             log.error("Failed to extract text from file: {}", file.getOriginalFilename(), e);
             return "Error extracting text: " + e.getMessage();
         }
@@ -0,0 +1,23 @@
+package com.albaraka_bank.modules.diagnostics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatus {
+    // NONE, RUNNING or STOPPED
+    private String state;
+    private Instant startedAt;
+    private Instant stoppedAt;
+    private Duration maxAge;
+    private long maxSizeBytes;
+    private long sizeBytes;
+}
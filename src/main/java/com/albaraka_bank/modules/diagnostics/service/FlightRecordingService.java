@@ -0,0 +1,135 @@
+package com.albaraka_bank.modules.diagnostics.service;
+
+import com.albaraka_bank.common.jfr.AiCallCompletedEvent;
+import com.albaraka_bank.common.jfr.DocumentStoredEvent;
+import com.albaraka_bank.common.jfr.JwtValidatedEvent;
+import com.albaraka_bank.common.jfr.OperationExecutedEvent;
+import com.albaraka_bank.common.jfr.StrategyAppliedEvent;
+import com.albaraka_bank.modules.diagnostics.dto.RecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One continuous Flight Recorder recording, started and stopped on demand. It keeps at most
+ * {@code max-age} and {@code max-size} of data on disk, so it can be left running. The JDK events
+ * come from the {@code settings} configuration; the application events are enabled in full. None
+ * of them cost more than an inlined check while no recording is running.
+ */
+@Service
+@Slf4j
+public class FlightRecordingService {
+
+    static final String RECORDING_NAME = "albaraka-continuous";
+
+    private static final List<Class<? extends Event>> APPLICATION_EVENTS = List.of(
+            OperationExecutedEvent.class,
+            StrategyAppliedEvent.class,
+            AiCallCompletedEvent.class,
+            DocumentStoredEvent.class,
+            JwtValidatedEvent.class);
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${app.diagnostics.recording.settings:default}") String settings,
+            @Value("${app.diagnostics.recording.max-age:PT30M}") Duration maxAge,
+            @Value("${app.diagnostics.recording.max-size:250MB}") DataSize maxSize) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    /** Replaces a stopped recording, whose data is lost unless it was dumped. */
+    public synchronized RecordingStatus start() {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        close();
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings '" + settings + "'", e);
+        }
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        APPLICATION_EVENTS.forEach(started::enable);
+        started.start();
+        recording = started;
+        log.info("Flight recording started with '{}' settings, keeping {} / {}", settings, maxAge, maxSize);
+        return status();
+    }
+
+    /** Stops recording; what was recorded can still be dumped until the next start. */
+    public synchronized RecordingStatus stop() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Flight recording stopped");
+        return status();
+    }
+
+    /** Writes what the recording holds to a temporary file, which the caller deletes. */
+    public synchronized Path dump() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording to dump");
+        }
+        try {
+            Path file = Files.createTempFile("albaraka-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to dump recording", e);
+        }
+    }
+
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return RecordingStatus.builder()
+                    .state("NONE")
+                    .maxAge(maxAge)
+                    .maxSizeBytes(maxSize.toBytes())
+                    .build();
+        }
+        return RecordingStatus.builder()
+                .state(recording.getState().name())
+                .startedAt(recording.getStartTime())
+                .stoppedAt(recording.getStopTime())
+                .maxAge(recording.getMaxAge())
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.albaraka_bank.modules.account.service.AccountService;
 import com.albaraka_bank.modules.iam.model.User;
 import com.albaraka_bank.modules.iam.model.UserRole;
 import com.albaraka_bank.modules.iam.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +27,7 @@ public class AuthService {
         private final JwtService jwtService;
         private final AuthenticationManager authenticationManager;
         private final AccountService accountService;
+        private final MeterRegistry meterRegistry;
 
         @Transactional
         public String register(String fullName, String email, String password, UserRole role) {
@@ -57,8 +60,14 @@ public class AuthService {
         }
 
         public String login(String email, String password) {
-                authenticationManager.authenticate(
-                                new UsernamePasswordAuthenticationToken(email, password));
+                try {
+                        authenticationManager.authenticate(
+                                        new UsernamePasswordAuthenticationToken(email, password));
+                } catch (AuthenticationException e) {
+                        meterRegistry.counter("bank.auth.login", "outcome", "failure").increment();
+                        throw e;
+                }
+                meterRegistry.counter("bank.auth.login", "outcome", "success").increment();
                 var user = userRepository.findByEmail(email).orElseThrow();
 
                 // Add role as extra claim in JWT
@@ -0,0 +1,32 @@
+package com.albaraka_bank.modules.ledger.controller;
+
+import com.albaraka_bank.modules.ledger.dto.ReconciliationReport;
+import com.albaraka_bank.modules.ledger.service.BalanceReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/reconciliation")
+@RequiredArgsConstructor
+public class AdminReconciliationController {
+
+    private final BalanceReconciliationService reconciliationService;
+
+    /** Report of the last run on this node, scheduled or not. */
+    @GetMapping
+    public ResponseEntity<ReconciliationReport> getLastReport() {
+        return reconciliationService.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** Runs a reconciliation now and waits for its report. */
+    @PostMapping("/run")
+    public ResponseEntity<ReconciliationReport> run() {
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
+}
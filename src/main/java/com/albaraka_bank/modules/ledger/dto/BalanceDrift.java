@@ -0,0 +1,24 @@
+package com.albaraka_bank.modules.ledger.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/** An account whose stored balance differs from what its executed operations add up to. */
+@Data
+@AllArgsConstructor
+public class BalanceDrift {
+
+    private Long accountId;
+    private String accountNumber;
+
+    /** Net of the executed operations. */
+    private BigDecimal expected;
+
+    /** Account row, plus its balance slots and, in ledger mode, the entries after its snapshot. */
+    private BigDecimal actual;
+
+    /** {@code actual - expected}. */
+    private BigDecimal drift;
+}
@@ -0,0 +1,31 @@
+package com.albaraka_bank.modules.ledger.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReport {
+
+    private LocalDateTime startedAt;
+    private Duration duration;
+    private long accounts;
+    private long operations;
+    private int ranges;
+    private long driftedAccounts;
+
+    /** Sum of the absolute drifts of every drifted account. */
+    private BigDecimal totalAbsoluteDrift;
+
+    /** The first drifted accounts by id, at most {@code app.reconciliation.max-reported}. */
+    private List<BalanceDrift> drifts;
+}
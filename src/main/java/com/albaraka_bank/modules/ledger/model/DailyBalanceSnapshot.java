@@ -0,0 +1,46 @@
+package com.albaraka_bank.modules.ledger.model;
+
+import com.albaraka_bank.modules.account.model.Account;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account at the end of a day on which ledger entries were posted to it.
+ * Days without entries have no row: the balance carries over from the previous snapshot.
+ */
+@Entity
+@Immutable
+@Table(name = "daily_balance_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_balance_snapshots_account_date", columnNames = {"account_id", "business_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyBalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(nullable = false)
+    private LocalDate businessDate;
+
+    // Includes every entry posted before the start of the next day
+    @Column(nullable = false)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
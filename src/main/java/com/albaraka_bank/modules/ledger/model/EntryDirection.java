@@ -0,0 +1,6 @@
+package com.albaraka_bank.modules.ledger.model;
+
+public enum EntryDirection {
+    DEBIT,
+    CREDIT
+}
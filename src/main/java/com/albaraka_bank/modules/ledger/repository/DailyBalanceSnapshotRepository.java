@@ -0,0 +1,113 @@
+package com.albaraka_bank.modules.ledger.repository;
+
+import com.albaraka_bank.modules.ledger.model.DailyBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyBalanceSnapshotRepository extends JpaRepository<DailyBalanceSnapshot, Long> {
+
+    Optional<DailyBalanceSnapshot> findFirstByAccountIdAndBusinessDateLessThanOrderByBusinessDateDesc(
+            Long accountId, LocalDate businessDate);
+
+    List<DailyBalanceSnapshot> findByAccountIdOrderByBusinessDate(Long accountId);
+
+    @Query("SELECT MAX(s.businessDate) FROM DailyBalanceSnapshot s")
+    LocalDate findLatestBusinessDate();
+
+    /**
+     * Previous closing balance plus the day's entries, for accounts active on the day that
+     * already have a snapshot. Days are processed in order, so nothing lies in between.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_balance_snapshots (account_id, business_date, closing_balance, created_at)
+            SELECT p.account_id, :day,
+                   p.closing_balance + COALESCE((
+                       SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                       FROM ledger_entries e
+                       WHERE e.account_id = p.account_id
+                         AND e.created_at >= :dayStart AND e.created_at < :dayEnd), 0),
+                   :now
+            FROM daily_balance_snapshots p
+            WHERE p.business_date = (
+                    SELECT MAX(q.business_date) FROM daily_balance_snapshots q
+                    WHERE q.account_id = p.account_id AND q.business_date < :day)
+              AND EXISTS (
+                    SELECT 1 FROM ledger_entries e
+                    WHERE e.account_id = p.account_id AND e.created_at >= :dayStart AND e.created_at < :dayEnd)
+              AND NOT EXISTS (
+                    SELECT 1 FROM daily_balance_snapshots s
+                    WHERE s.account_id = p.account_id AND s.business_date = :day)
+            """, nativeQuery = true)
+    int insertFromPrevious(@Param("day") LocalDate day, @Param("dayStart") LocalDateTime dayStart,
+            @Param("dayEnd") LocalDateTime dayEnd, @Param("now") LocalDateTime now);
+
+    /**
+     * First snapshot of accounts active on the day: the live balance minus what was posted since
+     * the end of the day, see {@link #balanceBefore}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_balance_snapshots (account_id, business_date, closing_balance, created_at)
+            SELECT a.id, :day,
+                   a.balance
+                   + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s WHERE s.account_id = a.id), 0)
+                   + COALESCE((
+                       SELECT SUM(CASE
+                           WHEN e.created_at >= :dayEnd AND (:inPlace = TRUE OR e.created_at <= a.balance_as_of)
+                               THEN CASE WHEN e.direction = 'CREDIT' THEN -e.amount ELSE e.amount END
+                           WHEN e.created_at < :dayEnd AND :inPlace = FALSE
+                                   AND (a.balance_as_of IS NULL OR e.created_at > a.balance_as_of)
+                               THEN CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END
+                           ELSE 0 END)
+                       FROM ledger_entries e
+                       WHERE e.account_id = a.id
+                         AND (e.created_at >= :dayEnd OR e.created_at > COALESCE(a.balance_as_of, :epoch))), 0),
+                   :now
+            FROM accounts a
+            WHERE EXISTS (
+                    SELECT 1 FROM ledger_entries e
+                    WHERE e.account_id = a.id AND e.created_at >= :dayStart AND e.created_at < :dayEnd)
+              AND NOT EXISTS (
+                    SELECT 1 FROM daily_balance_snapshots s
+                    WHERE s.account_id = a.id AND s.business_date <= :day)
+            """, nativeQuery = true)
+    int insertFromLiveBalance(@Param("day") LocalDate day, @Param("dayStart") LocalDateTime dayStart,
+            @Param("dayEnd") LocalDateTime dayEnd, @Param("inPlace") boolean inPlace,
+            @Param("epoch") LocalDateTime epoch, @Param("now") LocalDateTime now);
+
+    /**
+     * Balance including every entry posted before {@code at}, worked back from the account row in a
+     * single statement so that it sees the row and the entries at the same point in time.
+     * In-place rows already carry every entry; ledger rows carry those up to {@code balance_as_of}.
+     */
+    @Query(value = """
+            SELECT a.balance
+                   + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s WHERE s.account_id = a.id), 0)
+                   + COALESCE((
+                       SELECT SUM(CASE
+                           WHEN e.created_at >= :at AND (:inPlace = TRUE OR e.created_at <= a.balance_as_of)
+                               THEN CASE WHEN e.direction = 'CREDIT' THEN -e.amount ELSE e.amount END
+                           WHEN e.created_at < :at AND :inPlace = FALSE
+                                   AND (a.balance_as_of IS NULL OR e.created_at > a.balance_as_of)
+                               THEN CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END
+                           ELSE 0 END)
+                       FROM ledger_entries e
+                       WHERE e.account_id = a.id
+                         AND (e.created_at >= :at OR e.created_at > COALESCE(a.balance_as_of, :epoch))), 0)
+            FROM accounts a
+            WHERE a.id = :accountId
+            """, nativeQuery = true)
+    BigDecimal balanceBefore(@Param("accountId") Long accountId, @Param("at") LocalDateTime at,
+            @Param("inPlace") boolean inPlace, @Param("epoch") LocalDateTime epoch);
+}
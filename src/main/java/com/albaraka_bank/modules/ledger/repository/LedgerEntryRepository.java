@@ -0,0 +1,52 @@
+package com.albaraka_bank.modules.ledger.repository;
+
+import com.albaraka_bank.modules.ledger.model.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    List<LedgerEntry> findByOperationId(Long operationId);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN e.direction = com.albaraka_bank.modules.ledger.model.EntryDirection.CREDIT
+                                     THEN e.amount ELSE -e.amount END), 0)
+            FROM LedgerEntry e
+            WHERE e.account.id = :accountId
+            """)
+    BigDecimal sumByAccount(@Param("accountId") Long accountId);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN e.direction = com.albaraka_bank.modules.ledger.model.EntryDirection.CREDIT
+                                     THEN e.amount ELSE -e.amount END), 0)
+            FROM LedgerEntry e
+            WHERE e.account.id = :accountId AND e.createdAt > :since
+            """)
+    BigDecimal sumByAccountSince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN e.direction = com.albaraka_bank.modules.ledger.model.EntryDirection.CREDIT
+                                     THEN e.amount ELSE -e.amount END), 0)
+            FROM LedgerEntry e
+            WHERE e.account.id = :accountId AND e.createdAt >= :from AND e.createdAt < :to
+            """)
+    BigDecimal sumByAccountBetween(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(e.createdAt) FROM LedgerEntry e")
+    LocalDateTime findEarliestCreatedAt();
+
+    @Query("""
+            SELECT DISTINCT a.id
+            FROM LedgerEntry e JOIN e.account a
+            WHERE e.createdAt <= :cutoff AND (a.balanceAsOf IS NULL OR e.createdAt > a.balanceAsOf)
+            """)
+    List<Long> findAccountIdsWithEntriesUpTo(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,301 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.modules.ledger.dto.BalanceDrift;
+import com.albaraka_bank.modules.ledger.dto.ReconciliationReport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks every account's balance against the net of its executed operations. Accounts are split
+ * into id ranges reconciled on a fork-join pool; each range is one short read-only transaction
+ * that streams the range's operations through a forward-only cursor into arrays indexed by
+ * account id, so a worker holds a connection for one range at a time and memory stays at a few
+ * longs per account of the range. Repeatable read gives the range one snapshot, so operations
+ * committing meanwhile are seen either with their balance change or not at all.
+ */
+@Service
+@Slf4j
+public class BalanceReconciliationService {
+
+    // Amounts are whole centimes, read as longs so accumulating allocates nothing
+    private static final String DEBITS_AND_DEPOSITS_SQL = """
+            SELECT source_account_id, type, CAST(amount * 100 AS BIGINT)
+            FROM operations
+            WHERE status = 'EXECUTED' AND source_account_id BETWEEN ? AND ?
+            """;
+
+    private static final String TRANSFERS_IN_SQL = """
+            SELECT destination_account_id, CAST(amount * 100 AS BIGINT)
+            FROM operations
+            WHERE status = 'EXECUTED' AND destination_account_id BETWEEN ? AND ?
+            """;
+
+    private static final String SLOTS_SQL = """
+            SELECT account_id, CAST(SUM(balance) * 100 AS BIGINT)
+            FROM account_balance_slots
+            WHERE account_id BETWEEN ? AND ?
+            GROUP BY account_id
+            """;
+
+    // Ledger mode only: the entries not folded into the account row yet
+    private static final String LEDGER_TAIL_SQL = """
+            SELECT e.account_id,
+                   CAST(SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END) * 100 AS BIGINT)
+            FROM ledger_entries e
+            JOIN accounts a ON a.id = e.account_id
+            WHERE e.account_id BETWEEN ? AND ? AND (a.balance_as_of IS NULL OR e.created_at > a.balance_as_of)
+            GROUP BY e.account_id
+            """;
+
+    private static final String ACCOUNTS_SQL = """
+            SELECT id, account_number, CAST(balance * 100 AS BIGINT)
+            FROM accounts
+            WHERE id BETWEEN ? AND ?
+            ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate rangeTransaction;
+    private final LedgerService ledgerService;
+    private final int parallelism;
+    private final int rangeSize;
+    private final int maxReported;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final AtomicLong driftedAccounts = new AtomicLong();
+    private final AtomicLong absoluteDriftCents = new AtomicLong();
+    private final AtomicLong lastSuccess = new AtomicLong();
+    private volatile ReconciliationReport lastReport;
+
+    public BalanceReconciliationService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            LedgerService ledgerService, MeterRegistry meterRegistry,
+            @Value("${app.reconciliation.parallelism:4}") int parallelism,
+            @Value("${app.reconciliation.range-size:5000}") int rangeSize,
+            @Value("${app.reconciliation.fetch-size:1000}") int fetchSize,
+            @Value("${app.reconciliation.max-reported:1000}") int maxReported) {
+        if (parallelism < 1 || rangeSize < 1) {
+            throw new IllegalArgumentException("app.reconciliation.parallelism and range-size must be positive");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.rangeTransaction = new TransactionTemplate(transactionManager);
+        this.rangeTransaction.setReadOnly(true);
+        this.rangeTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.ledgerService = ledgerService;
+        this.parallelism = parallelism;
+        this.rangeSize = rangeSize;
+        this.maxReported = maxReported;
+
+        this.successTimer = Timer.builder("bank.reconciliation").tag("outcome", "success").register(meterRegistry);
+        this.failureTimer = Timer.builder("bank.reconciliation").tag("outcome", "failure").register(meterRegistry);
+        Gauge.builder("bank.reconciliation.drifted.accounts", driftedAccounts, AtomicLong::get)
+                .description("Accounts whose balance drifted from their operations, as of the last run")
+                .register(meterRegistry);
+        Gauge.builder("bank.reconciliation.drift.absolute", absoluteDriftCents, cents -> cents.get() / 100.0)
+                .description("Sum of absolute balance drifts, as of the last run")
+                .register(meterRegistry);
+        Gauge.builder("bank.reconciliation.last.success", lastSuccess, AtomicLong::get)
+                .description("Epoch second at which the last successful run finished")
+                .register(meterRegistry);
+    }
+
+    /** Set the cron to "-" on every node but one, the job only reads. */
+    @Scheduled(cron = "${app.reconciliation.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Balance reconciliation failed", e);
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A reconciliation is already running");
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        // Workers block on JDBC on purpose: the parallelism is also the number of connections taken
+        ForkJoinPool pool = new ForkJoinPool(parallelism, BalanceReconciliationService::newWorker, null, false);
+        try {
+            long[] bounds = jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM accounts",
+                    (rs, row) -> rs.getObject(1) == null ? null : new long[] {rs.getLong(1), rs.getLong(2)});
+            RangeResult result = bounds == null
+                    ? new RangeResult()
+                    : pool.invoke(new RangeTask(bounds[0], bounds[1]));
+
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            ReconciliationReport report = ReconciliationReport.builder()
+                    .startedAt(startedAt)
+                    .duration(duration)
+                    .accounts(result.accounts)
+                    .operations(result.operations)
+                    .ranges(result.ranges)
+                    .driftedAccounts(result.driftedAccounts)
+                    .totalAbsoluteDrift(BigDecimal.valueOf(result.absoluteDriftCents, 2))
+                    .drifts(result.drifts)
+                    .build();
+            publish(report, result.absoluteDriftCents);
+            successTimer.record(duration);
+            return report;
+        } catch (RuntimeException e) {
+            failureTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    public Optional<ReconciliationReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private void publish(ReconciliationReport report, long absoluteCents) {
+        lastReport = report;
+        driftedAccounts.set(report.getDriftedAccounts());
+        absoluteDriftCents.set(absoluteCents);
+        lastSuccess.set(System.currentTimeMillis() / 1000);
+
+        if (report.getDriftedAccounts() == 0) {
+            log.info("Balance reconciliation: {} accounts and {} operations in {} ranges match, in {} ms",
+                    report.getAccounts(), report.getOperations(), report.getRanges(), report.getDuration().toMillis());
+            return;
+        }
+        log.warn("Balance reconciliation: {} of {} accounts drifted, {} in total, in {} ms",
+                report.getDriftedAccounts(), report.getAccounts(), report.getTotalAbsoluteDrift(),
+                report.getDuration().toMillis());
+        report.getDrifts().forEach(drift -> log.warn("Account {} ({}): balance {}, operations net {}, drift {}",
+                drift.getAccountId(), drift.getAccountNumber(), drift.getActual(), drift.getExpected(),
+                drift.getDrift()));
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("reconciliation-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    /** Halves its id span until it fits in one range. */
+    private class RangeTask extends RecursiveTask<RangeResult> {
+
+        private final long from;
+        private final long to;
+
+        RangeTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RangeResult compute() {
+            if (to - from < rangeSize) {
+                return reconcileRange(from, to);
+            }
+            long middle = from + (to - from) / 2;
+            RangeTask lower = new RangeTask(from, middle);
+            lower.fork();
+            RangeResult upper = new RangeTask(middle + 1, to).compute();
+            return lower.join().merge(upper, maxReported);
+        }
+    }
+
+    RangeResult reconcileRange(long from, long to) {
+        return rangeTransaction.execute(status -> {
+            int span = (int) (to - from + 1);
+            // Net of executed operations, and what the account holds besides its row, per account id - from
+            long[] expected = new long[span];
+            long[] held = new long[span];
+            RangeResult result = new RangeResult();
+            result.ranges = 1;
+
+            jdbcTemplate.query(DEBITS_AND_DEPOSITS_SQL, rs -> {
+                long cents = rs.getLong(3);
+                expected[(int) (rs.getLong(1) - from)] += "DEPOSIT".equals(rs.getString(2)) ? cents : -cents;
+                result.operations++;
+            }, from, to);
+            jdbcTemplate.query(TRANSFERS_IN_SQL, rs -> {
+                expected[(int) (rs.getLong(1) - from)] += rs.getLong(2);
+            }, from, to);
+            jdbcTemplate.query(SLOTS_SQL, rs -> {
+                held[(int) (rs.getLong(1) - from)] += rs.getLong(2);
+            }, from, to);
+            if (ledgerService.isLedgerMode()) {
+                jdbcTemplate.query(LEDGER_TAIL_SQL, rs -> {
+                    held[(int) (rs.getLong(1) - from)] += rs.getLong(2);
+                }, from, to);
+            }
+
+            jdbcTemplate.query(ACCOUNTS_SQL, rs -> {
+                long accountId = rs.getLong(1);
+                int index = (int) (accountId - from);
+                long actual = rs.getLong(3) + held[index];
+                result.accounts++;
+                if (actual != expected[index]) {
+                    result.addDrift(new BalanceDrift(accountId, rs.getString(2),
+                            BigDecimal.valueOf(expected[index], 2),
+                            BigDecimal.valueOf(actual, 2),
+                            BigDecimal.valueOf(actual - expected[index], 2)), maxReported);
+                }
+            }, from, to);
+            return result;
+        });
+    }
+
+    static class RangeResult {
+
+        long accounts;
+        long operations;
+        int ranges;
+        long driftedAccounts;
+        long absoluteDriftCents;
+        List<BalanceDrift> drifts = new ArrayList<>();
+
+        void addDrift(BalanceDrift drift, int maxReported) {
+            driftedAccounts++;
+            absoluteDriftCents += drift.getDrift().unscaledValue().abs().longValueExact();
+            if (drifts.size() < maxReported) {
+                drifts.add(drift);
+            }
+        }
+
+        // Keeps ascending account ids: this result covers the lower ids
+        RangeResult merge(RangeResult upper, int maxReported) {
+            accounts += upper.accounts;
+            operations += upper.operations;
+            ranges += upper.ranges;
+            driftedAccounts += upper.driftedAccounts;
+            absoluteDriftCents += upper.absoluteDriftCents;
+            for (BalanceDrift drift : upper.drifts) {
+                if (drifts.size() >= maxReported) {
+                    break;
+                }
+                drifts.add(drift);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.modules.ledger.repository.DailyBalanceSnapshotRepository;
+import com.albaraka_bank.modules.ledger.repository.LedgerEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshots every closed day that has not been processed yet, oldest first, one transaction per
+ * day. The first run walks back to the earliest ledger entry. It runs a few minutes past midnight
+ * so that transactions still open at the end of the day have committed their entries.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DailyBalanceSnapshotJob {
+
+    private final BalanceHistoryService balanceHistoryService;
+    private final DailyBalanceSnapshotRepository snapshotRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+
+    @Scheduled(cron = "${app.ledger.daily-snapshots.cron:0 5 0 * * *}")
+    public void snapshotClosedDays() {
+        snapshotUpTo(LocalDate.now().minusDays(1));
+    }
+
+    public int snapshotUpTo(LocalDate lastDay) {
+        LocalDate latest = snapshotRepository.findLatestBusinessDate();
+        LocalDate day;
+        if (latest != null) {
+            day = latest.plusDays(1);
+        } else {
+            LocalDateTime earliest = ledgerEntryRepository.findEarliestCreatedAt();
+            if (earliest == null) {
+                return 0;
+            }
+            day = earliest.toLocalDate();
+        }
+
+        int written = 0;
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            try {
+                written += balanceHistoryService.snapshotDay(day);
+            } catch (DataIntegrityViolationException e) {
+                // Another node is writing the same day
+                log.warn("Daily balance snapshot of {} skipped: {}", day, e.getMostSpecificCause().getMessage());
+                return written;
+            }
+        }
+        if (written > 0) {
+            log.info("Daily balance snapshots up to {}: {} written", lastDay, written);
+        }
+        return written;
+    }
+}
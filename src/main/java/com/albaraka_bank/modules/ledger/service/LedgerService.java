@@ -0,0 +1,145 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.ledger.model.EntryDirection;
+import com.albaraka_bank.modules.ledger.model.LedgerEntry;
+import com.albaraka_bank.modules.ledger.repository.LedgerEntryRepository;
+import com.albaraka_bank.modules.operation.model.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Append-only double-entry ledger.
+ * <p>
+ * In {@code in-place} mode (the default) {@code accounts.balance} is still updated by every
+ * operation and the ledger is kept as history. In {@code ledger} mode operations only append
+ * entries: {@code accounts.balance} becomes a snapshot as of {@code accounts.balance_as_of},
+ * and the live balance is the snapshot plus the entries posted after it. There an entry is dated
+ * when its transaction commits, so a transaction held open past a snapshot still lands after it.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private static final int STAMP_CHUNK = 500;
+    private static final String STAMP = "UPDATE ledger_entries SET created_at = ? WHERE id IN (%s)";
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.ledger.balance-mode:in-place}")
+    private String balanceMode;
+
+    public boolean isLedgerMode() {
+        return "ledger".equals(balanceMode);
+    }
+
+    @Transactional
+    public List<LedgerEntry> record(Operation operation) {
+        LocalDateTime postedAt = operation.getExecutedAt().truncatedTo(ChronoUnit.MICROS);
+        Account source = operation.getAccountSource();
+
+        List<LedgerEntry> legs = switch (operation.getType()) {
+            case DEPOSIT -> List.of(
+                    leg(operation, null, EntryDirection.DEBIT, postedAt),
+                    leg(operation, source, EntryDirection.CREDIT, postedAt));
+            case WITHDRAWAL -> List.of(
+                    leg(operation, source, EntryDirection.DEBIT, postedAt),
+                    leg(operation, null, EntryDirection.CREDIT, postedAt));
+            case TRANSFER -> List.of(
+                    leg(operation, source, EntryDirection.DEBIT, postedAt),
+                    leg(operation, operation.getAccountDestination(), EntryDirection.CREDIT, postedAt));
+        };
+
+        if (!isLedgerMode()) {
+            // The row already carries these legs, keep the snapshot marker in step with it.
+            // Hot accounts are skipped so that a credit never rewrites their row.
+            legs.stream()
+                    .map(LedgerEntry::getAccount)
+                    .filter(Objects::nonNull)
+                    .filter(account -> !account.hasBalanceSlots())
+                    .forEach(account -> account.setBalanceAsOf(postedAt));
+        }
+
+        List<LedgerEntry> saved = ledgerEntryRepository.saveAll(legs);
+        if (isLedgerMode()) {
+            stampOnCommit(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * Net amount posted to the account after its balance snapshot.
+     */
+    public BigDecimal unsnapshottedDelta(Account account) {
+        if (account.getBalanceAsOf() == null) {
+            return ledgerEntryRepository.sumByAccount(account.getId());
+        }
+        return ledgerEntryRepository.sumByAccountSince(account.getId(), account.getBalanceAsOf());
+    }
+
+    // Until then the entries keep their execution time, which is enough for reads in the same transaction
+    @SuppressWarnings("unchecked")
+    private void stampOnCommit(List<LedgerEntry> entries) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<LedgerEntry> pending = (List<LedgerEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<LedgerEntry> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    stamp(rows);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LedgerService.this);
+                }
+            });
+            pending = rows;
+        }
+        pending.addAll(entries);
+    }
+
+    // Flushed first, so nothing left to write can hold the commit up after the entries are dated
+    private void stamp(List<LedgerEntry> entries) {
+        ledgerEntryRepository.flush();
+        LocalDateTime committedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int from = 0; from < entries.size(); from += STAMP_CHUNK) {
+            List<LedgerEntry> chunk = entries.subList(from, Math.min(from + STAMP_CHUNK, entries.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(Timestamp.valueOf(committedAt));
+            chunk.forEach(entry -> args.add(entry.getId()));
+            jdbcTemplate.update(STAMP.formatted(String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                    args.toArray());
+        }
+        entries.forEach(entry -> entry.setCreatedAt(committedAt));
+    }
+
+    private LedgerEntry leg(Operation operation, Account account, EntryDirection direction, LocalDateTime postedAt) {
+        return LedgerEntry.builder()
+                .operation(operation)
+                .account(account)
+                .direction(direction)
+                .amount(operation.getAmount().toBigDecimal())
+                .createdAt(postedAt)
+                .build();
+    }
+}
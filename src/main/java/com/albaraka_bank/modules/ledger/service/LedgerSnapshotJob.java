@@ -0,0 +1,63 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.ledger.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Periodically folds ledger entries into {@code accounts.balance} so that balance reads only
+ * have to sum a short tail. Entries are dated when their transaction commits, just before it
+ * becomes visible; entries younger than the configured lag are left alone so that a commit still
+ * in flight cannot land behind the snapshot. The lag only has to outlast a commit, not a transaction.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.ledger.balance-mode", havingValue = "ledger")
+public class LedgerSnapshotJob {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lag;
+
+    public LedgerSnapshotJob(LedgerEntryRepository ledgerEntryRepository,
+            AccountRepository accountRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.ledger.snapshot-lag:PT1M}") Duration lag) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lag = lag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ledger.snapshot-interval:PT1M}")
+    public void snapshot() {
+        snapshotUpTo(LocalDateTime.now().minus(lag).truncatedTo(ChronoUnit.MICROS));
+    }
+
+    public int snapshotUpTo(LocalDateTime cutoff) {
+        List<Long> accountIds = ledgerEntryRepository.findAccountIdsWithEntriesUpTo(cutoff);
+        int updated = 0;
+        for (int from = 0; from < accountIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + CHUNK_SIZE, accountIds.size()));
+            Integer rows = transactionTemplate.execute(status -> accountRepository.snapshotLedger(chunk, cutoff));
+            updated += rows != null ? rows : 0;
+        }
+        if (updated > 0) {
+            log.info("Ledger snapshot up to {} refreshed {} accounts", cutoff, updated);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,27 @@
+package com.albaraka_bank.modules.operation.controller;
+
+import com.albaraka_bank.modules.operation.service.view.OperationViewProjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Maintenance of the operation_view read model, for after a schema change or a manual fix to
+ * the operations table.
+ */
+@RestController
+@RequestMapping("/api/admin/operation-view")
+@RequiredArgsConstructor
+public class AdminOperationViewController {
+
+    private final OperationViewProjector operationViewProjector;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("rows", operationViewProjector.rebuild()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.albaraka_bank.modules.operation.controller;
+
+import com.albaraka_bank.modules.operation.dto.ValidationRuleRequest;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import com.albaraka_bank.modules.operation.repository.ValidationRuleRepository;
+import com.albaraka_bank.modules.operation.service.TransactionValidator;
+import com.albaraka_bank.modules.operation.service.rules.DecisionTable;
+import com.albaraka_bank.modules.operation.service.rules.ValidationRuleLoader;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Manages the rules that send operations to agent review. Changes apply immediately on this node
+ * and within one reload interval on the others.
+ */
+@RestController
+@RequestMapping("/api/admin/validation-rules")
+@RequiredArgsConstructor
+public class AdminValidationRuleController {
+
+    private final ValidationRuleRepository ruleRepository;
+    private final ValidationRuleLoader ruleLoader;
+    private final TransactionValidator transactionValidator;
+
+    @GetMapping
+    public ResponseEntity<List<ValidationRule>> getRules() {
+        return ResponseEntity.ok(ruleRepository.findAll());
+    }
+
+    @PostMapping
+    public ResponseEntity<ValidationRule> createRule(@Valid @RequestBody ValidationRuleRequest request) {
+        if ((request.getWindowStart() == null) != (request.getWindowEnd() == null)) {
+            throw new IllegalArgumentException("A time window needs both a start and an end");
+        }
+        ValidationRule rule = ValidationRule.builder()
+                .operationType(request.getOperationType())
+                .accountTier(request.getAccountTier())
+                .destinationAccountNumber(request.getDestinationAccountNumber())
+                .windowStart(request.getWindowStart())
+                .windowEnd(request.getWindowEnd())
+                .threshold(request.getThreshold())
+                .build();
+        // Compiled before it is saved: a rule the loader cannot compile would stop every reload
+        DecisionTable.compile(List.of(rule), transactionValidator.getDefaultThreshold());
+        rule = ruleRepository.save(rule);
+        ruleLoader.reload();
+        return ResponseEntity.ok(rule);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        ruleRepository.deleteById(id);
+        ruleLoader.reload();
+        return ResponseEntity.noContent().build();
+    }
+}
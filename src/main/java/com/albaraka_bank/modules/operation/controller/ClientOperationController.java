@@ -1,18 +1,29 @@
 package com.albaraka_bank.modules.operation.controller;
 
 import com.albaraka_bank.common.util.SecurityUtils;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.service.AccountService;
 import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.operation.dto.OperationBatchRequest;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.dto.OperationPage;
 import com.albaraka_bank.modules.operation.dto.OperationRequest;
 import com.albaraka_bank.modules.operation.dto.OperationResponse;
 import com.albaraka_bank.modules.operation.model.Document;
 import com.albaraka_bank.modules.operation.service.DocumentService;
+import com.albaraka_bank.modules.operation.service.IdempotencyService;
 import com.albaraka_bank.modules.operation.service.OperationService;
+import com.albaraka_bank.modules.operation.service.statement.StatementFormat;
+import com.albaraka_bank.modules.operation.service.statement.StatementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,16 +31,31 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ClientOperationController {
 
+    /** Carries the cursor of the next history page; absent on the last page. */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final OperationService operationService;
     private final DocumentService documentService;
+    private final IdempotencyService idempotencyService;
+    private final AccountService accountService;
+    private final StatementService statementService;
 
     @PostMapping
-    public ResponseEntity<OperationResponse> createOperation(@Valid @RequestBody OperationRequest request) {
+    public ResponseEntity<OperationResponse> createOperation(
+            @Valid @RequestBody OperationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         User user = SecurityUtils.getCurrentUser();
-        OperationResponse response = operationService.createOperation(request, user);
+        OperationResponse response = idempotencyService.createOperation(request, user, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<OperationResponse>> createOperations(@Valid @RequestBody OperationBatchRequest request) {
+        User user = SecurityUtils.getCurrentUser();
+        List<OperationResponse> responses = operationService.createOperationsForUser(request.getOperations(), user);
+        return ResponseEntity.ok(responses);
+    }
+
     @PostMapping("/{id}/document")
     public ResponseEntity<String> uploadDocument(
             @PathVariable Long id,
@@ -38,10 +64,24 @@ public class ClientOperationController {
         return ResponseEntity.ok("Document uploaded: " + document.getFileName());
     }
 
+    @GetMapping("/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        User user = SecurityUtils.getCurrentUser();
+        Account account = accountService.getAccountByOwner(user);
+        return statementService.export(account, format, from, to).toResponseEntity();
+    }
+
     @GetMapping
-    public ResponseEntity<List<OperationResponse>> getOperations() {
+    public ResponseEntity<List<OperationResponse>> getOperations(OperationHistoryFilter filter) {
         User user = SecurityUtils.getCurrentUser();
-        List<OperationResponse> operations = operationService.getOperationsByUser(user);
-        return ResponseEntity.ok(operations);
+        OperationPage page = operationService.getOperationsByUser(user, filter);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOperations());
     }
 }
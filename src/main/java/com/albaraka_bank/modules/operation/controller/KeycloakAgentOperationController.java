@@ -1,10 +1,20 @@
 package com.albaraka_bank.modules.operation.controller;
 
+import com.albaraka_bank.common.util.SecurityUtils;
+import com.albaraka_bank.modules.operation.dto.OperationBatchRequest;
+import com.albaraka_bank.modules.operation.dto.OperationDecisionRequest;
+import com.albaraka_bank.modules.operation.dto.OperationDecisionResult;
 import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.dto.ReviewClaimResponse;
 import com.albaraka_bank.modules.operation.service.OperationService;
+import com.albaraka_bank.modules.operation.service.review.ReviewClaimService;
+import com.albaraka_bank.modules.operation.service.review.ReviewQueueService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -14,6 +24,8 @@ import java.util.List;
 public class KeycloakAgentOperationController {
 
     private final OperationService operationService;
+    private final ReviewQueueService reviewQueueService;
+    private final ReviewClaimService reviewClaimService;
 
     @GetMapping("/pending")
     public ResponseEntity<List<OperationResponse>> getPendingOperations() {
@@ -21,15 +33,71 @@ public class KeycloakAgentOperationController {
         return ResponseEntity.ok(operations);
     }
 
+    /**
+     * Live review queue: a snapshot of the pending operations by priority, then changes as they commit
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReviewQueue() {
+        return reviewQueueService.subscribe();
+    }
+
+    /**
+     * Lease the next pending operations by priority; other agents skip them until the lease expires
+     */
+    @PostMapping("/claims")
+    public ResponseEntity<ReviewClaimResponse> claimOperations(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(reviewClaimService.claim(SecurityUtils.getCurrentUser(), limit));
+    }
+
+    /**
+     * Extend the leases still held, returning the operations they cover
+     */
+    @PutMapping("/claims/heartbeat")
+    public ResponseEntity<ReviewClaimResponse> renewClaims() {
+        return ResponseEntity.ok(reviewClaimService.heartbeat(SecurityUtils.getCurrentUser()));
+    }
+
+    @DeleteMapping("/claims/{id}")
+    public ResponseEntity<Void> releaseClaim(@PathVariable Long id) {
+        reviewClaimService.release(id, SecurityUtils.getCurrentUser());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<OperationResponse>> createOperations(@Valid @RequestBody OperationBatchRequest request) {
+        List<OperationResponse> responses = operationService.createOperationsForAccounts(request.getOperations());
+        return ResponseEntity.ok(responses);
+    }
+
+    /**
+     * Approve many operations at once, with an outcome per id
+     */
+    @PutMapping("/approve")
+    public ResponseEntity<List<OperationDecisionResult>> approveOperations(
+            @Valid @RequestBody OperationDecisionRequest request) {
+        return ResponseEntity.ok(operationService.approveOperations(request.getOperationIds(),
+                SecurityUtils.getCurrentUser()));
+    }
+
+    /**
+     * Reject many operations at once, with an outcome per id
+     */
+    @PutMapping("/reject")
+    public ResponseEntity<List<OperationDecisionResult>> rejectOperations(
+            @Valid @RequestBody OperationDecisionRequest request) {
+        return ResponseEntity.ok(operationService.rejectOperations(request.getOperationIds(),
+                SecurityUtils.getCurrentUser()));
+    }
+
     @PutMapping("/{id}/approve")
     public ResponseEntity<OperationResponse> approveOperation(@PathVariable Long id) {
-        OperationResponse response = operationService.approveOperation(id);
+        OperationResponse response = operationService.approveOperation(id, SecurityUtils.getCurrentUser());
         return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{id}/reject")
     public ResponseEntity<OperationResponse> rejectOperation(@PathVariable Long id) {
-        OperationResponse response = operationService.rejectOperation(id);
+        OperationResponse response = operationService.rejectOperation(id, SecurityUtils.getCurrentUser());
         return ResponseEntity.ok(response);
     }
 }
@@ -1,21 +1,32 @@
 package com.albaraka_bank.modules.operation.controller;
 
 import com.albaraka_bank.common.util.SecurityUtils;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.service.AccountService;
 import com.albaraka_bank.modules.iam.model.User;
 import com.albaraka_bank.modules.iam.service.KeycloakUserSyncService;
+import com.albaraka_bank.modules.operation.dto.OperationBatchRequest;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.dto.OperationPage;
 import com.albaraka_bank.modules.operation.dto.OperationRequest;
 import com.albaraka_bank.modules.operation.dto.OperationResponse;
 import com.albaraka_bank.modules.operation.model.Document;
 import com.albaraka_bank.modules.operation.service.DocumentService;
+import com.albaraka_bank.modules.operation.service.IdempotencyService;
 import com.albaraka_bank.modules.operation.service.OperationService;
+import com.albaraka_bank.modules.operation.service.statement.StatementFormat;
+import com.albaraka_bank.modules.operation.service.statement.StatementService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,17 +36,30 @@ public class KeycloakClientOperationController {
 
     private final OperationService operationService;
     private final DocumentService documentService;
+    private final IdempotencyService idempotencyService;
     private final KeycloakUserSyncService keycloakUserSyncService;
+    private final AccountService accountService;
+    private final StatementService statementService;
 
     @PostMapping
     public ResponseEntity<OperationResponse> createOperation(
             @Valid @RequestBody OperationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal Jwt jwt) {
         User user = keycloakUserSyncService.syncUser(jwt);
-        OperationResponse response = operationService.createOperation(request, user);
+        OperationResponse response = idempotencyService.createOperation(request, user, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<OperationResponse>> createOperations(
+            @Valid @RequestBody OperationBatchRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+        User user = keycloakUserSyncService.syncUser(jwt);
+        List<OperationResponse> responses = operationService.createOperationsForUser(request.getOperations(), user);
+        return ResponseEntity.ok(responses);
+    }
+
     @PostMapping("/{id}/document")
     public ResponseEntity<String> uploadDocument(
             @PathVariable Long id,
@@ -44,10 +68,25 @@ public class KeycloakClientOperationController {
         return ResponseEntity.ok("Document uploaded: " + document.getFileName());
     }
 
+    @GetMapping("/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(@AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        User user = keycloakUserSyncService.syncUser(jwt);
+        Account account = accountService.getAccountByOwner(user);
+        return statementService.export(account, format, from, to).toResponseEntity();
+    }
+
     @GetMapping
-    public ResponseEntity<List<OperationResponse>> getOperations(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<List<OperationResponse>> getOperations(@AuthenticationPrincipal Jwt jwt,
+            OperationHistoryFilter filter) {
         User user = keycloakUserSyncService.syncUser(jwt);
-        List<OperationResponse> operations = operationService.getOperationsByUser(user);
-        return ResponseEntity.ok(operations);
+        OperationPage page = operationService.getOperationsByUser(user, filter);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(ClientOperationController.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOperations());
     }
 }
@@ -0,0 +1,14 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OperationBatchRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid OperationRequest> operations;
+}
@@ -0,0 +1,14 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class OperationDecisionRequest {
+
+    @NotEmpty(message = "At least one operation id is required")
+    private List<@NotNull Long> operationIds;
+}
@@ -0,0 +1,17 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class OperationDecisionResult {
+
+    private Long operationId;
+
+    /** Status after the decision, null when it was refused. */
+    private OperationStatus status;
+
+    private String error;
+}
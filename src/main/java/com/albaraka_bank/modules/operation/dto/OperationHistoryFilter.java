@@ -0,0 +1,31 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Query parameters of the operation history. Every criterion is optional; {@code to} is inclusive,
+ * {@code cursor} is the value returned with the previous page.
+ */
+@Data
+public class OperationHistoryFilter {
+
+    private OperationType type;
+    private OperationStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String cursor;
+    private Integer limit;
+}
@@ -0,0 +1,16 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OperationPage {
+
+    private List<OperationResponse> operations;
+
+    /** Cursor of the next (older) page, null on the last one. */
+    private String nextCursor;
+}
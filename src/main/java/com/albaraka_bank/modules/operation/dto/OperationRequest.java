@@ -1,6 +1,7 @@
 package com.albaraka_bank.modules.operation.dto;
 
 import com.albaraka_bank.modules.operation.model.OperationType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
@@ -15,7 +16,11 @@ public class OperationRequest {
 
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
+    @Digits(integer = 16, fraction = 2, message = "Amount cannot have more than 2 decimals")
     private BigDecimal amount;
 
     private String destinationAccountNumber;
+
+    // Only read by the agent batch endpoint, clients always operate on their own account
+    private String sourceAccountNumber;
 }
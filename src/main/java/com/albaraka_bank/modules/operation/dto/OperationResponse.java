@@ -1,5 +1,6 @@
 package com.albaraka_bank.modules.operation.dto;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.operation.model.OperationStatus;
 import com.albaraka_bank.modules.operation.model.OperationType;
 import lombok.AllArgsConstructor;
@@ -7,7 +8,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -18,7 +18,7 @@ public class OperationResponse {
 
     private Long id;
     private OperationType type;
-    private BigDecimal amount;
+    private Money amount;
     private OperationStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime validatedAt;
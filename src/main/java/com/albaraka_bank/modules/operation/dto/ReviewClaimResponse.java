@@ -0,0 +1,17 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReviewClaimResponse {
+
+    /** Renew before this through the heartbeat, or the operations go back to the queue. */
+    private LocalDateTime leaseExpiresAt;
+
+    private List<OperationResponse> operations;
+}
@@ -0,0 +1,29 @@
+package com.albaraka_bank.modules.operation.dto;
+
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * Criteria left empty match any operation.
+ */
+@Data
+public class ValidationRuleRequest {
+
+    private OperationType operationType;
+    private AccountTier accountTier;
+    private String destinationAccountNumber;
+    private LocalTime windowStart;
+    private LocalTime windowEnd;
+
+    @NotNull(message = "Threshold is required")
+    @PositiveOrZero(message = "Threshold cannot be negative")
+    @Digits(integer = 16, fraction = 2, message = "Threshold cannot have more than 2 decimals")
+    private BigDecimal threshold;
+}
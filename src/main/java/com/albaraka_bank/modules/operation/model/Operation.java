@@ -1,23 +1,31 @@
 package com.albaraka_bank.modules.operation.model;
 
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.common.money.MoneyConverter;
 import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.iam.model.User;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "operations")
+@Table(name = "operations", indexes = {
+        @Index(name = "idx_operations_source_history", columnList = "source_account_id, created_at, id"),
+        @Index(name = "idx_operations_destination_history", columnList = "destination_account_id, created_at, id"),
+        @Index(name = "idx_operations_review", columnList = "status, amount")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Operation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operations_seq")
+    @SequenceGenerator(name = "operations_seq", sequenceName = "operations_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -28,7 +36,8 @@ public class Operation {
     private OperationType type;
 
     @Column(nullable = false)
-    private BigDecimal amount;
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -51,8 +60,16 @@ public class Operation {
     @Column(columnDefinition = "TEXT")
     private String aiAnalysis;
 
+    /** Agent holding the review lease, only meaningful until {@link #claimExpiresAt}. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by_id")
+    private User claimedBy;
+
+    private LocalDateTime claimExpiresAt;
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Column precision, so a history cursor taken from a managed entity matches the stored value
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
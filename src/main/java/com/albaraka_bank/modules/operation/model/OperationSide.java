@@ -0,0 +1,7 @@
+package com.albaraka_bank.modules.operation.model;
+
+/** Which account of an operation an {@link OperationView} row belongs to. */
+public enum OperationSide {
+    SOURCE,
+    DESTINATION
+}
@@ -0,0 +1,91 @@
+package com.albaraka_bank.modules.operation.model;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.common.money.MoneyConverter;
+import com.albaraka_bank.modules.ai.model.AiDecision;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of the operation lists: one row per account an operation belongs to, with the
+ * account numbers, document flag and AI verdict copied in, so history and review-queue reads
+ * never join. Written only by {@link com.albaraka_bank.modules.operation.service.view.OperationViewProjector}
+ * from the outbox, so it trails the operations table by a dispatch round. No foreign keys, it
+ * can be dropped and rebuilt at any time.
+ */
+@Entity
+@Table(name = "operation_view", indexes = {
+        @Index(name = "idx_operation_view_history", columnList = "account_id, created_at, operation_id"),
+        @Index(name = "idx_operation_view_review", columnList = "status, side, created_at, operation_id")
+})
+@IdClass(OperationView.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperationView {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long operationId;
+        private OperationSide side;
+    }
+
+    @Id
+    @Column(name = "operation_id")
+    private Long operationId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OperationSide side;
+
+    // The source account on the SOURCE row, the destination on the DESTINATION row
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OperationType type;
+
+    @Column(nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OperationStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "validated_at")
+    private LocalDateTime validatedAt;
+
+    @Column(name = "executed_at")
+    private LocalDateTime executedAt;
+
+    @Column(name = "source_account_number", nullable = false)
+    private String sourceAccountNumber;
+
+    @Column(name = "destination_account_number")
+    private String destinationAccountNumber;
+
+    @Column(name = "has_document", nullable = false)
+    private boolean hasDocument;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ai_decision", length = 20)
+    private AiDecision aiDecision;
+
+    @Column(name = "ai_analysis", columnDefinition = "TEXT")
+    private String aiAnalysis;
+}
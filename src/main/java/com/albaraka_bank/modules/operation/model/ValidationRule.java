@@ -0,0 +1,56 @@
+package com.albaraka_bank.modules.operation.model;
+
+import com.albaraka_bank.modules.account.model.AccountTier;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Amount above which a matching operation waits for an agent. Empty criteria match anything; when
+ * several rules match, the most specific one decides (see DecisionTable).
+ */
+@Entity
+@Table(name = "validation_rules")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ValidationRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private OperationType operationType;
+
+    // Tier of the source account
+    @Enumerated(EnumType.STRING)
+    private AccountTier accountTier;
+
+    private String destinationAccountNumber;
+
+    // Local time window, wrapping past midnight when the start is after the end
+    private LocalTime windowStart;
+    private LocalTime windowEnd;
+
+    @Column(nullable = false)
+    private BigDecimal threshold;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean active = true;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,38 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the history, newest first: the (createdAt, id) of the last operation
+ * already returned. Encoded as an opaque URL-safe token.
+ */
+public record OperationCursor(LocalDateTime createdAt, Long id) {
+
+    public static OperationCursor of(OperationResponse operation) {
+        return new OperationCursor(operation.getCreatedAt(), operation.getId());
+    }
+
+    public static OperationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new OperationCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
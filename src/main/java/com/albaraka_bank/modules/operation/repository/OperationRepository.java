@@ -1,16 +1,86 @@
 package com.albaraka_bank.modules.operation.repository;
 
-import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.iam.model.User;
 import com.albaraka_bank.modules.operation.model.Operation;
 import com.albaraka_bank.modules.operation.model.OperationStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OperationRepository extends JpaRepository<Operation, Long> {
+public interface OperationRepository extends JpaRepository<Operation, Long>, JpaSpecificationExecutor<Operation>,
+        OperationResponseRepository {
     List<Operation> findByStatus(OperationStatus status);
 
-    List<Operation> findByAccountSourceOrAccountDestination(Account source, Account destination);
+    long countByStatus(OperationStatus status);
+
+    /** Operations with both their accounts, so a batch of decisions is checked in one round trip. */
+    @Query("""
+            SELECT o FROM Operation o JOIN FETCH o.accountSource LEFT JOIN FETCH o.accountDestination
+            WHERE o.id IN :ids
+            """)
+    List<Operation> findWithAccountsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Row locks operations before a decision, in id order so concurrent batches never deadlock.
+     * Taken before any account lock, as every decision does.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Operation o WHERE o.id IN :ids ORDER BY o.id")
+    List<Operation> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Writes the AI verdict without loading the operation, so a concurrent approval is never
+     * overwritten by a stale entity.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Operation o SET o.aiAnalysis = :analysis, o.version = o.version + 1 WHERE o.id = :id")
+    int updateAiAnalysis(@Param("id") Long id, @Param("analysis") String analysis);
+
+    /**
+     * Locks the next unclaimed pending operations in review priority order. Rows another agent is
+     * claiming right now are skipped rather than waited for, so concurrent claims never block.
+     */
+    @Query(value = """
+            SELECT * FROM operations
+            WHERE status = 'PENDING'
+              AND (claim_expires_at IS NULL OR claim_expires_at <= :now)
+            ORDER BY amount DESC,
+                     CASE WHEN ai_analysis LIKE 'REJECT%' THEN 0
+                          WHEN ai_analysis LIKE 'NEED_HUMAN_REVIEW%' THEN 1
+                          WHEN ai_analysis LIKE 'APPROVE%' THEN 3
+                          ELSE 2 END,
+                     created_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Operation> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Bumps versions behind the persistence context, which is flushed first and cleared after
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Operation o SET o.claimExpiresAt = :expiresAt, o.version = o.version + 1
+            WHERE o.claimedBy = :agent AND o.status = com.albaraka_bank.modules.operation.model.OperationStatus.PENDING AND o.claimExpiresAt > :now
+            """)
+    int renewClaims(@Param("agent") User agent, @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Bumps versions behind the persistence context, which is flushed first and cleared after
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Operation o SET o.claimedBy = null, o.claimExpiresAt = null, o.version = o.version + 1
+            WHERE o.id = :id AND o.claimedBy = :agent AND o.status = com.albaraka_bank.modules.operation.model.OperationStatus.PENDING
+            """)
+    int releaseClaim(@Param("id") Long id, @Param("agent") User agent);
 }
@@ -0,0 +1,19 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Operation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read path for operation lists: builds {@link OperationResponse} in one query joining both
+ * accounts and document existence, instead of loading entities and their associations one by one.
+ */
+public interface OperationResponseRepository {
+
+    List<OperationResponse> findResponses(Specification<Operation> spec, Sort sort);
+
+    List<OperationResponse> findResponses(Specification<Operation> spec, Sort sort, int limit);
+}
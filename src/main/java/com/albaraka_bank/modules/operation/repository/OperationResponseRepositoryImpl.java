@@ -0,0 +1,66 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Document;
+import com.albaraka_bank.modules.operation.model.Operation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class OperationResponseRepositoryImpl implements OperationResponseRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OperationResponse> findResponses(Specification<Operation> spec, Sort sort) {
+        return findResponses(spec, sort, 0);
+    }
+
+    @Override
+    public List<OperationResponse> findResponses(Specification<Operation> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OperationResponse> query = cb.createQuery(OperationResponse.class);
+        Root<Operation> root = query.from(Operation.class);
+        Join<Operation, Account> source = root.join("accountSource");
+        Join<Operation, Account> destination = root.join("accountDestination", JoinType.LEFT);
+
+        Subquery<Long> document = query.subquery(Long.class);
+        Root<Document> documentRoot = document.from(Document.class);
+        document.select(documentRoot.get("id")).where(cb.equal(documentRoot.get("operation"), root));
+
+        // Argument order follows the OperationResponse fields
+        query.select(cb.construct(OperationResponse.class,
+                root.get("id"),
+                root.get("type"),
+                root.get("amount"),
+                root.get("status"),
+                root.get("createdAt"),
+                root.get("validatedAt"),
+                root.get("executedAt"),
+                source.get("accountNumber"),
+                destination.get("accountNumber"),
+                cb.<Boolean>selectCase().when(cb.exists(document), true).otherwise(false),
+                root.get("aiAnalysis")));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<OperationResponse> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+}
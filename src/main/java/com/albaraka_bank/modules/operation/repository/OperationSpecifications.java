@@ -0,0 +1,103 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria for the keyset-paginated operation history. Each side of an account's history
+ * (sent, received) is queried separately so both walk their (account, created_at, id) index.
+ */
+public final class OperationSpecifications {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    public static final Sort OLDEST_FIRST = Sort.by("createdAt", "id");
+
+    private OperationSpecifications() {
+    }
+
+    public static Specification<Operation> hasStatus(OperationStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Operation> hasIdIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /** Pending operations whose review lease the agent still holds. */
+    public static Specification<Operation> claimedBy(User agent, LocalDateTime now) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), OperationStatus.PENDING),
+                cb.equal(root.get("claimedBy"), agent),
+                cb.greaterThan(root.get("claimExpiresAt"), now));
+    }
+
+    public static Specification<Operation> sentFrom(Account account) {
+        return (root, query, cb) -> cb.equal(root.get("accountSource"), account);
+    }
+
+    /** Transfers into the account, except those still waiting for approval. */
+    public static Specification<Operation> receivedBy(Account account) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("accountDestination"), account),
+                cb.notEqual(root.get("accountSource"), account),
+                cb.notEqual(root.get("status"), OperationStatus.PENDING));
+    }
+
+    public static Specification<Operation> matching(OperationHistoryFilter filter) {
+        return (root, query, cb) -> cb.and(filterPredicates(root, cb, filter));
+    }
+
+    /** Strictly older than the cursor in {@link #NEWEST_FIRST} order. */
+    public static Specification<Operation> before(OperationCursor cursor) {
+        return (root, query, cb) -> before(root, cb, cursor, "id");
+    }
+
+    // Shared with OperationViewSpecifications, whose rows carry the same attribute names
+    static Predicate[] filterPredicates(Path<?> root, CriteriaBuilder cb, OperationHistoryFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getType() != null) {
+            predicates.add(cb.equal(root.get("type"), filter.getType()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(root.get("createdAt"), filter.getTo().plusDays(1).atStartOfDay()));
+        }
+        // Amounts are whole centimes, so rounding a bound inwards keeps exactly the same matches
+        if (filter.getMinAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("amount"),
+                    Money.of(filter.getMinAmount().setScale(Money.SCALE, RoundingMode.CEILING))));
+        }
+        if (filter.getMaxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("amount"),
+                    Money.of(filter.getMaxAmount().setScale(Money.SCALE, RoundingMode.FLOOR))));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    static Predicate before(Path<?> root, CriteriaBuilder cb, OperationCursor cursor, String idAttribute) {
+        return cursor == null ? cb.conjunction() : cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get(idAttribute), cursor.id())));
+    }
+}
@@ -0,0 +1,67 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.modules.operation.model.OperationView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OperationViewRepository extends JpaRepository<OperationView, OperationView.Key>,
+        JpaSpecificationExecutor<OperationView> {
+
+    @Modifying
+    @Query("DELETE FROM OperationView v WHERE v.operationId = :operationId")
+    int deleteByOperation(@Param("operationId") Long operationId);
+
+    /** An empty view over a non-empty operations table, without counting either. */
+    @Query(value = "SELECT NOT EXISTS (SELECT 1 FROM operation_view) AND EXISTS (SELECT 1 FROM operations)",
+            nativeQuery = true)
+    boolean needsInitialBuild();
+
+    @Modifying
+    @Query("DELETE FROM OperationView v")
+    int deleteAllRows();
+
+    /**
+     * Both sides of every operation in two set-based inserts. The AI verdict is read from the
+     * "DECISION: reasoning" prefix of the analysis, as the projector does.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO operation_view (operation_id, side, account_id, type, amount, status, created_at,
+                validated_at, executed_at, source_account_number, destination_account_number, has_document,
+                ai_decision, ai_analysis)
+            SELECT o.id, 'SOURCE', o.source_account_id, o.type, o.amount, o.status, o.created_at,
+                o.validated_at, o.executed_at, s.account_number, d.account_number,
+                EXISTS (SELECT 1 FROM documents doc WHERE doc.operation_id = o.id),
+                CASE WHEN o.ai_analysis LIKE 'APPROVE%' THEN 'APPROVE'
+                     WHEN o.ai_analysis LIKE 'REJECT%' THEN 'REJECT'
+                     WHEN o.ai_analysis LIKE 'NEED_HUMAN_REVIEW%' THEN 'NEED_HUMAN_REVIEW' END,
+                o.ai_analysis
+            FROM operations o
+            JOIN accounts s ON s.id = o.source_account_id
+            LEFT JOIN accounts d ON d.id = o.destination_account_id
+            """, nativeQuery = true)
+    int insertSourceSides();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO operation_view (operation_id, side, account_id, type, amount, status, created_at,
+                validated_at, executed_at, source_account_number, destination_account_number, has_document,
+                ai_decision, ai_analysis)
+            SELECT o.id, 'DESTINATION', o.destination_account_id, o.type, o.amount, o.status, o.created_at,
+                o.validated_at, o.executed_at, s.account_number, d.account_number,
+                EXISTS (SELECT 1 FROM documents doc WHERE doc.operation_id = o.id),
+                CASE WHEN o.ai_analysis LIKE 'APPROVE%' THEN 'APPROVE'
+                     WHEN o.ai_analysis LIKE 'REJECT%' THEN 'REJECT'
+                     WHEN o.ai_analysis LIKE 'NEED_HUMAN_REVIEW%' THEN 'NEED_HUMAN_REVIEW' END,
+                o.ai_analysis
+            FROM operations o
+            JOIN accounts s ON s.id = o.source_account_id
+            JOIN accounts d ON d.id = o.destination_account_id
+            """, nativeQuery = true)
+    int insertDestinationSides();
+}
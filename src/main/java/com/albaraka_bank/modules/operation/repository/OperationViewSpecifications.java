@@ -0,0 +1,45 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.model.OperationSide;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationView;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The {@link OperationSpecifications} criteria over {@link OperationView}. An account's history
+ * is a single range of its (account_id, created_at, operation_id) index, both sides included.
+ */
+public final class OperationViewSpecifications {
+
+    public static final Sort NEWEST_FIRST =
+            Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("operationId"));
+    public static final Sort OLDEST_FIRST = Sort.by("createdAt", "operationId");
+
+    private OperationViewSpecifications() {
+    }
+
+    /** Everything the account sent, and transfers it received except those still waiting for approval. */
+    public static Specification<OperationView> historyOf(Long accountId) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("accountId"), accountId),
+                cb.or(cb.equal(root.get("side"), OperationSide.SOURCE),
+                        cb.notEqual(root.get("status"), OperationStatus.PENDING)));
+    }
+
+    public static Specification<OperationView> pending() {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), OperationStatus.PENDING),
+                cb.equal(root.get("side"), OperationSide.SOURCE));
+    }
+
+    public static Specification<OperationView> matching(OperationHistoryFilter filter) {
+        return (root, query, cb) -> cb.and(OperationSpecifications.filterPredicates(root, cb, filter));
+    }
+
+    /** Strictly older than the cursor in {@link #NEWEST_FIRST} order. */
+    public static Specification<OperationView> before(OperationCursor cursor) {
+        return (root, query, cb) -> OperationSpecifications.before(root, cb, cursor, "operationId");
+    }
+}
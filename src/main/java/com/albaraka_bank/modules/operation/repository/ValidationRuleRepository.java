@@ -0,0 +1,12 @@
+package com.albaraka_bank.modules.operation.repository;
+
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ValidationRuleRepository extends JpaRepository<ValidationRule, Long> {
+    List<ValidationRule> findByActiveTrue();
+}
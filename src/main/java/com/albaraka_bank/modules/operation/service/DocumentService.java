@@ -1,26 +1,34 @@
 package com.albaraka_bank.modules.operation.service;
 
-import com.albaraka_bank.modules.ai.model.AiDecision;
 import com.albaraka_bank.modules.ai.service.AiService;
 import com.albaraka_bank.modules.operation.model.Document;
 import com.albaraka_bank.modules.operation.model.Operation;
 import com.albaraka_bank.modules.operation.repository.DocumentRepository;
 import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.service.review.ReviewQueueChange;
 import com.albaraka_bank.modules.operation.service.storage.StoragePort;
+import com.albaraka_bank.modules.outbox.model.OutboxEventType;
+import com.albaraka_bank.modules.outbox.service.OutboxWriter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
     private final OperationRepository operationRepository;
     private final StoragePort storagePort;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     private final AiService aiService;
     private final OperationService operationService;
@@ -29,7 +37,10 @@ public class DocumentService {
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
     private static final List<String> ALLOWED_TYPES = List.of("application/pdf", "image/jpeg", "image/png");
 
-    @Transactional
+    /**
+     * Stores the file in a short transaction, then runs text extraction and the AI call outside it
+     * so a slow LLM response never holds a database connection.
+     */
     public Document uploadDocument(Long operationId, MultipartFile file) {
         if (file.getSize() > MAX_FILE_SIZE) {
             throw new IllegalArgumentException("File size exceeds 5MB limit");
@@ -40,37 +51,47 @@ public class DocumentService {
             throw new IllegalArgumentException("Invalid file type. Only PDF, JPG, and PNG are allowed");
         }
 
-        Operation operation = operationRepository.findById(operationId)
-                .orElseThrow(() -> new RuntimeException("Operation not found"));
+        Document savedDoc = transactionTemplate.execute(status -> {
+            Operation operation = operationRepository.findById(operationId)
+                    .orElseThrow(() -> new RuntimeException("Operation not found"));
 
-        String storagePath = storagePort.store(file, operationId);
+            String storagePath = storagePort.store(file, operationId);
 
-        Document document = Document.builder()
-                .fileName(file.getOriginalFilename())
-                .fileType(contentType)
-                .storagePath(storagePath)
-                .operation(operation)
-                .build();
+            Document document = Document.builder()
+                    .fileName(file.getOriginalFilename())
+                    .fileType(contentType)
+                    .storagePath(storagePath)
+                    .operation(operation)
+                    .build();
 
-        Document savedDoc = documentRepository.save(document);
+            Document saved = documentRepository.save(document);
+            outboxWriter.operationChanged(OutboxEventType.DOCUMENT_ATTACHED, operation);
+            return saved;
+        });
 
+        String analysis;
         try {
             String documentContent = textExtractionService.extractText(file);
 
-            var analysisResult = aiService.analyzeOperation(operation.getAmount().doubleValue(), contentType,
-                    documentContent);
+            var analysisResult = aiService.analyzeOperation(savedDoc.getOperation().getAmount().doubleValue(),
+                    contentType, documentContent);
+            analysis = analysisResult.decision() + ": " + analysisResult.reasoning();
 
-            operation.setAiAnalysis(analysisResult.decision() + ": " + analysisResult.reasoning());
-            operationRepository.save(operation);
+            log.info("AI Analysis completed for operation {}. Decision: {}", operationId, analysisResult.decision());
+        } catch (Exception e) {
+            log.warn("AI Analysis failed for operation {}: {}", operationId, e.getMessage());
+            analysis = "AI Analysis Failed: " + e.getMessage();
+        }
 
-            System.out.println("AI Analysis completed. Decision: " + analysisResult.decision());
+        try {
+            String recorded = analysis;
+            transactionTemplate.executeWithoutResult(status -> {
+                operationRepository.updateAiAnalysis(operationId, recorded);
+                outboxWriter.operationChanged(OutboxEventType.AI_ANALYSIS_RECORDED, savedDoc.getOperation());
+            });
+            eventPublisher.publishEvent(ReviewQueueChange.upsert(List.of(operationId)));
         } catch (Exception e) {
-            System.err.println("AI Analysis failed: " + e.getMessage());
-            try {
-                operation.setAiAnalysis("AI Analysis Failed: " + e.getMessage());
-                operationRepository.save(operation);
-            } catch (Exception ex) {
-            }
+            log.error("Could not record AI analysis for operation {}", operationId, e);
         }
 
         return savedDoc;
@@ -0,0 +1,101 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Handles the {@code Idempotency-Key} of operation creation. A repeated key returns the
+ * response of the operation first created under it instead of creating another one.
+ * Recently seen keys are answered from a bounded in-memory LRU map without a database
+ * round trip; keys evicted from it, or seen first by another node, are caught by the
+ * unique constraint on {@code idempotency_keys}, which rolls the duplicate back.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OperationService operationService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration retention;
+    private final Map<String, OperationResponse> recent;
+
+    public IdempotencyService(OperationService operationService,
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${app.idempotency.retention:P1D}") Duration retention) {
+        this.operationService = operationService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.retention = retention;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OperationResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public OperationResponse createOperation(OperationRequest request, User user, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return await(operationService.submitOperation(request, user, null));
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = user.getId() + ":" + idempotencyKey;
+        OperationResponse cached = recent.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        OperationResponse response;
+        try {
+            response = await(operationService.submitOperation(request, user, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            // The key was used before: the attempt above has been rolled back, answer with the original
+            response = idempotencyKeyRepository.findByUserIdAndKey(user.getId(), idempotencyKey)
+                    .map(existing -> operationService.getOperation(existing.getOperation().getId()))
+                    .orElseThrow(() -> e);
+        }
+        recent.put(cacheKey, response);
+        return response;
+    }
+
+    private OperationResponse await(CompletableFuture<OperationResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -1,24 +1,61 @@
 package com.albaraka_bank.modules.operation.service;
 
+import com.albaraka_bank.common.jfr.OperationExecutedEvent;
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.account.service.lock.AccountLockManager;
 import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.ledger.service.LedgerService;
+import com.albaraka_bank.modules.operation.dto.OperationDecisionResult;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.dto.OperationPage;
 import com.albaraka_bank.modules.operation.dto.OperationRequest;
 import com.albaraka_bank.modules.operation.dto.OperationResponse;
 import com.albaraka_bank.modules.operation.factory.OperationFactory;
+import com.albaraka_bank.modules.operation.model.IdempotencyKey;
 import com.albaraka_bank.modules.operation.model.Operation;
 import com.albaraka_bank.modules.operation.model.OperationStatus;
 import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.OperationView;
+import com.albaraka_bank.modules.operation.repository.IdempotencyKeyRepository;
+import com.albaraka_bank.modules.operation.repository.OperationCursor;
+import com.albaraka_bank.modules.operation.repository.OperationSpecifications;
 import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.repository.OperationViewRepository;
+import com.albaraka_bank.modules.operation.repository.OperationViewSpecifications;
 import com.albaraka_bank.modules.operation.repository.DocumentRepository;
+import com.albaraka_bank.modules.operation.service.pipeline.PartitionedGroupExecutor;
+import com.albaraka_bank.modules.operation.service.review.ReviewClaimService;
+import com.albaraka_bank.modules.operation.service.review.ReviewQueueChange;
+import com.albaraka_bank.modules.operation.service.velocity.VelocityDecision;
+import com.albaraka_bank.modules.operation.service.velocity.VelocityLimiter;
 import com.albaraka_bank.modules.operation.strategy.OperationStrategy;
+import com.albaraka_bank.modules.outbox.model.OutboxEventType;
+import com.albaraka_bank.modules.outbox.service.OutboxWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +66,158 @@ public class OperationService {
     private final AccountService accountService;
     private final TransactionValidator transactionValidator;
     private final OperationFactory operationFactory;
+    private final AccountLockManager accountLockManager;
+    private final LedgerService ledgerService;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewClaimService reviewClaimService;
+    private final VelocityLimiter velocityLimiter;
+    private final OperationMetrics operationMetrics;
+    private final OutboxWriter outboxWriter;
+    private final OperationViewRepository operationViewRepository;
+
+    @Value("${app.operations.batch.max-size:5000}")
+    private int batchMaxSize;
+
+    // 0 runs the whole batch in one transaction
+    @Value("${app.operations.batch.chunk-size:0}")
+    private int batchChunkSize;
+
+    @Value("${app.operations.execution:direct}")
+    private String executionMode;
+
+    @Value("${app.operations.pipeline.partitions:4}")
+    private int pipelinePartitions;
+
+    @Value("${app.operations.pipeline.queue-capacity:10000}")
+    private int pipelineQueueCapacity;
+
+    @Value("${app.operations.pipeline.group-size:256}")
+    private int pipelineGroupSize;
+
+    @Value("${app.operations.history.page-size:20}")
+    private int historyPageSize;
+
+    @Value("${app.operations.history.max-page-size:100}")
+    private int historyMaxPageSize;
+
+    // tables joins operations, accounts and documents; view reads the operation_view read model
+    @Value("${app.operations.history.read-model:tables}")
+    private String readModel;
+
+    private PartitionedGroupExecutor<PipelinedOperation, OperationResponse> pipeline;
+
+    private record PipelinedOperation(OperationType type, Money amount, Long sourceAccountId,
+            Long destinationAccountId, User user, String idempotencyKey) {
+    }
+
+    @PostConstruct
+    void startPipeline() {
+        if ("pipeline".equals(executionMode)) {
+            pipeline = new PartitionedGroupExecutor<>("operation-pipeline", pipelinePartitions,
+                    pipelineQueueCapacity, pipelineGroupSize, this::executeGroup);
+        }
+    }
+
+    @PreDestroy
+    void stopPipeline() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
 
     @Transactional
     public OperationResponse createOperation(OperationRequest request, User user) {
+        return createOperation(request, user, null);
+    }
+
+    /**
+     * Same as {@link #createOperation(OperationRequest, User)}, also recording the key the
+     * operation was created under. A key the user has already used fails with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} and rolls everything back.
+     */
+    @Transactional
+    public OperationResponse createOperation(OperationRequest request, User user, String idempotencyKey) {
+        long start = System.nanoTime();
+        boolean created = false;
+        try {
+            OperationResponse response = createOperation(prepareOperation(request, user), user, idempotencyKey);
+            created = true;
+            return response;
+        } finally {
+            operationMetrics.recordCreate(request.getType(), start, created);
+        }
+    }
+
+    private OperationResponse createOperation(Operation operation, User user, String idempotencyKey) {
+        recordVelocity(operation);
+
+        if (operation.getStatus() == OperationStatus.EXECUTED) {
+            executeOperation(operation);
+        } else {
+            operationRepository.save(operation);
+            outboxWriter.operationChanged(OutboxEventType.OPERATION_SUBMITTED, operation);
+            eventPublisher.publishEvent(ReviewQueueChange.upsert(List.of(operation.getId())));
+        }
+
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                    .user(user)
+                    .key(idempotencyKey)
+                    .operation(operation)
+                    .build());
+        }
+
+        return mapToResponse(operation);
+    }
+
+    /**
+     * With {@code app.operations.execution=pipeline}, operations that execute straight away
+     * are queued to the single-writer worker owning the source account, which commits them in
+     * groups; the future completes once the group has committed. Operations that go to review
+     * are saved as prepared here, in their own transaction. Otherwise this is
+     * {@link #createOperation(OperationRequest, User, String)} in its own transaction. Must not be
+     * called inside a transaction, which would hold a connection for as long as the worker takes.
+     */
+    public CompletableFuture<OperationResponse> submitOperation(OperationRequest request, User user,
+            String idempotencyKey) {
+        try {
+            if (pipeline == null) {
+                return CompletableFuture.completedFuture(
+                        transactionTemplate.execute(status -> createOperation(request, user, idempotencyKey)));
+            }
+            long start = System.nanoTime();
+            Operation operation = prepareOperation(request, user);
+            if (operation.getStatus() != OperationStatus.EXECUTED) {
+                // Prepared once: goes to review as validated above
+                boolean created = false;
+                try {
+                    OperationResponse response = transactionTemplate.execute(status ->
+                            createOperation(operation, user, idempotencyKey));
+                    created = true;
+                    return CompletableFuture.completedFuture(response);
+                } finally {
+                    operationMetrics.recordCreate(operation.getType(), start, created);
+                }
+            }
+            Account destination = operation.getAccountDestination();
+            // Timed and counted once the group commits, which is what the caller waits for
+            return pipeline.submit(operation.getAccountSource().getId(), new PipelinedOperation(
+                    operation.getType(), operation.getAmount(), operation.getAccountSource().getId(),
+                    destination != null ? destination.getId() : null, user, idempotencyKey))
+                    .whenComplete((response, failure) -> {
+                        if (failure == null) {
+                            recordVelocity(operation);
+                        }
+                        operationMetrics.recordCreate(operation.getType(), start, failure == null);
+                    });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Operation prepareOperation(OperationRequest request, User user) {
         Account sourceAccount = accountService.getAccountByOwner(user);
         Account destinationAccount = null;
 
@@ -46,92 +232,549 @@ public class OperationService {
             }
         }
 
+        Money amount = Money.of(request.getAmount());
         if (request.getType() == OperationType.WITHDRAWAL || request.getType() == OperationType.TRANSFER) {
-            if (sourceAccount.getBalance().compareTo(request.getAmount()) < 0) {
+            if (accountService.getBalance(sourceAccount).isLessThan(amount)) {
                 throw new IllegalArgumentException("Insufficient balance");
             }
         }
 
-        OperationStatus status = transactionValidator.validate(request.getAmount());
+        OperationStatus status = transactionValidator.validate(request.getType(), amount, sourceAccount,
+                destinationAccount);
+        VelocityDecision velocity = velocityLimiter.assess(sourceAccount.getId(), request.getType(), amount);
+        if (velocity == VelocityDecision.REJECT) {
+            throw new IllegalArgumentException("Too many operations from this account, try again later");
+        }
+        if (velocity == VelocityDecision.REVIEW) {
+            status = OperationStatus.PENDING;
+        }
 
-        Operation operation = Operation.builder()
+        return Operation.builder()
                 .type(request.getType())
-                .amount(request.getAmount())
+                .amount(amount)
                 .status(status)
                 .accountSource(sourceAccount)
                 .accountDestination(destinationAccount)
                 .build();
+    }
 
-        operationRepository.save(operation);
+    private void recordVelocity(Operation operation) {
+        velocityLimiter.record(operation.getAccountSource().getId(), operation.getType(), operation.getAmount());
+    }
 
-        if (status == OperationStatus.EXECUTED) {
-            executeOperation(operation);
+    @Transactional(readOnly = true)
+    public OperationResponse getOperation(Long operationId) {
+        Operation operation = operationRepository.findById(operationId)
+                .orElseThrow(() -> new RuntimeException("Operation not found"));
+        return mapToResponse(operation);
+    }
+
+    /**
+     * Submits many operations from the user's own account.
+     *
+     * @see #createOperations(List, User)
+     */
+    public List<OperationResponse> createOperationsForUser(List<OperationRequest> requests, User user) {
+        return createOperations(requests, user);
+    }
+
+    /**
+     * Submits many operations, each from the account named by its {@code sourceAccountNumber}.
+     *
+     * @see #createOperations(List, User)
+     */
+    public List<OperationResponse> createOperationsForAccounts(List<OperationRequest> requests) {
+        return createOperations(requests, null);
+    }
+
+    /**
+     * Every request in a chunk is validated, against balances that already account for the
+     * requests before it, before anything is written; a single failure rejects the whole chunk.
+     * Rows are inserted with JDBC batching when the chunk commits. With a chunk size configured,
+     * chunks that committed before a failing one stay committed.
+     */
+    private List<OperationResponse> createOperations(List<OperationRequest> requests, User owner) {
+        if (requests.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + batchMaxSize + " operations");
         }
 
-        return mapToResponse(operation);
+        int chunkSize = batchChunkSize > 0 ? batchChunkSize : requests.size();
+        List<OperationResponse> responses = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<OperationRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            int offset = from;
+            responses.addAll(transactionTemplate.execute(status -> createChunk(chunk, offset, owner)));
+        }
+        return responses;
     }
 
-    public List<OperationResponse> getOperationsByUser(User user) {
-        Account account = accountService.getAccountByOwner(user);
-        List<Operation> operations = operationRepository.findByAccountSourceOrAccountDestination(account, account);
+    private List<OperationResponse> createChunk(List<OperationRequest> requests, int offset, User owner) {
+        Account ownAccount = owner != null ? accountService.getAccountByOwner(owner) : null;
+
+        Set<String> accountNumbers = new HashSet<>();
+        for (OperationRequest request : requests) {
+            if (ownAccount == null && request.getSourceAccountNumber() != null) {
+                accountNumbers.add(request.getSourceAccountNumber());
+            }
+            if (request.getType() == OperationType.TRANSFER && request.getDestinationAccountNumber() != null) {
+                accountNumbers.add(request.getDestinationAccountNumber());
+            }
+        }
+        Map<String, Account> accounts = accountService.getAccountsByNumbers(accountNumbers);
+
+        List<String> errors = new ArrayList<>();
+        List<Operation> operations = new ArrayList<>(requests.size());
+        VelocityLimiter.BatchTally velocityTally = new VelocityLimiter.BatchTally();
+        for (int i = 0; i < requests.size(); i++) {
+            OperationRequest request = requests.get(i);
+            Account source = ownAccount != null ? ownAccount : accounts.get(request.getSourceAccountNumber());
+            Account destination = request.getType() == OperationType.TRANSFER
+                    ? accounts.get(request.getDestinationAccountNumber())
+                    : null;
+
+            String error = null;
+            if (source == null) {
+                error = "Source account not found";
+            } else if (request.getType() == OperationType.TRANSFER && destination == null) {
+                error = request.getDestinationAccountNumber() == null
+                        ? "Destination account required for transfers"
+                        : "Destination account not found";
+            } else if (destination != null && source.getId().equals(destination.getId())) {
+                error = "Cannot transfer to the same account";
+            }
+            if (error != null) {
+                errors.add("Operation " + (offset + i) + ": " + error);
+                continue;
+            }
+
+            // Tallied as it goes, so later operations of the batch count the earlier ones
+            Money amount = Money.of(request.getAmount());
+            VelocityDecision velocity = velocityLimiter.assessBatchRow(velocityTally, source.getId(),
+                    request.getType(), amount);
+            if (velocity == VelocityDecision.REJECT) {
+                errors.add("Operation " + (offset + i) + ": Too much moved out of this account, try again later");
+                continue;
+            }
+            OperationStatus status = velocity == VelocityDecision.REVIEW
+                    ? OperationStatus.PENDING
+                    : transactionValidator.validate(request.getType(), amount, source, destination);
+
+            operations.add(Operation.builder()
+                    .type(request.getType())
+                    .amount(amount)
+                    .status(status)
+                    .accountSource(source)
+                    .accountDestination(destination)
+                    .build());
+        }
+        rejectIfAny(errors);
+
+        accountLockManager.lockInOrder(accountsToLock(operations));
+
+        // Same checks as createOperation, against balances carried forward through the batch
+        Map<Long, Money> balances = new HashMap<>();
+        Map<Long, Money> credited = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            Account source = operation.getAccountSource();
+            Money balance = balances.computeIfAbsent(source.getId(),
+                    id -> accountService.getBalance(source).plus(credited.getOrDefault(id, Money.ZERO)));
+
+            if (operation.getType() != OperationType.DEPOSIT && balance.isLessThan(operation.getAmount())) {
+                errors.add("Operation " + (offset + i) + ": Insufficient balance");
+                continue;
+            }
+            if (operation.getStatus() != OperationStatus.EXECUTED) {
+                continue;
+            }
+
+            Money signed = operation.getType() == OperationType.DEPOSIT
+                    ? operation.getAmount()
+                    : operation.getAmount().negate();
+            balances.put(source.getId(), balance.plus(signed));
+            Account destination = operation.getAccountDestination();
+            if (destination != null) {
+                Map<Long, Money> target = balances.containsKey(destination.getId()) ? balances : credited;
+                target.merge(destination.getId(), operation.getAmount(), Money::plus);
+            }
+        }
+        rejectIfAny(errors);
+
+        List<OperationResponse> responses = new ArrayList<>(operations.size());
+        List<Long> pending = new ArrayList<>();
+        for (Operation operation : operations) {
+            if (operation.getStatus() == OperationStatus.EXECUTED) {
+                applyOperation(operation);
+            } else {
+                operationRepository.save(operation);
+                outboxWriter.operationChanged(OutboxEventType.OPERATION_SUBMITTED, operation);
+                pending.add(operation.getId());
+            }
+            recordVelocity(operation);
+            // Operations created here cannot have a document yet
+            responses.add(mapToResponse(operation, false));
+        }
+        if (!pending.isEmpty()) {
+            eventPublisher.publishEvent(ReviewQueueChange.upsert(pending));
+        }
+        return responses;
+    }
+
+    private Account[] accountsToLock(List<Operation> operations) {
         return operations.stream()
-                .filter(op -> !(op.getStatus() == OperationStatus.PENDING &&
-                        op.getAccountDestination() != null &&
-                        op.getAccountDestination().getId().equals(account.getId())))
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .filter(operation -> operation.getStatus() == OperationStatus.EXECUTED)
+                .flatMap(this::accountsToLock)
+                .toArray(Account[]::new);
+    }
+
+    // Only accounts whose row gets rewritten need serialising: credits are plain inserts in
+    // ledger mode, and credits to a hot account go to one of its balance slots instead
+    private Stream<Account> accountsToLock(Operation operation) {
+        boolean deposit = operation.getType() == OperationType.DEPOSIT;
+        Account debited = deposit ? null : operation.getAccountSource();
+        Account credited = deposit ? operation.getAccountSource() : operation.getAccountDestination();
+
+        if (ledgerService.isLedgerMode() || (credited != null && credited.hasBalanceSlots())) {
+            return Stream.ofNullable(debited);
+        }
+        return Stream.of(debited, credited).filter(Objects::nonNull);
+    }
+
+    private void rejectIfAny(List<String> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        String message = errors.stream().limit(20).collect(Collectors.joining("; "));
+        if (errors.size() > 20) {
+            message += "; and " + (errors.size() - 20) + " more";
+        }
+        throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * One page of the user's history, newest first, read with keyset queries of at most
+     * {@code limit + 1} rows so the cost depends on the page size and not on how long the account
+     * has been open. From the tables, sent and received operations are two queries merged here;
+     * from the view, they are one range of its history index.
+     */
+    @Transactional(readOnly = true)
+    public OperationPage getOperationsByUser(User user, OperationHistoryFilter filter) {
+        Account account = accountService.getAccountByOwner(user);
+        int limit = historyLimit(filter.getLimit());
+        OperationCursor cursor = OperationCursor.decode(filter.getCursor());
+
+        List<OperationResponse> operations;
+        if (readsFromView()) {
+            Specification<OperationView> page = OperationViewSpecifications.historyOf(account.getId())
+                    .and(OperationViewSpecifications.matching(filter))
+                    .and(OperationViewSpecifications.before(cursor));
+            operations = operationViewRepository.findBy(page,
+                            query -> query.sortBy(OperationViewSpecifications.NEWEST_FIRST).limit(limit + 1).all())
+                    .stream()
+                    .map(OperationService::mapToResponse)
+                    .toList();
+        } else {
+            Specification<Operation> page = OperationSpecifications.matching(filter)
+                    .and(OperationSpecifications.before(cursor));
+            operations = Stream.of(OperationSpecifications.sentFrom(account),
+                            OperationSpecifications.receivedBy(account))
+                    .flatMap(side -> operationRepository.findResponses(page.and(side),
+                            OperationSpecifications.NEWEST_FIRST, limit + 1).stream())
+                    .sorted(Comparator.comparing(OperationResponse::getCreatedAt)
+                            .thenComparing(OperationResponse::getId).reversed())
+                    .limit(limit + 1)
+                    .toList();
+        }
+
+        boolean hasMore = operations.size() > limit;
+        List<OperationResponse> shown = hasMore ? operations.subList(0, limit) : operations;
+        String nextCursor = hasMore ? OperationCursor.of(shown.get(limit - 1)).encode() : null;
+        return new OperationPage(shown, nextCursor);
+    }
+
+    private boolean readsFromView() {
+        return "view".equals(readModel);
+    }
+
+    private int historyLimit(Integer requested) {
+        if (requested == null) {
+            return historyPageSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(requested, historyMaxPageSize);
     }
 
     public List<OperationResponse> getPendingOperations() {
-        List<Operation> operations = operationRepository.findByStatus(OperationStatus.PENDING);
-        return operations.stream().map(this::mapToResponse).collect(Collectors.toList());
+        if (readsFromView()) {
+            return operationViewRepository.findAll(OperationViewSpecifications.pending(),
+                            OperationViewSpecifications.OLDEST_FIRST).stream()
+                    .map(OperationService::mapToResponse)
+                    .toList();
+        }
+        return operationRepository.findResponses(OperationSpecifications.hasStatus(OperationStatus.PENDING),
+                OperationSpecifications.OLDEST_FIRST);
     }
 
+    /**
+     * Fails if another agent holds a live review lease on the operation.
+     */
     @Transactional
-    public OperationResponse approveOperation(Long operationId) {
-        Operation operation = operationRepository.findById(operationId)
+    public OperationResponse approveOperation(Long operationId, User agent) {
+        long start = System.nanoTime();
+        Operation operation = operationRepository.lockByIdIn(List.of(operationId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Operation not found"));
 
-        if (operation.getStatus() != OperationStatus.PENDING) {
-            throw new RuntimeException("Only pending operations can be approved");
-        }
+        boolean approved = false;
+        try {
+            if (operation.getStatus() != OperationStatus.PENDING) {
+                throw new RuntimeException("Only pending operations can be approved");
+            }
+            reviewClaimService.checkClaim(operation, agent);
 
-        operation.setStatus(OperationStatus.EXECUTED);
-        operation.setValidatedAt(LocalDateTime.now());
+            operation.setStatus(OperationStatus.EXECUTED);
+            operation.setValidatedAt(LocalDateTime.now());
 
-        executeOperation(operation);
+            executeOperation(operation);
+            eventPublisher.publishEvent(ReviewQueueChange.remove(operationId));
 
-        return mapToResponse(operation);
+            approved = true;
+            return mapToResponse(operation);
+        } finally {
+            operationMetrics.recordApproval(operation.getType(), start, approved);
+        }
     }
 
+    /**
+     * Fails if another agent holds a live review lease on the operation.
+     */
     @Transactional
-    public OperationResponse rejectOperation(Long operationId) {
-        Operation operation = operationRepository.findById(operationId)
+    public OperationResponse rejectOperation(Long operationId, User agent) {
+        Operation operation = operationRepository.lockByIdIn(List.of(operationId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Operation not found"));
 
         if (operation.getStatus() != OperationStatus.PENDING) {
             throw new RuntimeException("Only pending operations can be rejected");
         }
+        reviewClaimService.checkClaim(operation, agent);
 
         operation.setStatus(OperationStatus.CANCELLED);
         operation.setValidatedAt(LocalDateTime.now());
         operationRepository.save(operation);
+        outboxWriter.operationChanged(OutboxEventType.OPERATION_REJECTED, operation);
+        eventPublisher.publishEvent(ReviewQueueChange.remove(operationId));
 
         return mapToResponse(operation);
     }
 
+    /**
+     * Decides many operations in one call, reporting an outcome per id instead of failing the
+     * whole request. Each chunk checks its transitions against one query, takes its account locks
+     * in a single ordered pass and commits as one transaction.
+     */
+    public List<OperationDecisionResult> approveOperations(List<Long> operationIds, User agent) {
+        return decideOperations(operationIds, agent, true);
+    }
+
+    public List<OperationDecisionResult> rejectOperations(List<Long> operationIds, User agent) {
+        return decideOperations(operationIds, agent, false);
+    }
+
+    private List<OperationDecisionResult> decideOperations(List<Long> operationIds, User agent, boolean approve) {
+        List<Long> ids = operationIds.stream().distinct().toList();
+        if (ids.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + batchMaxSize + " operations");
+        }
+
+        int chunkSize = batchChunkSize > 0 ? batchChunkSize : ids.size();
+        List<OperationDecisionResult> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            results.addAll(transactionTemplate.execute(status -> decideChunk(chunk, agent, approve)));
+        }
+        return results;
+    }
+
+    private List<OperationDecisionResult> decideChunk(List<Long> ids, User agent, boolean approve) {
+        // Nothing can decide or claim these until commit, so the checks below stay true
+        operationRepository.lockByIdIn(ids);
+        Map<Long, Operation> operations = operationRepository.findWithAccountsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Operation::getId, Function.identity()));
+
+        Map<Long, String> refused = new HashMap<>();
+        List<Operation> decided = new ArrayList<>();
+        for (Long id : ids) {
+            Operation operation = operations.get(id);
+            if (operation == null) {
+                refused.put(id, "Operation not found");
+            } else if (operation.getStatus() != OperationStatus.PENDING) {
+                refused.put(id, "Only pending operations can be " + (approve ? "approved" : "rejected"));
+            } else if (reviewClaimService.isClaimedByOther(operation, agent)) {
+                refused.put(id, "Operation is claimed by another agent");
+            } else {
+                operation.setStatus(approve ? OperationStatus.EXECUTED : OperationStatus.CANCELLED);
+                decided.add(operation);
+            }
+        }
+        if (approve) {
+            accountLockManager.lockInOrder(accountsToLock(decided));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> removed = new ArrayList<>(decided.size());
+        for (Operation operation : decided) {
+            User claimedBy = operation.getClaimedBy();
+            LocalDateTime claimExpiresAt = operation.getClaimExpiresAt();
+            reviewClaimService.checkClaim(operation, agent);
+            operation.setValidatedAt(now);
+            if (approve) {
+                try {
+                    applyOperation(operation);
+                } catch (IllegalArgumentException e) {
+                    // Refused by the strategy before it moved any money, the operation stays queued
+                    operation.setStatus(OperationStatus.PENDING);
+                    operation.setExecutedAt(null);
+                    operation.setValidatedAt(null);
+                    operation.setClaimedBy(claimedBy);
+                    operation.setClaimExpiresAt(claimExpiresAt);
+                    refused.put(operation.getId(), e.getMessage());
+                    continue;
+                }
+            } else {
+                outboxWriter.operationChanged(OutboxEventType.OPERATION_REJECTED, operation);
+            }
+            removed.add(operation.getId());
+        }
+        if (!removed.isEmpty()) {
+            eventPublisher.publishEvent(ReviewQueueChange.remove(removed));
+        }
+
+        return ids.stream()
+                .map(id -> refused.containsKey(id)
+                        ? new OperationDecisionResult(id, null, refused.get(id))
+                        : new OperationDecisionResult(id, operations.get(id).getStatus(), null))
+                .toList();
+    }
+
     private void executeOperation(Operation operation) {
+        OperationExecutedEvent event = new OperationExecutedEvent();
+        event.begin();
+        // Lock before the operation row is inserted so its foreign keys never hold the accounts first
+        accountLockManager.lockInOrder(accountsToLock(operation).toArray(Account[]::new));
+        applyOperation(operation);
+        completeEvent(event, operation);
+    }
+
+    private static void completeEvent(OperationExecutedEvent event, Operation operation) {
+        event.complete(operation.getId(), operation.getType().name(), operation.getAmount(),
+                operation.getAccountSource().getId());
+    }
+
+    private void executeGroup(List<PartitionedGroupExecutor.Task<PipelinedOperation, OperationResponse>> tasks) {
+        List<Runnable> completions;
+        try {
+            completions = transactionTemplate.execute(status -> applyGroup(tasks));
+        } catch (RuntimeException e) {
+            if (tasks.size() == 1) {
+                tasks.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // The group was rolled back, rerun its operations one by one so only the culprit fails
+            tasks.forEach(task -> executeGroup(List.of(task)));
+            return;
+        }
+        // Callers only hear back once the group has committed
+        completions.forEach(Runnable::run);
+    }
+
+    private List<Runnable> applyGroup(List<PartitionedGroupExecutor.Task<PipelinedOperation, OperationResponse>> tasks) {
+        Set<Long> accountIds = new HashSet<>();
+        tasks.forEach(task -> {
+            accountIds.add(task.payload().sourceAccountId());
+            if (task.payload().destinationAccountId() != null) {
+                accountIds.add(task.payload().destinationAccountId());
+            }
+        });
+        Map<Long, Account> accounts = accountService.getAccountsByIds(accountIds);
+
+        List<Operation> operations = tasks.stream()
+                .map(task -> Operation.builder()
+                        .type(task.payload().type())
+                        .amount(task.payload().amount())
+                        .status(OperationStatus.EXECUTED)
+                        .accountSource(accounts.get(task.payload().sourceAccountId()))
+                        .accountDestination(accounts.get(task.payload().destinationAccountId()))
+                        .build())
+                .toList();
+        // One ordered pass for the whole group instead of one per operation
+        accountLockManager.lockInOrder(accountsToLock(operations));
+
+        List<Runnable> completions = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            CompletableFuture<OperationResponse> result = tasks.get(i).result();
+            Operation operation = operations.get(i);
+            // The group's locks were taken above, so the event only covers this operation's changes
+            OperationExecutedEvent event = new OperationExecutedEvent();
+            event.begin();
+            try {
+                applyOperation(operation);
+                completeEvent(event, operation);
+            } catch (IllegalArgumentException e) {
+                // Rejected by the strategy before it changed anything
+                completions.add(() -> result.completeExceptionally(e));
+                continue;
+            }
+
+            String idempotencyKey = tasks.get(i).payload().idempotencyKey();
+            if (idempotencyKey != null) {
+                idempotencyKeyRepository.save(IdempotencyKey.builder()
+                        .user(tasks.get(i).payload().user())
+                        .key(idempotencyKey)
+                        .operation(operation)
+                        .build());
+            }
+            OperationResponse response = mapToResponse(operation, false);
+            completions.add(() -> result.complete(response));
+        }
+        return completions;
+    }
+
+    private void applyOperation(Operation operation) {
         operation.setExecutedAt(LocalDateTime.now());
 
         OperationStrategy strategy = operationFactory.getStrategy(operation.getType());
         strategy.process(operation.getAmount(), operation.getAccountSource(), operation.getAccountDestination());
 
         operationRepository.save(operation);
+        ledgerService.record(operation);
+        // Side effects subscribe to the outbox instead of running here
+        outboxWriter.operationExecuted(operation);
     }
 
-    private OperationResponse mapToResponse(Operation operation) {
-        boolean hasDocument = documentRepository.findByOperationId(operation.getId()).isPresent();
+    private static OperationResponse mapToResponse(OperationView view) {
+        return OperationResponse.builder()
+                .id(view.getOperationId())
+                .type(view.getType())
+                .amount(view.getAmount())
+                .status(view.getStatus())
+                .createdAt(view.getCreatedAt())
+                .validatedAt(view.getValidatedAt())
+                .executedAt(view.getExecutedAt())
+                .sourceAccountNumber(view.getSourceAccountNumber())
+                .destinationAccountNumber(view.getDestinationAccountNumber())
+                .hasDocument(view.isHasDocument())
+                .aiAnalysis(view.getAiAnalysis())
+                .build();
+    }
+
+    OperationResponse mapToResponse(Operation operation) {
+        return mapToResponse(operation, documentRepository.existsByOperationId(operation.getId()));
+    }
 
+    private OperationResponse mapToResponse(Operation operation, boolean hasDocument) {
         return OperationResponse.builder()
                 .id(operation.getId())
                 .type(operation.getType())
@@ -144,7 +787,7 @@ public class OperationService {
                 .destinationAccountNumber(
                         operation.getAccountDestination() != null ? operation.getAccountDestination().getAccountNumber()
                                 : null)
-                .hasDocument(documentRepository.existsByOperationId(operation.getId()))
+                .hasDocument(hasDocument)
                 .aiAnalysis(operation.getAiAnalysis())
                 .build();
     }
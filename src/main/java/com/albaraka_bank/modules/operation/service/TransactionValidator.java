@@ -1,24 +1,56 @@
 package com.albaraka_bank.modules.operation.service;
 
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.model.AccountTier;
 import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.rules.DecisionTable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
 
+/**
+ * Decides whether an operation runs straight away or waits for an agent, from the rules the
+ * ValidationRuleLoader compiles. Until rules are loaded, anything above
+ * {@code app.validation.default-threshold} waits.
+ */
 @Service
 public class TransactionValidator {
 
-    private static final BigDecimal THRESHOLD = new BigDecimal("10000");
+    private final BigDecimal defaultThreshold;
+    private volatile DecisionTable table;
 
-    public OperationStatus validate(BigDecimal amount) {
-        if (amount.compareTo(THRESHOLD) <= 0) {
-            return OperationStatus.EXECUTED;
+    public TransactionValidator(@Value("${app.validation.default-threshold:10000}") BigDecimal defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+        this.table = DecisionTable.compile(List.of(), defaultThreshold);
+    }
+
+    public OperationStatus validate(OperationType type, Money amount, Account source, Account destination) {
+        DecisionTable current = table;
+        AccountTier tier = source.getTier() != null ? source.getTier() : AccountTier.STANDARD;
+        String destinationNumber = destination != null ? destination.getAccountNumber() : null;
+        int minuteOfDay = 0;
+        if (current.isTimeDependent()) {
+            LocalTime now = LocalTime.now();
+            minuteOfDay = now.getHour() * 60 + now.getMinute();
         }
-        return OperationStatus.PENDING;
+        return current.decide(type, tier, destinationNumber, amount, minuteOfDay);
     }
 
-    public boolean requiresManualReview(BigDecimal amount) {
-        return amount.compareTo(THRESHOLD) > 0;
+    /** Replaces the rules in one write; operations being validated finish on the table they read. */
+    public void install(DecisionTable table) {
+        this.table = table;
     }
-}
 
+    public BigDecimal getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    public DecisionTable getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,111 @@
+package com.albaraka_bank.modules.operation.service.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Fixed set of single-threaded workers, each with its own bounded queue. Tasks are routed
+ * by key, so every task for a given key runs on the same worker in submission order.
+ * A worker drains whatever has queued up, up to the group size, and hands the whole group
+ * to the handler in one call. The handler is responsible for completing the futures; any
+ * it leaves open when it throws are failed with that exception.
+ */
+@Slf4j
+public class PartitionedGroupExecutor<T, R> implements AutoCloseable {
+
+    public record Task<T, R>(T payload, CompletableFuture<R> result) {
+    }
+
+    private static final long POLL_MILLIS = 100;
+
+    private final List<BlockingQueue<Task<T, R>>> queues;
+    private final List<Thread> workers;
+    private final int maxGroupSize;
+    private final Consumer<List<Task<T, R>>> groupHandler;
+    private volatile boolean running = true;
+
+    public PartitionedGroupExecutor(String name, int partitions, int queueCapacity, int maxGroupSize,
+            Consumer<List<Task<T, R>>> groupHandler) {
+        this.maxGroupSize = maxGroupSize;
+        this.groupHandler = groupHandler;
+        this.queues = new ArrayList<>(partitions);
+        this.workers = new ArrayList<>(partitions);
+
+        for (int i = 0; i < partitions; i++) {
+            BlockingQueue<Task<T, R>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread worker = new Thread(() -> run(queue), name + "-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+    }
+
+    public CompletableFuture<R> submit(long key, T payload) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Executor is shut down"));
+        }
+        Task<T, R> task = new Task<>(payload, new CompletableFuture<>());
+        BlockingQueue<Task<T, R>> queue = queues.get((int) Math.floorMod(key, (long) queues.size()));
+        if (!queue.offer(task)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Too many operations queued, retry later"));
+        }
+        // Closed meanwhile: the worker may have drained its queue for the last time already. Whoever
+        // takes the task out of the queue, it or us, completes it.
+        if (!running && queue.remove(task)) {
+            task.result().completeExceptionally(new IllegalStateException("Executor is shut down"));
+        }
+        return task.result();
+    }
+
+    private void run(BlockingQueue<Task<T, R>> queue) {
+        List<Task<T, R>> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Task<T, R> first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, maxGroupSize - 1);
+                groupHandler.accept(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Group of {} tasks failed", group.size(), e);
+                group.forEach(task -> task.result().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+
+        Task<T, R> left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Executor is shut down"));
+        }
+    }
+
+    /**
+     * Stops accepting tasks and lets the workers finish what is already queued.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.dto.ReviewClaimResponse;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.repository.OperationSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Review leases: an agent claims the next pending operations and works on them alone until the
+ * lease expires. Claims lock candidate rows with {@code FOR UPDATE SKIP LOCKED}, so agents
+ * claiming at the same time each get different operations without waiting on one another.
+ */
+@Service
+public class ReviewClaimService {
+
+    private final OperationRepository operationRepository;
+    private final Duration lease;
+    private final int maxClaim;
+
+    public ReviewClaimService(OperationRepository operationRepository,
+            @Value("${app.review-queue.claims.lease:PT5M}") Duration lease,
+            @Value("${app.review-queue.claims.max-claim:50}") int maxClaim) {
+        this.operationRepository = operationRepository;
+        this.lease = lease;
+        this.maxClaim = maxClaim;
+    }
+
+    @Transactional
+    public ReviewClaimResponse claim(User agent, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(lease);
+
+        List<Operation> operations = operationRepository.lockClaimable(now, Math.min(limit, maxClaim));
+        for (Operation operation : operations) {
+            operation.setClaimedBy(agent);
+            operation.setClaimExpiresAt(expiresAt);
+        }
+        return new ReviewClaimResponse(expiresAt, held(agent, now));
+    }
+
+    /** Extends every lease the agent still holds; expired ones may already belong to someone else. */
+    @Transactional
+    public ReviewClaimResponse heartbeat(User agent) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(lease);
+        operationRepository.renewClaims(agent, now, expiresAt);
+        return new ReviewClaimResponse(expiresAt, held(agent, now));
+    }
+
+    @Transactional
+    public void release(Long operationId, User agent) {
+        if (operationRepository.releaseClaim(operationId, agent) == 0) {
+            throw new IllegalArgumentException("Operation is not claimed by you");
+        }
+    }
+
+    /**
+     * Rejects a decision on an operation someone else holds a live lease on. Unclaimed operations
+     * can still be decided directly; the version check stops a claim racing with the decision.
+     */
+    public void checkClaim(Operation operation, User agent) {
+        if (isClaimedByOther(operation, agent)) {
+            throw new IllegalStateException("Operation is claimed by another agent until "
+                    + operation.getClaimExpiresAt());
+        }
+        operation.setClaimedBy(null);
+        operation.setClaimExpiresAt(null);
+    }
+
+    public boolean isClaimedByOther(Operation operation, User agent) {
+        User holder = operation.getClaimedBy();
+        return holder != null && operation.getClaimExpiresAt().isAfter(LocalDateTime.now())
+                && !holder.getId().equals(agent.getId());
+    }
+
+    private List<OperationResponse> held(User agent, LocalDateTime now) {
+        return operationRepository.findResponses(OperationSpecifications.claimedBy(agent, now),
+                        OperationSpecifications.OLDEST_FIRST)
+                .stream()
+                .sorted(ReviewPriority.COMPARATOR)
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import com.albaraka_bank.modules.ai.model.AiDecision;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+
+import java.util.Comparator;
+
+/**
+ * Order in which pending operations are shown to agents: largest amount first, then what the
+ * AI made of the document (rejections first, approvals last), then oldest first.
+ */
+public final class ReviewPriority {
+
+    public static final Comparator<OperationResponse> COMPARATOR = Comparator
+            .comparing(OperationResponse::getAmount, Comparator.reverseOrder())
+            .thenComparingInt(ReviewPriority::decisionRank)
+            .thenComparing(OperationResponse::getCreatedAt)
+            .thenComparing(OperationResponse::getId);
+
+    private ReviewPriority() {
+    }
+
+    // The analysis is stored as "DECISION: reasoning"
+    static int decisionRank(OperationResponse operation) {
+        String analysis = operation.getAiAnalysis();
+        if (analysis == null) {
+            return 2;
+        }
+        if (analysis.startsWith(AiDecision.REJECT.name())) {
+            return 0;
+        }
+        if (analysis.startsWith(AiDecision.NEED_HUMAN_REVIEW.name())) {
+            return 1;
+        }
+        if (analysis.startsWith(AiDecision.APPROVE.name())) {
+            return 3;
+        }
+        // Failed analyses need a human as much as a missing one
+        return 2;
+    }
+}
@@ -0,0 +1,29 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that changed the review queue; subscribers are only told once
+ * it has committed.
+ */
+public record ReviewQueueChange(Kind kind, List<Long> operationIds) {
+
+    public enum Kind {
+        /** Operations that became pending or whose AI analysis completed. */
+        UPSERT,
+        /** Operations that were approved or rejected. */
+        REMOVE
+    }
+
+    public static ReviewQueueChange upsert(List<Long> operationIds) {
+        return new ReviewQueueChange(Kind.UPSERT, operationIds);
+    }
+
+    public static ReviewQueueChange remove(Long operationId) {
+        return remove(List.of(operationId));
+    }
+
+    public static ReviewQueueChange remove(List<Long> operationIds) {
+        return new ReviewQueueChange(Kind.REMOVE, operationIds);
+    }
+}
@@ -0,0 +1,212 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.repository.OperationSpecifications;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the agent review queue over Server-Sent Events. A new subscriber gets a {@code snapshot}
+ * of every pending operation in {@link ReviewPriority} order, then {@code upsert} and
+ * {@code remove} events as changes commit. Changes are read on one thread, in the order they
+ * committed, and queued to every subscriber, so a snapshot is never overtaken by an older change.
+ * Each subscriber has its own bounded queue, written out by a small pool: a slow client only
+ * delays itself, and one that lets {@code app.review-queue.send-buffer} events pile up is
+ * dropped, to reconnect for a fresh snapshot.
+ */
+@Service
+@Slf4j
+public class ReviewQueueService {
+
+    private final OperationRepository operationRepository;
+    private final long emitterTimeoutMillis;
+    private final int sendBuffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "review-queue-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    public ReviewQueueService(OperationRepository operationRepository,
+            @Value("${app.review-queue.emitter-timeout:PT30M}") Duration emitterTimeout,
+            @Value("${app.review-queue.send-buffer:100}") int sendBuffer,
+            @Value("${app.review-queue.sender-threads:4}") int senderThreads) {
+        this.operationRepository = operationRepository;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.sendBuffer = sendBuffer;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "review-queue-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(emitterTimeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Registered before the snapshot is read, so no change can fall between the two
+        subscribers.add(subscriber);
+        submit(() -> subscriber.offer(SseEmitter.event().name("snapshot").data(operationRepository.findResponses(
+                OperationSpecifications.hasStatus(OperationStatus.PENDING), OperationSpecifications.OLDEST_FIRST)
+                .stream()
+                .sorted(ReviewPriority.COMPARATOR)
+                .toList())));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Without a transaction (AI analysis updates) the change is already committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ReviewQueueChange change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        submit(() -> {
+            if (change.kind() == ReviewQueueChange.Kind.REMOVE) {
+                broadcast("remove", change.operationIds());
+                return;
+            }
+            // Anything approved in the meantime is left out, its remove event follows
+            List<OperationResponse> operations = operationRepository.findResponses(
+                    OperationSpecifications.hasStatus(OperationStatus.PENDING)
+                            .and(OperationSpecifications.hasIdIn(change.operationIds())),
+                    OperationSpecifications.OLDEST_FIRST)
+                    .stream()
+                    .sorted(ReviewPriority.COMPARATOR)
+                    .toList();
+            if (!operations.isEmpty()) {
+                broadcast("upsert", operations);
+            }
+        });
+    }
+
+    /** Keeps idle connections open through proxies and notices clients that went away. */
+    @Scheduled(fixedDelayString = "${app.review-queue.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        reader.shutdownNow();
+        senders.shutdownNow();
+        disconnectAll();
+    }
+
+    void disconnectAll() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void broadcast(String name, Object data) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().name(name).data(data));
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            reader.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("Review queue update failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /** One connection: its events are sent in order, by at most one sender at a time. */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(sendBuffer);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                drop(new IllegalStateException("Review queue subscriber fell " + sendBuffer + " events behind"));
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::sendPending);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                scheduled.set(false);
+            }
+        }
+
+        private void sendPending() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // An event offered after the last poll, but before the flag was cleared
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void drop(Exception cause) {
+            if (subscribers.remove(this)) {
+                log.debug("Dropping review queue subscriber: {}", cause.getMessage());
+                pending.clear();
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.albaraka_bank.modules.operation.service.rules;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validation rules compiled for lookup: one candidate array per (operation type, account tier)
+ * cell and one per destination account, each sorted so the first rule that matches decides.
+ * Immutable, and evaluating it allocates nothing, so it can be swapped in with a single write
+ * and read on every operation without locking.
+ *
+ * <p>Destination rules come first, then rules with a time window, then by tier, then by type;
+ * among equally specific rules the lowest threshold wins. Nothing matching falls back to the
+ * default threshold.
+ */
+public final class DecisionTable {
+
+    private static final OperationType[] TYPES = OperationType.values();
+    private static final AccountTier[] TIERS = AccountTier.values();
+
+    private static final Comparator<CompiledRule> PRECEDENCE = Comparator
+            .comparingInt((CompiledRule rule) -> rule.precedence).reversed()
+            .thenComparing(rule -> rule.threshold);
+
+    private final Money defaultThreshold;
+    private final CompiledRule[][] cells;
+    private final Map<String, CompiledRule[]> byDestination;
+    private final boolean timeDependent;
+    private final int size;
+
+    private DecisionTable(Money defaultThreshold, CompiledRule[][] cells,
+            Map<String, CompiledRule[]> byDestination, boolean timeDependent, int size) {
+        this.defaultThreshold = defaultThreshold;
+        this.cells = cells;
+        this.byDestination = byDestination;
+        this.timeDependent = timeDependent;
+        this.size = size;
+    }
+
+    public static DecisionTable compile(List<ValidationRule> rules, BigDecimal defaultThreshold) {
+        List<CompiledRule> general = new ArrayList<>();
+        Map<String, List<CompiledRule>> destinations = new HashMap<>();
+        boolean timeDependent = false;
+        for (ValidationRule rule : rules) {
+            CompiledRule compiled = new CompiledRule(rule);
+            timeDependent |= compiled.windowStart >= 0;
+            if (rule.getDestinationAccountNumber() != null) {
+                destinations.computeIfAbsent(rule.getDestinationAccountNumber(), key -> new ArrayList<>()).add(compiled);
+            } else {
+                general.add(compiled);
+            }
+        }
+
+        CompiledRule[][] cells = new CompiledRule[TYPES.length * TIERS.length][];
+        for (OperationType type : TYPES) {
+            for (AccountTier tier : TIERS) {
+                cells[cell(type, tier)] = general.stream()
+                        .filter(rule -> rule.covers(type, tier))
+                        .sorted(PRECEDENCE)
+                        .toArray(CompiledRule[]::new);
+            }
+        }
+        // Never modified once built; a HashMap and not Map.copyOf, whose linear probing measured
+        // several times slower on hits with a thousand destinations
+        Map<String, CompiledRule[]> byDestination = new HashMap<>();
+        destinations.forEach((destination, candidates) -> byDestination.put(destination,
+                candidates.stream().sorted(PRECEDENCE).toArray(CompiledRule[]::new)));
+
+        return new DecisionTable(Money.of(defaultThreshold), cells, byDestination, timeDependent, rules.size());
+    }
+
+    /**
+     * @param destination destination account number, null when there is none
+     * @param minuteOfDay local minute of the day, only read when {@link #isTimeDependent()}
+     */
+    public Money thresholdFor(OperationType type, AccountTier tier, String destination, int minuteOfDay) {
+        if (destination != null && !byDestination.isEmpty()) {
+            CompiledRule[] candidates = byDestination.get(destination);
+            if (candidates != null) {
+                CompiledRule rule = firstMatch(candidates, type, tier, minuteOfDay);
+                if (rule != null) {
+                    return rule.threshold;
+                }
+            }
+        }
+        CompiledRule rule = firstMatch(cells[cell(type, tier)], type, tier, minuteOfDay);
+        return rule != null ? rule.threshold : defaultThreshold;
+    }
+
+    public OperationStatus decide(OperationType type, AccountTier tier, String destination, Money amount,
+            int minuteOfDay) {
+        return amount.compareTo(thresholdFor(type, tier, destination, minuteOfDay)) <= 0
+                ? OperationStatus.EXECUTED
+                : OperationStatus.PENDING;
+    }
+
+    public Money getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    /** Whether any rule has a time window, i.e. whether callers need to read the clock. */
+    public boolean isTimeDependent() {
+        return timeDependent;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static CompiledRule firstMatch(CompiledRule[] candidates, OperationType type, AccountTier tier,
+            int minuteOfDay) {
+        for (CompiledRule rule : candidates) {
+            if (rule.matches(type, tier, minuteOfDay)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static int cell(OperationType type, AccountTier tier) {
+        return type.ordinal() * TIERS.length + tier.ordinal();
+    }
+
+    private static final class CompiledRule {
+        // -1 matches any
+        final int type;
+        final int tier;
+        final int windowStart;
+        final int windowEnd;
+        final Money threshold;
+        final int precedence;
+
+        CompiledRule(ValidationRule rule) {
+            if ((rule.getWindowStart() == null) != (rule.getWindowEnd() == null)) {
+                throw new IllegalArgumentException("Rule " + rule.getId() + " needs both ends of its time window");
+            }
+            type = rule.getOperationType() != null ? rule.getOperationType().ordinal() : -1;
+            tier = rule.getAccountTier() != null ? rule.getAccountTier().ordinal() : -1;
+            windowStart = minuteOfDay(rule.getWindowStart());
+            windowEnd = minuteOfDay(rule.getWindowEnd());
+            threshold = Money.of(rule.getThreshold());
+            precedence = (windowStart >= 0 ? 4 : 0) + (tier >= 0 ? 2 : 0) + (type >= 0 ? 1 : 0);
+        }
+
+        boolean covers(OperationType operationType, AccountTier accountTier) {
+            return (type < 0 || type == operationType.ordinal()) && (tier < 0 || tier == accountTier.ordinal());
+        }
+
+        boolean matches(OperationType operationType, AccountTier accountTier, int minute) {
+            if (!covers(operationType, accountTier)) {
+                return false;
+            }
+            if (windowStart < 0) {
+                return true;
+            }
+            return windowStart <= windowEnd
+                    ? minute >= windowStart && minute < windowEnd
+                    : minute >= windowStart || minute < windowEnd;
+        }
+
+        private static int minuteOfDay(LocalTime time) {
+            return time != null ? time.getHour() * 60 + time.getMinute() : -1;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.albaraka_bank.modules.operation.service.rules;
+
+import com.albaraka_bank.modules.operation.repository.ValidationRuleRepository;
+import com.albaraka_bank.modules.operation.service.TransactionValidator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles the active validation rules into a {@link DecisionTable} and installs it in the
+ * {@link TransactionValidator}, at startup and then periodically so rule changes made directly
+ * in the database are picked up without a restart.
+ */
+@Component
+@Slf4j
+public class ValidationRuleLoader {
+
+    private final ValidationRuleRepository ruleRepository;
+    private final TransactionValidator transactionValidator;
+
+    public ValidationRuleLoader(ValidationRuleRepository ruleRepository, TransactionValidator transactionValidator) {
+        this.ruleRepository = ruleRepository;
+        this.transactionValidator = transactionValidator;
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    public synchronized DecisionTable reload() {
+        DecisionTable table = DecisionTable.compile(ruleRepository.findByActiveTrue(),
+                transactionValidator.getDefaultThreshold());
+        if (table.size() != transactionValidator.getTable().size()) {
+            log.info("Loaded {} validation rules", table.size());
+        }
+        transactionValidator.install(table);
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${app.validation.reload-interval:PT30S}",
+            initialDelayString = "${app.validation.reload-interval:PT30S}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Keep validating with the last good table
+            log.warn("Validation rules reload failed: {}", e.getMessage());
+        }
+    }
+}
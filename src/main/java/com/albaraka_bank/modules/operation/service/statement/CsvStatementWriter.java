@@ -0,0 +1,59 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+class CsvStatementWriter implements StatementWriter {
+
+    private final BufferedWriter writer;
+
+    CsvStatementWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void header(String accountNumber, String ownerName, LocalDate from, LocalDate to,
+            BigDecimal openingBalance) throws IOException {
+        // Rows only, so the file loads as is; the opening balance is in the PDF and the balance-at API
+        writer.write("date,operation_id,type,status,direction,amount,counterparty");
+        writer.newLine();
+    }
+
+    @Override
+    public void line(StatementLine line) throws IOException {
+        writer.write(line.createdAt().toString());
+        writer.write(',');
+        writer.write(line.id().toString());
+        writer.write(',');
+        writer.write(line.type().name());
+        writer.write(',');
+        writer.write(line.status().name());
+        writer.write(',');
+        writer.write(line.credit() ? "CREDIT" : "DEBIT");
+        writer.write(',');
+        writer.write(line.amount().toPlainString());
+        writer.write(',');
+        writer.write(escape(line.counterparty()));
+        writer.newLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,120 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Lays the statement out one page at a time. Finished page content goes to a PDFBox scratch file
+ * rather than the heap; the file is only assembled into the response on {@link #close()}, which is
+ * why {@link StatementService} caps the number of rows a PDF may hold.
+ */
+class PdfStatementWriter implements StatementWriter {
+
+    private static final float MARGIN = 40;
+    private static final float LINE_HEIGHT = 14;
+    private static final float[] COLUMNS = {MARGIN, 150, 210, 300, 380, 470};
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final OutputStream out;
+    private final PDDocument document;
+    private PDPageContentStream content;
+    private float y;
+    private String title;
+    private String openingLine;
+
+    PdfStatementWriter(OutputStream out) {
+        this.out = out;
+        this.document = new PDDocument(MemoryUsageSetting.setupTempFileOnly());
+    }
+
+    @Override
+    public void header(String accountNumber, String ownerName, LocalDate from, LocalDate to,
+            BigDecimal openingBalance) throws IOException {
+        String period = from == null && to == null ? ""
+                : "  " + (from != null ? from : "...") + " to " + (to != null ? to : "...");
+        title = "Al Baraka Bank - Statement of account " + accountNumber + " (" + ownerName + ")" + period;
+        if (openingBalance != null) {
+            openingLine = "Opening balance on " + from + ": " + openingBalance.toPlainString() + " DH";
+        }
+        newPage();
+    }
+
+    @Override
+    public void line(StatementLine line) throws IOException {
+        if (y < MARGIN) {
+            newPage();
+        }
+        row(line.createdAt().format(DATE), "#" + line.id(), line.type().name(), line.status().name(),
+                (line.credit() ? "+" : "-") + line.amount().toPlainString(),
+                line.counterparty() != null ? line.counterparty() : "");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (content != null) {
+                content.close();
+            }
+            document.save(out);
+        } finally {
+            document.close();
+        }
+    }
+
+    private void newPage() throws IOException {
+        if (content != null) {
+            content.close();
+        }
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        content = new PDPageContentStream(document, page);
+        y = page.getMediaBox().getHeight() - MARGIN;
+
+        content.setFont(PDType1Font.HELVETICA_BOLD, 11);
+        text(MARGIN, title);
+        y -= LINE_HEIGHT * 1.5f;
+        if (openingLine != null) {
+            // First page only
+            content.setFont(PDType1Font.HELVETICA, 10);
+            text(MARGIN, openingLine);
+            y -= LINE_HEIGHT * 1.5f;
+            openingLine = null;
+            content.setFont(PDType1Font.HELVETICA_BOLD, 11);
+        }
+        row("Date", "Operation", "Type", "Status", "Amount (DH)", "Counterparty");
+        content.setFont(PDType1Font.HELVETICA, 9);
+    }
+
+    private void row(String... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            text(COLUMNS[i], cells[i]);
+        }
+        y -= LINE_HEIGHT;
+    }
+
+    private void text(float x, String value) throws IOException {
+        content.beginText();
+        content.newLineAtOffset(x, y);
+        content.showText(printable(value));
+        content.endText();
+    }
+
+    // The standard Type 1 fonts only cover WinAnsi, replace anything else rather than fail mid-export
+    private static String printable(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            sb.append(c >= 0x20 && c < 0x7f || c >= 0xa0 && c <= 0xff ? c : '?');
+        }
+        return sb.toString();
+    }
+}
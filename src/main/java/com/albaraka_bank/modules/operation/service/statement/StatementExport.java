@@ -0,0 +1,21 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * A statement ready to be streamed: nothing is read from the database until the body is written.
+ */
+public record StatementExport(String fileName, StatementFormat format, StreamingResponseBody body) {
+
+    public ResponseEntity<StreamingResponseBody> toResponseEntity() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+}
@@ -0,0 +1,14 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One operation as seen from the statement's account: credits are money in, debits money out.
+ */
+public record StatementLine(Long id, LocalDateTime createdAt, OperationType type, OperationStatus status,
+        boolean credit, BigDecimal amount, String counterparty) {
+}
@@ -0,0 +1,150 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.ledger.service.BalanceHistoryService;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streams account statements straight from a forward-only JDBC cursor into the response. Rows are
+ * fetched {@code app.statements.fetch-size} at a time and written as they arrive, so memory use does
+ * not depend on the length of the history. A PDF is only sent once complete, so PDF statements are
+ * refused beyond {@code app.statements.pdf-max-rows} operations; CSV has no limit.
+ */
+@Service
+public class StatementService {
+
+    // Both sides of the history, each walking its (account, created_at, id) index
+    private static final String STATEMENT_SQL = """
+            SELECT o.id, o.created_at, o.type, o.status, o.amount,
+                   o.source_account_id, s.account_number AS source_number, d.account_number AS destination_number
+            FROM operations o
+            JOIN accounts s ON s.id = o.source_account_id
+            LEFT JOIN accounts d ON d.id = o.destination_account_id
+            WHERE o.source_account_id = ? AND o.created_at >= ? AND o.created_at < ?
+            UNION ALL
+            SELECT o.id, o.created_at, o.type, o.status, o.amount,
+                   o.source_account_id, s.account_number, d.account_number
+            FROM operations o
+            JOIN accounts s ON s.id = o.source_account_id
+            JOIN accounts d ON d.id = o.destination_account_id
+            WHERE o.destination_account_id = ? AND o.source_account_id <> ? AND o.status <> 'PENDING'
+              AND o.created_at >= ? AND o.created_at < ?
+            ORDER BY created_at, id
+            """;
+
+    // The same two sides, each stopping after the limit so a long history costs no more to count
+    private static final String COUNT_SQL = """
+            SELECT (SELECT COUNT(*) FROM (
+                        SELECT 1 FROM operations o
+                        WHERE o.source_account_id = ? AND o.created_at >= ? AND o.created_at < ?
+                        LIMIT ?) s)
+                 + (SELECT COUNT(*) FROM (
+                        SELECT 1 FROM operations o
+                        WHERE o.destination_account_id = ? AND o.source_account_id <> ? AND o.status <> 'PENDING'
+                          AND o.created_at >= ? AND o.created_at < ?
+                        LIMIT ?) d)
+            """;
+
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BalanceHistoryService balanceHistoryService;
+    private final int pdfMaxRows;
+
+    public StatementService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            BalanceHistoryService balanceHistoryService,
+            @Value("${app.statements.fetch-size:500}") int fetchSize,
+            @Value("${app.statements.pdf-max-rows:2000}") int pdfMaxRows) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.balanceHistoryService = balanceHistoryService;
+        this.pdfMaxRows = pdfMaxRows;
+    }
+
+    /**
+     * Resolves everything needed from the account now; rows are only read when the body is written.
+     * {@code from} and {@code to} are inclusive days, either may be null.
+     */
+    public StatementExport export(Account account, StatementFormat format, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Long accountId = account.getId();
+        if (format == StatementFormat.PDF && countRows(accountId, from, to, pdfMaxRows + 1) > pdfMaxRows) {
+            throw new IllegalArgumentException("PDF statements are limited to " + pdfMaxRows
+                    + " operations, choose a shorter date range or export CSV");
+        }
+        String accountNumber = account.getAccountNumber();
+        String ownerName = account.getOwner().getFullName();
+        String fileName = "statement-" + accountNumber + "." + format.getExtension();
+        BigDecimal openingBalance = from != null ? balanceHistoryService.openingBalance(account, from) : null;
+
+        return new StatementExport(fileName, format, out -> write(accountId, accountNumber, ownerName,
+                openingBalance, format, from, to, out));
+    }
+
+    private long countRows(Long accountId, LocalDate from, LocalDate to, int limit) {
+        Timestamp start = start(from);
+        Timestamp end = end(to);
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class,
+                accountId, start, end, limit, accountId, accountId, start, end, limit);
+        return count != null ? count : 0;
+    }
+
+    void write(Long accountId, String accountNumber, String ownerName, BigDecimal openingBalance,
+            StatementFormat format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        Timestamp start = start(from);
+        Timestamp end = end(to);
+
+        try (StatementWriter writer = format == StatementFormat.PDF
+                ? new PdfStatementWriter(out) : new CsvStatementWriter(out)) {
+            writer.header(accountNumber, ownerName, from, to, openingBalance);
+            // PostgreSQL only honours the fetch size inside a transaction
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(STATEMENT_SQL, rs -> {
+                boolean outgoing = rs.getLong("source_account_id") == accountId;
+                OperationType type = OperationType.valueOf(rs.getString("type"));
+                try {
+                    writer.line(new StatementLine(
+                            rs.getLong("id"),
+                            rs.getTimestamp("created_at").toLocalDateTime(),
+                            type,
+                            OperationStatus.valueOf(rs.getString("status")),
+                            !outgoing || type == OperationType.DEPOSIT,
+                            rs.getBigDecimal("amount"),
+                            outgoing ? rs.getString("destination_number") : rs.getString("source_number")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, accountId, start, end, accountId, accountId, start, end));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Timestamp start(LocalDate from) {
+        return Timestamp.valueOf(from != null ? from.atStartOfDay() : MIN_DATE);
+    }
+
+    private static Timestamp end(LocalDate to) {
+        return Timestamp.valueOf(to != null ? to.plusDays(1).atStartOfDay() : MAX_DATE);
+    }
+}
@@ -0,0 +1,21 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Writes a statement line by line; implementations must not keep lines once written.
+ */
+interface StatementWriter extends AutoCloseable {
+
+    /** {@code openingBalance} is the balance at the start of {@code from}, null without a start date. */
+    void header(String accountNumber, String ownerName, LocalDate from, LocalDate to, BigDecimal openingBalance)
+            throws IOException;
+
+    void line(StatementLine line) throws IOException;
+
+    /** Writes whatever is still buffered; the caller owns the output stream. */
+    @Override
+    void close() throws IOException;
+}
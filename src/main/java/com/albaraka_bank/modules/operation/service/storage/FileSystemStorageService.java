@@ -1,5 +1,9 @@
 package com.albaraka_bank.modules.operation.service.storage;
 
+import com.albaraka_bank.common.jfr.DocumentStoredEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -9,13 +13,22 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+/** Stored file sizes are summarised as {@code bank.storage.stored}, whose total is the bytes written. */
 @Service
 public class FileSystemStorageService implements StoragePort {
 
     private final Path rootLocation;
+    private final DistributionSummary storedBytes;
+    private final Timer storeTimer;
 
-    public FileSystemStorageService(@Value("${app.storage.location:uploads}") String storageLocation) {
+    public FileSystemStorageService(@Value("${app.storage.location:uploads}") String storageLocation,
+            MeterRegistry meterRegistry) {
+        this.storedBytes = DistributionSummary.builder("bank.storage.stored")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.storeTimer = Timer.builder("bank.storage.store").register(meterRegistry);
         this.rootLocation = Paths.get(storageLocation);
         try {
             Files.createDirectories(rootLocation);
@@ -39,7 +52,13 @@ public class FileSystemStorageService implements StoragePort {
             String storedFilename = operationId + "_" + UUID.randomUUID() + extension;
             Path destinationFile = rootLocation.resolve(Paths.get(storedFilename)).normalize().toAbsolutePath();
 
-            Files.copy(file.getInputStream(), destinationFile);
+            DocumentStoredEvent event = new DocumentStoredEvent();
+            event.begin();
+            long start = System.nanoTime();
+            long bytes = Files.copy(file.getInputStream(), destinationFile);
+            storeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            storedBytes.record(bytes);
+            event.complete(operationId, file.getContentType(), bytes);
 
             return destinationFile.toString();
         } catch (IOException e) {
@@ -0,0 +1,63 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Count and sum over one rolling window, as a ring of time buckets. Each slot holds an immutable
+ * bucket swapped with compare-and-set, so concurrent updates never lock and never lose a count;
+ * a slot whose bucket belongs to an older turn of the ring starts over.
+ */
+final class SlidingWindowCounter {
+
+    private record Bucket(long stamp, long count, long sum) {
+    }
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(VelocityWindow.BUCKETS);
+
+    SlidingWindowCounter(VelocityWindow window) {
+        this.bucketMillis = window.getBucketMillis();
+    }
+
+    void add(long epochMillis, long amount) {
+        long stamp = epochMillis / bucketMillis;
+        int slot = (int) (stamp % VelocityWindow.BUCKETS);
+        while (true) {
+            Bucket current = buckets.get(slot);
+            if (current != null && current.stamp() > stamp) {
+                // A later turn owns the slot, this one has already left the window
+                return;
+            }
+            Bucket next = current == null || current.stamp() != stamp
+                    ? new Bucket(stamp, 1, amount)
+                    : new Bucket(stamp, current.count() + 1, Math.addExact(current.sum(), amount));
+            if (buckets.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    long count(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - VelocityWindow.BUCKETS;
+        long count = 0;
+        for (int i = 0; i < VelocityWindow.BUCKETS; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.stamp() > oldest) {
+                count += bucket.count();
+            }
+        }
+        return count;
+    }
+
+    long sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - VelocityWindow.BUCKETS;
+        long sum = 0;
+        for (int i = 0; i < VelocityWindow.BUCKETS; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.stamp() > oldest) {
+                sum += bucket.sum();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,9 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+public enum VelocityDecision {
+    ALLOW,
+    /** Over a review limit: the operation waits for an agent. */
+    REVIEW,
+    /** Over a reject limit: the operation is refused. */
+    REJECT
+}
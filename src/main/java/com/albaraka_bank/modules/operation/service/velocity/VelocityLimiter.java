@@ -0,0 +1,209 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-account velocity limits on withdrawals and transfers, checked against in-memory
+ * {@link VelocityTracker} counters so the check adds no query to operation creation. The
+ * counters are rebuilt from the last day of operations at startup.
+ *
+ * <p>Checking and recording are separate steps, so concurrent operations on one account can
+ * each pass a limit they jointly exceed. Inside a transaction an operation is only counted once
+ * it commits. Batch rows are checked against the amount limits only: a file of payments is one
+ * submission, and counting its rows would refuse any file longer than the per-minute limit.
+ */
+@Component
+@Slf4j
+public class VelocityLimiter implements SmartInitializingSingleton {
+
+    private record Limit(VelocityWindow window, long maxCount, long maxAmount, VelocityDecision action) {
+
+        boolean breachedBy(VelocityTracker tracker, Long accountId, long nowMillis, long amount) {
+            return (maxCount > 0 && tracker.count(accountId, window, nowMillis) + 1 > maxCount)
+                    || breachedBy(tracker, accountId, nowMillis, amount, 0);
+        }
+
+        boolean breachedBy(VelocityTracker tracker, Long accountId, long nowMillis, long amount, long uncommitted) {
+            return maxAmount > 0 && tracker.sum(accountId, window, nowMillis) + uncommitted + amount > maxAmount;
+        }
+    }
+
+    /** Amounts accepted so far in one batch, which are not in the counters until the batch commits. */
+    public static final class BatchTally {
+
+        private final Map<Long, Long> amounts = new HashMap<>();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VelocityTracker tracker = new VelocityTracker();
+    private List<Limit> limits;
+
+    // 0 leaves a limit off
+    @Value("${app.velocity.minute.max-count:0}")
+    private long minuteMaxCount;
+
+    @Value("${app.velocity.minute.max-amount:0}")
+    private BigDecimal minuteMaxAmount;
+
+    @Value("${app.velocity.minute.action:reject}")
+    private String minuteAction;
+
+    @Value("${app.velocity.hour.max-count:0}")
+    private long hourMaxCount;
+
+    @Value("${app.velocity.hour.max-amount:0}")
+    private BigDecimal hourMaxAmount;
+
+    @Value("${app.velocity.hour.action:review}")
+    private String hourAction;
+
+    @Value("${app.velocity.day.max-count:0}")
+    private long dayMaxCount;
+
+    @Value("${app.velocity.day.max-amount:0}")
+    private BigDecimal dayMaxAmount;
+
+    @Value("${app.velocity.day.action:review}")
+    private String dayAction;
+
+    public VelocityLimiter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void configure() {
+        List<Limit> configured = new ArrayList<>();
+        addLimit(configured, VelocityWindow.MINUTE, minuteMaxCount, minuteMaxAmount, minuteAction);
+        addLimit(configured, VelocityWindow.HOUR, hourMaxCount, hourMaxAmount, hourAction);
+        addLimit(configured, VelocityWindow.DAY, dayMaxCount, dayMaxAmount, dayAction);
+        limits = List.copyOf(configured);
+    }
+
+    // After every singleton, so the schema exists, and before the web server takes requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (isEnabled()) {
+            log.info("Velocity counters rebuilt for {} accounts", rebuild());
+        }
+    }
+
+    public boolean isEnabled() {
+        return !limits.isEmpty();
+    }
+
+    public VelocityDecision assess(Long accountId, OperationType type, Money amount) {
+        if (!isEnabled() || type == OperationType.DEPOSIT) {
+            return VelocityDecision.ALLOW;
+        }
+        long now = System.currentTimeMillis();
+        long minor = amount.getMinorUnits();
+        VelocityDecision decision = VelocityDecision.ALLOW;
+        for (Limit limit : limits) {
+            if (limit.breachedBy(tracker, accountId, now, minor)) {
+                if (limit.action() == VelocityDecision.REJECT) {
+                    return VelocityDecision.REJECT;
+                }
+                decision = VelocityDecision.REVIEW;
+            }
+        }
+        return decision;
+    }
+
+    /**
+     * Checks one row of a batch against the amount limits, counting the rows of the batch
+     * accepted before it, and adds it to the tally unless it is rejected.
+     */
+    public VelocityDecision assessBatchRow(BatchTally tally, Long accountId, OperationType type, Money amount) {
+        if (!isEnabled() || type == OperationType.DEPOSIT) {
+            return VelocityDecision.ALLOW;
+        }
+        long now = System.currentTimeMillis();
+        long minor = amount.getMinorUnits();
+        long uncommitted = tally.amounts.getOrDefault(accountId, 0L);
+        VelocityDecision decision = VelocityDecision.ALLOW;
+        for (Limit limit : limits) {
+            if (limit.breachedBy(tracker, accountId, now, minor, uncommitted)) {
+                if (limit.action() == VelocityDecision.REJECT) {
+                    return VelocityDecision.REJECT;
+                }
+                decision = VelocityDecision.REVIEW;
+            }
+        }
+        tally.amounts.merge(accountId, minor, Long::sum);
+        return decision;
+    }
+
+    /**
+     * Counts an operation that was accepted, whether it executes or waits for review. Inside a
+     * transaction it is counted after the commit, so rolled back operations never count.
+     */
+    public void record(Long accountId, OperationType type, Money amount) {
+        if (!isEnabled() || type == OperationType.DEPOSIT) {
+            return;
+        }
+        long minor = amount.getMinorUnits();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tracker.record(accountId, minor, System.currentTimeMillis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.record(accountId, minor, System.currentTimeMillis());
+            }
+        });
+    }
+
+    /** Replays the last day of withdrawals and transfers that were not rejected. */
+    public int rebuild() {
+        LocalDateTime since = LocalDateTime.now().minus(VelocityWindow.DAY.getLength());
+        jdbcTemplate.query("""
+                SELECT source_account_id, amount, created_at FROM operations
+                WHERE created_at >= ? AND type IN ('WITHDRAWAL', 'TRANSFER') AND status <> 'CANCELLED'
+                """, rs -> {
+            tracker.record(rs.getLong(1), toMinorUnits(rs.getBigDecimal(2)), rs.getTimestamp(3).getTime());
+        }, Timestamp.valueOf(since));
+        return tracker.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.velocity.evict-interval:PT10M}")
+    public void evictIdle() {
+        tracker.evictIdle(System.currentTimeMillis());
+    }
+
+    VelocityTracker getTracker() {
+        return tracker;
+    }
+
+    private static void addLimit(List<Limit> limits, VelocityWindow window, long maxCount, BigDecimal maxAmount,
+            String action) {
+        long maxMinor = toMinorUnits(maxAmount);
+        if (maxCount > 0 || maxMinor > 0) {
+            limits.add(new Limit(window, maxCount, maxMinor, VelocityDecision.valueOf(action.toUpperCase(Locale.ROOT))));
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
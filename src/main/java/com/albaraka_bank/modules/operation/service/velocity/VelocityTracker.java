@@ -0,0 +1,56 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rolling count and sum of each account's outgoing operations over every {@link VelocityWindow}.
+ * Amounts are in minor units. Reads and writes cost the same whatever the account's history.
+ */
+public final class VelocityTracker {
+
+    private static final class AccountCounters {
+        final SlidingWindowCounter[] windows = new SlidingWindowCounter[VelocityWindow.values().length];
+        volatile long lastMillis;
+
+        AccountCounters() {
+            for (VelocityWindow window : VelocityWindow.values()) {
+                windows[window.ordinal()] = new SlidingWindowCounter(window);
+            }
+        }
+    }
+
+    private final ConcurrentMap<Long, AccountCounters> accounts = new ConcurrentHashMap<>();
+
+    public void record(Long accountId, long amount, long epochMillis) {
+        AccountCounters counters = accounts.computeIfAbsent(accountId, id -> new AccountCounters());
+        for (SlidingWindowCounter window : counters.windows) {
+            window.add(epochMillis, amount);
+        }
+        if (epochMillis > counters.lastMillis) {
+            counters.lastMillis = epochMillis;
+        }
+    }
+
+    public long count(Long accountId, VelocityWindow window, long nowMillis) {
+        AccountCounters counters = accounts.get(accountId);
+        return counters != null ? counters.windows[window.ordinal()].count(nowMillis) : 0;
+    }
+
+    public long sum(Long accountId, VelocityWindow window, long nowMillis) {
+        AccountCounters counters = accounts.get(accountId);
+        return counters != null ? counters.windows[window.ordinal()].sum(nowMillis) : 0;
+    }
+
+    /** Drops accounts with nothing left in the longest window. */
+    public int evictIdle(long nowMillis) {
+        long cutoff = nowMillis - VelocityWindow.DAY.getLength().toMillis();
+        int before = accounts.size();
+        accounts.values().removeIf(counters -> counters.lastMillis < cutoff);
+        return before - accounts.size();
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+}
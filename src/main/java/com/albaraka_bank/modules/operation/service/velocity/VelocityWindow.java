@@ -0,0 +1,31 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+import java.time.Duration;
+
+/**
+ * Rolling windows tracked per account. Each is split into {@link #BUCKETS} buckets, so counts
+ * are exact to within one bucket (a second for the minute, a minute for the hour).
+ */
+public enum VelocityWindow {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    public static final int BUCKETS = 60;
+
+    private final Duration length;
+    private final long bucketMillis;
+
+    VelocityWindow(Duration length) {
+        this.length = length;
+        this.bucketMillis = length.toMillis() / BUCKETS;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    long getBucketMillis() {
+        return bucketMillis;
+    }
+}
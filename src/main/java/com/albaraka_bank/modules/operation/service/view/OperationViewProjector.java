@@ -0,0 +1,128 @@
+package com.albaraka_bank.modules.operation.service.view;
+
+import com.albaraka_bank.modules.ai.model.AiDecision;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationSide;
+import com.albaraka_bank.modules.operation.model.OperationView;
+import com.albaraka_bank.modules.operation.repository.DocumentRepository;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.repository.OperationViewRepository;
+import com.albaraka_bank.modules.outbox.model.OutboxEvent;
+import com.albaraka_bank.modules.outbox.service.OutboxSubscriber;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps {@code operation_view} in step with the operations table. Every outbox event about an
+ * operation rewrites its rows from the operation's current committed state rather than applying
+ * the event as a delta, so redelivered events are harmless and the rows converge on the last
+ * change: events of an operation all carry its source account and are delivered in order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OperationViewProjector implements OutboxSubscriber {
+
+    private final OperationRepository operationRepository;
+    private final DocumentRepository documentRepository;
+    private final OperationViewRepository operationViewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void onEvent(OutboxEvent event) {
+        refresh(event.getOperationId());
+    }
+
+    /** Runs in the dispatcher's transaction. */
+    public void refresh(Long operationId) {
+        List<Operation> found = operationRepository.findWithAccountsByIdIn(List.of(operationId));
+        if (found.isEmpty()) {
+            operationViewRepository.deleteByOperation(operationId);
+            return;
+        }
+        operationViewRepository.saveAll(rowsOf(found.get(0), documentRepository.existsByOperationId(operationId)));
+    }
+
+    static List<OperationView> rowsOf(Operation operation, boolean hasDocument) {
+        List<OperationView> rows = new ArrayList<>(2);
+        rows.add(row(operation, OperationSide.SOURCE, operation.getAccountSource().getId(), hasDocument));
+        if (operation.getAccountDestination() != null) {
+            rows.add(row(operation, OperationSide.DESTINATION, operation.getAccountDestination().getId(),
+                    hasDocument));
+        }
+        return rows;
+    }
+
+    private static OperationView row(Operation operation, OperationSide side, Long accountId, boolean hasDocument) {
+        return OperationView.builder()
+                .operationId(operation.getId())
+                .side(side)
+                .accountId(accountId)
+                .type(operation.getType())
+                .amount(operation.getAmount())
+                .status(operation.getStatus())
+                .createdAt(operation.getCreatedAt())
+                .validatedAt(operation.getValidatedAt())
+                .executedAt(operation.getExecutedAt())
+                .sourceAccountNumber(operation.getAccountSource().getAccountNumber())
+                .destinationAccountNumber(operation.getAccountDestination() != null
+                        ? operation.getAccountDestination().getAccountNumber()
+                        : null)
+                .hasDocument(hasDocument)
+                .aiDecision(decisionOf(operation.getAiAnalysis()))
+                .aiAnalysis(operation.getAiAnalysis())
+                .build();
+    }
+
+    // The analysis is stored as "DECISION: reasoning"; failed analyses have no decision
+    static AiDecision decisionOf(String analysis) {
+        if (analysis == null) {
+            return null;
+        }
+        for (AiDecision decision : AiDecision.values()) {
+            if (analysis.startsWith(decision.name())) {
+                return decision;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the whole view with what the operations table holds now, in one transaction, so
+     * readers keep seeing the previous rows until it commits. Events dispatched meanwhile are
+     * applied on top and cannot leave a row older than its operation's last change.
+     *
+     * @return the number of rows written
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.nanoTime();
+        operationViewRepository.deleteAllRows();
+        int rows = operationViewRepository.insertSourceSides() + operationViewRepository.insertDestinationSides();
+        log.info("Rebuilt operation_view: {} rows in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /** Fills the view on first start, for operations that predate it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (operationViewRepository.needsInitialBuild()) {
+                    rebuild();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Another node filling it at the same time; the rebuild endpoint can rerun it
+            log.warn("Could not fill operation_view on startup: {}", e.getMessage());
+        }
+    }
+}
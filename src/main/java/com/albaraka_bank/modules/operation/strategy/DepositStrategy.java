@@ -1,29 +1,32 @@
 package com.albaraka_bank.modules.operation.strategy;
 
+import com.albaraka_bank.common.jfr.StrategyAppliedEvent;
 import com.albaraka_bank.modules.account.model.Account;
-import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import java.math.BigDecimal;
+import com.albaraka_bank.common.money.Money;
 
 @Component
 @RequiredArgsConstructor
 public class DepositStrategy implements OperationStrategy {
 
-    private final AccountRepository accountRepository;
+    private final AccountService accountService;
 
     @Override
-    public void process(BigDecimal amount, Account sourceAccount, Account destinationAccount) {
+    public void process(Money amount, Account sourceAccount, Account destinationAccount) {
+        StrategyAppliedEvent event = new StrategyAppliedEvent();
+        event.begin();
         if (sourceAccount == null) {
             throw new IllegalArgumentException("Account is required for deposit operations");
         }
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount.signum() <= 0) {
             throw new IllegalArgumentException("Deposit amount must be greater than zero");
         }
 
-        sourceAccount.setBalance(sourceAccount.getBalance().add(amount));
-        accountRepository.save(sourceAccount);
+        accountService.credit(sourceAccount, amount);
+        event.complete("DEPOSIT", amount, sourceAccount.getId());
     }
 }
 
@@ -1,9 +1,9 @@
 package com.albaraka_bank.modules.operation.strategy;
 
 import com.albaraka_bank.modules.account.model.Account;
-import java.math.BigDecimal;
+import com.albaraka_bank.common.money.Money;
 
 public interface OperationStrategy {
-    void process(BigDecimal amount, Account sourceAccount, Account destinationAccount);
+    void process(Money amount, Account sourceAccount, Account destinationAccount);
 }
 
@@ -1,24 +1,27 @@
 package com.albaraka_bank.modules.operation.strategy;
 
+import com.albaraka_bank.common.jfr.StrategyAppliedEvent;
 import com.albaraka_bank.modules.account.model.Account;
-import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import java.math.BigDecimal;
+import com.albaraka_bank.common.money.Money;
 
 @Component
 @RequiredArgsConstructor
 public class TransferStrategy implements OperationStrategy {
 
-    private final AccountRepository accountRepository;
+    private final AccountService accountService;
 
     @Override
-    public void process(BigDecimal amount, Account sourceAccount, Account destinationAccount) {
+    public void process(Money amount, Account sourceAccount, Account destinationAccount) {
+        StrategyAppliedEvent event = new StrategyAppliedEvent();
+        event.begin();
         if (sourceAccount == null || destinationAccount == null) {
             throw new IllegalArgumentException("Both source and destination accounts are required for transfer operations");
         }
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount.signum() <= 0) {
             throw new IllegalArgumentException("Transfer amount must be greater than zero");
         }
 
@@ -26,15 +29,13 @@ public class TransferStrategy implements OperationStrategy {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
-        if (sourceAccount.getBalance().compareTo(amount) < 0) {
+        if (accountService.getBalance(sourceAccount).isLessThan(amount)) {
             throw new IllegalArgumentException("Insufficient balance for transfer");
         }
 
-        sourceAccount.setBalance(sourceAccount.getBalance().subtract(amount));
-        accountRepository.save(sourceAccount);
-
-        destinationAccount.setBalance(destinationAccount.getBalance().add(amount));
-        accountRepository.save(destinationAccount);
+        accountService.debit(sourceAccount, amount);
+        accountService.credit(destinationAccount, amount);
+        event.complete("TRANSFER", amount, sourceAccount.getId());
     }
 }
 
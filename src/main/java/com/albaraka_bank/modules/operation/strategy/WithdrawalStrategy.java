@@ -1,33 +1,36 @@
 package com.albaraka_bank.modules.operation.strategy;
 
+import com.albaraka_bank.common.jfr.StrategyAppliedEvent;
 import com.albaraka_bank.modules.account.model.Account;
-import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import java.math.BigDecimal;
+import com.albaraka_bank.common.money.Money;
 
 @Component
 @RequiredArgsConstructor
 public class WithdrawalStrategy implements OperationStrategy {
 
-    private final AccountRepository accountRepository;
+    private final AccountService accountService;
 
     @Override
-    public void process(BigDecimal amount, Account sourceAccount, Account destinationAccount) {
+    public void process(Money amount, Account sourceAccount, Account destinationAccount) {
+        StrategyAppliedEvent event = new StrategyAppliedEvent();
+        event.begin();
         if (sourceAccount == null) {
             throw new IllegalArgumentException("Source account is required for withdrawal operations");
         }
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount.signum() <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be greater than zero");
         }
 
-        if (sourceAccount.getBalance().compareTo(amount) < 0) {
+        if (accountService.getBalance(sourceAccount).isLessThan(amount)) {
             throw new IllegalArgumentException("Insufficient balance for withdrawal");
         }
 
-        sourceAccount.setBalance(sourceAccount.getBalance().subtract(amount));
-        accountRepository.save(sourceAccount);
+        accountService.debit(sourceAccount, amount);
+        event.complete("WITHDRAWAL", amount, sourceAccount.getId());
     }
 }
 
@@ -0,0 +1,74 @@
+package com.albaraka_bank.modules.outbox.model;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.common.money.MoneyConverter;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Something that happened to an operation, written in the transaction that made it happen and
+ * handed to {@link com.albaraka_bank.modules.outbox.service.OutboxSubscriber}s once committed.
+ * Rows are inserted by {@link com.albaraka_bank.modules.outbox.service.OutboxWriter} with plain
+ * JDBC; the id comes from the identity column just before commit, under a lock on the source
+ * account's stripe that is held until then, so it orders the events of an account the way their
+ * transactions committed.
+ * No foreign keys, so the table can be purged on its own schedule.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_unpublished", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_events_account", columnList = "account_id, published_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    // Events are ordered per source account
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "operation_id", nullable = false)
+    private Long operationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation_type", nullable = false)
+    private OperationType operationType;
+
+    @Column(nullable = false)
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
+
+    @Column(name = "destination_account_id")
+    private Long destinationAccountId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Set after a failed delivery, the event is retried from then on
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+}
@@ -0,0 +1,10 @@
+package com.albaraka_bank.modules.outbox.model;
+
+public enum OutboxEventType {
+    /** Created and waiting for an agent. */
+    OPERATION_SUBMITTED,
+    OPERATION_EXECUTED,
+    OPERATION_REJECTED,
+    DOCUMENT_ATTACHED,
+    AI_ANALYSIS_RECORDED
+}
@@ -0,0 +1,25 @@
+package com.albaraka_bank.modules.outbox.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One of the rows {@link com.albaraka_bank.modules.outbox.service.OutboxWriter} locks before
+ * inserting an account's events, so that they commit in the order their ids were drawn. Never
+ * updated, only locked.
+ */
+@Entity
+@Table(name = "outbox_lock_stripes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxLockStripe {
+    @Id
+    @Column(nullable = false)
+    private Integer stripe;
+}
@@ -0,0 +1,70 @@
+package com.albaraka_bank.modules.outbox.repository;
+
+import com.albaraka_bank.modules.outbox.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest unpublished events that are due. Events queued behind a failed one of the
+     * same source account are left out, so a failing account never fills a batch; rows another
+     * dispatcher is claiming are skipped rather than waited for, and rows it has claimed are not
+     * due until their lease runs out.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.published_at IS NULL
+              AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now)
+              AND NOT EXISTS (SELECT 1 FROM outbox_events f
+                              WHERE f.account_id = e.account_id AND f.published_at IS NULL
+                                AND f.attempts > 0 AND f.id < e.id)
+            ORDER BY e.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Account id and id of its oldest unpublished event, locked or not. */
+    @Query("""
+            SELECT e.accountId, MIN(e.id) FROM OutboxEvent e
+            WHERE e.publishedAt IS NULL AND e.accountId IN :accountIds
+            GROUP BY e.accountId
+            """)
+    List<Object[]> findOldestUnpublished(@Param("accountIds") Collection<Long> accountIds);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /** Leases the events to one dispatcher: they are not due again before {@code until}. */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    /** Hands back claimed events that were not attempted, so they are due at once. */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = NULL WHERE e.id IN :ids AND e.publishedAt IS NULL")
+    int release(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt,
+                e.lastError = :lastError
+            WHERE e.id = :id
+            """)
+    int recordFailure(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,187 @@
+package com.albaraka_bank.modules.outbox.service;
+
+import com.albaraka_bank.modules.outbox.model.OutboxEvent;
+import com.albaraka_bank.modules.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers committed outbox events to every {@link OutboxSubscriber}. Delivery is at least once:
+ * an event whose subscribers fail, or whose dispatcher dies mid-delivery, is delivered again, to
+ * every subscriber.
+ * <p>
+ * A batch is first claimed in a short transaction: its events are leased to this dispatcher for
+ * {@code app.outbox.claim-timeout}, so other nodes leave them alone. Each event is then delivered
+ * and marked published in a transaction of its own, so a subscriber that fails, even through a
+ * transactional proxy that dooms the transaction, only rolls back its own event. The failure is
+ * recorded in yet another transaction, which commits whatever the delivery left behind.
+ * <p>
+ * Events sharing a source account are delivered in id order: an account whose earlier events
+ * another node is still delivering is left for a later round, as are the events after a failed
+ * one. A transfer's destination account gets no such guarantee, its events are ordered with
+ * the source account of each transfer.
+ */
+@Service
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSubscriber> subscribers;
+    private final int batchSize;
+    private final Duration retention;
+    private final Duration claimTimeout;
+    private final Counter delivered;
+    private final Counter failed;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+            TransactionTemplate transactionTemplate,
+            List<OutboxSubscriber> subscribers,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:500}") int batchSize,
+            @Value("${app.outbox.retention:P7D}") Duration retention,
+            @Value("${app.outbox.claim-timeout:PT5M}") Duration claimTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        // Never joins a caller's transaction: each step must commit or roll back on its own
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.subscribers = subscribers;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.claimTimeout = claimTimeout;
+        this.delivered = meterRegistry.counter("bank.outbox.delivered");
+        this.failed = meterRegistry.counter("bank.outbox.failed");
+    }
+
+    /**
+     * Drains the outbox one batch at a time while batches publish anything: events held back
+     * behind a retried one are only picked up by the batch after it.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}",
+            initialDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        try {
+            int published;
+            do {
+                published = dispatchBatch();
+            } while (published > 0);
+        } catch (RuntimeException e) {
+            // Claimed events are delivered again once their lease runs out
+            log.warn("Outbox dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /** Returns how many events were published. */
+    int dispatchBatch() {
+        List<List<OutboxEvent>> claimed = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        int published = 0;
+        for (List<OutboxEvent> events : claimed) {
+            for (int i = 0; i < events.size(); i++) {
+                if (!deliver(events.get(i), events.subList(i + 1, events.size()))) {
+                    break;
+                }
+                published++;
+            }
+        }
+        if (published > 0) {
+            delivered.increment(published);
+        }
+        return published;
+    }
+
+    // The batch's due events, per source account, of the accounts whose oldest event is among them
+    private List<List<OutboxEvent>> claim(LocalDateTime now) {
+        List<OutboxEvent> batch = outboxEventRepository.lockDue(now, batchSize);
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<OutboxEvent>> byAccount = new LinkedHashMap<>();
+        batch.forEach(event -> byAccount.computeIfAbsent(event.getAccountId(), id -> new ArrayList<>()).add(event));
+        Map<Long, Long> oldest = new HashMap<>();
+        outboxEventRepository.findOldestUnpublished(byAccount.keySet())
+                .forEach(row -> oldest.put((Long) row[0], (Long) row[1]));
+
+        List<List<OutboxEvent>> claimed = new ArrayList<>();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (List<OutboxEvent> events : byAccount.values()) {
+            // Otherwise another dispatcher holds earlier events of this account
+            if (events.get(0).getId().equals(oldest.get(events.get(0).getAccountId()))) {
+                claimed.add(events);
+                events.forEach(event -> ids.add(event.getId()));
+            }
+        }
+        if (!ids.isEmpty()) {
+            outboxEventRepository.claim(ids, now.plus(claimTimeout));
+        }
+        return claimed;
+    }
+
+    /** On failure, {@code behind} (the account's later claimed events) is handed back undelivered. */
+    private boolean deliver(OutboxEvent event, List<OutboxEvent> behind) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (OutboxSubscriber subscriber : subscribers) {
+                    subscriber.onEvent(event);
+                }
+                outboxEventRepository.markPublished(List.of(event.getId()), LocalDateTime.now());
+            });
+            return true;
+        } catch (RuntimeException e) {
+            failed.increment();
+            int attempts = event.getAttempts() + 1;
+            String message = String.valueOf(e.getMessage());
+            log.warn("Outbox event {} for account {} failed (attempt {}): {}", event.getId(), event.getAccountId(),
+                    attempts, message);
+            recordFailure(event, attempts, message, behind);
+            return false;
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, int attempts, String message, List<OutboxEvent> behind) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxEventRepository.recordFailure(event.getId(), LocalDateTime.now().plus(backoff(attempts)),
+                        message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                if (!behind.isEmpty()) {
+                    outboxEventRepository.release(behind.stream().map(OutboxEvent::getId).toList());
+                }
+            });
+        } catch (RuntimeException e) {
+            // The lease still holds the events back, they are retried once it runs out
+            log.warn("Could not record the failure of outbox event {}: {}", event.getId(), e.getMessage());
+        }
+    }
+
+    // 1s, 2s, 4s... up to MAX_BACKOFF
+    static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT1H}")
+    public void purgePublished() {
+        int deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+}
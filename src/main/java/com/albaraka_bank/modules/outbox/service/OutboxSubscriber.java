@@ -0,0 +1,14 @@
+package com.albaraka_bank.modules.outbox.service;
+
+import com.albaraka_bank.modules.outbox.model.OutboxEvent;
+
+/**
+ * Receives committed outbox events, at least once and in order for each account. Called inside
+ * the dispatcher's transaction, so database work done here commits together with the event being
+ * marked published. An exception stops delivery for that account until the next round, so
+ * handlers must be idempotent and should hand slow work off rather than do it inline.
+ */
+public interface OutboxSubscriber {
+
+    void onEvent(OutboxEvent event);
+}
@@ -0,0 +1,164 @@
+package com.albaraka_bank.modules.outbox.service;
+
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.outbox.model.OutboxEventType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Appends outbox events to the caller's transaction. They are buffered and inserted in one
+ * batch just before it commits, so a group of operations costs one round trip. Rolled-back
+ * transactions write nothing.
+ * <p>
+ * Many writers hold no lock on the source account (submissions, rejections, documents, ledger
+ * mode and hot-account deposits), so the insert first locks the account's stripe row in
+ * {@code outbox_lock_stripes}: an account's events then commit in the order their ids were drawn,
+ * and the dispatcher never sees a later one before an earlier one. The lock is the last thing the
+ * transaction takes and is held only until it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter implements SmartInitializingSingleton {
+
+    // Fixed, every node must map an account to the same stripe
+    static final int STRIPES = 1024;
+
+    private static final String LOCK_STRIPES = """
+            SELECT stripe FROM outbox_lock_stripes WHERE stripe IN (%s) ORDER BY stripe FOR UPDATE
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO outbox_events (event_type, account_id, operation_id, operation_type, amount,
+                destination_account_id, occurred_at, attempts)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Adds the stripe rows a new database is missing; several nodes may do so at once. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_lock_stripes", Integer.class);
+        if (existing != null && existing >= STRIPES) {
+            return;
+        }
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            try {
+                jdbcTemplate.update("""
+                        INSERT INTO outbox_lock_stripes (stripe)
+                        SELECT ? WHERE NOT EXISTS (SELECT 1 FROM outbox_lock_stripes WHERE stripe = ?)
+                        """, stripe, stripe);
+            } catch (DuplicateKeyException e) {
+                // Inserted by another node in the meantime
+            }
+        }
+    }
+
+    private record Row(OutboxEventType eventType, Long accountId, Long operationId, String operationType,
+            BigDecimal amount, Long destinationAccountId, LocalDateTime occurredAt) {
+    }
+
+    /** The operation must have been saved, so it has an id. */
+    public void operationExecuted(Operation operation) {
+        append(OutboxEventType.OPERATION_EXECUTED, operation,
+                operation.getExecutedAt() != null ? operation.getExecutedAt() : LocalDateTime.now());
+    }
+
+    /** Any other change to a saved operation, ordered with the executions of its source account. */
+    public void operationChanged(OutboxEventType eventType, Operation operation) {
+        append(eventType, operation, LocalDateTime.now());
+    }
+
+    private void append(OutboxEventType eventType, Operation operation, LocalDateTime occurredAt) {
+        append(new Row(eventType,
+                operation.getAccountSource().getId(),
+                operation.getId(),
+                operation.getType().name(),
+                operation.getAmount().toBigDecimal(),
+                operation.getAccountDestination() != null ? operation.getAccountDestination().getId() : null,
+                occurredAt));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void append(Row row) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(row));
+            return;
+        }
+        List<Row> buffer = (List<Row>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<Row> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!rows.isEmpty()) {
+                        // Every other write first, so nothing can wait on a lock while the stripes are held
+                        entityManager.flush();
+                        lockStripes(rows);
+                        insert(rows);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            buffer = rows;
+        }
+        buffer.add(row);
+    }
+
+    private void lockStripes(List<Row> rows) {
+        List<Object> stripes = rows.stream()
+                .map(row -> stripeFor(row.accountId()))
+                .distinct()
+                .sorted()
+                .map(Object.class::cast)
+                .toList();
+        List<Integer> locked = jdbcTemplate.queryForList(
+                LOCK_STRIPES.formatted(String.join(",", Collections.nCopies(stripes.size(), "?"))), Integer.class,
+                stripes.toArray());
+        if (locked.size() != stripes.size()) {
+            throw new IllegalStateException("Missing outbox lock stripes");
+        }
+    }
+
+    static int stripeFor(Long accountId) {
+        long h = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (STRIPES - 1);
+    }
+
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.eventType().name());
+            statement.setLong(2, row.accountId());
+            statement.setLong(3, row.operationId());
+            statement.setString(4, row.operationType());
+            statement.setBigDecimal(5, row.amount());
+            statement.setObject(6, row.destinationAccountId());
+            statement.setTimestamp(7, Timestamp.valueOf(row.occurredAt()));
+        });
+    }
+}
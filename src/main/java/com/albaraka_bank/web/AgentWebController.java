@@ -1,5 +1,6 @@
 package com.albaraka_bank.web;
 
+import com.albaraka_bank.common.util.SecurityUtils;
 import com.albaraka_bank.modules.operation.dto.OperationResponse;
 import com.albaraka_bank.modules.operation.service.OperationService;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +31,7 @@ public class AgentWebController {
     @PostMapping("/operations/{id}/approve")
     public String approveOperation(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            operationService.approveOperation(id);
+            operationService.approveOperation(id, SecurityUtils.getCurrentUser());
             redirectAttributes.addFlashAttribute("success", "Operation approved successfully");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error approving operation: " + e.getMessage());
@@ -41,7 +42,7 @@ public class AgentWebController {
     @PostMapping("/operations/{id}/reject")
     public String rejectOperation(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
-            operationService.rejectOperation(id);
+            operationService.rejectOperation(id, SecurityUtils.getCurrentUser());
             redirectAttributes.addFlashAttribute("success", "Operation rejected");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Error rejecting operation: " + e.getMessage());
@@ -4,22 +4,34 @@ import com.albaraka_bank.common.util.SecurityUtils;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.account.service.AccountService;
 import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.ledger.service.BalanceHistoryService;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.dto.OperationPage;
 import com.albaraka_bank.modules.operation.dto.OperationRequest;
 import com.albaraka_bank.modules.operation.dto.OperationResponse;
 import com.albaraka_bank.modules.operation.model.Document;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
 import com.albaraka_bank.modules.operation.model.OperationType;
 import com.albaraka_bank.modules.operation.repository.DocumentRepository;
 import com.albaraka_bank.modules.operation.service.DocumentService;
+import com.albaraka_bank.modules.operation.service.IdempotencyService;
 import com.albaraka_bank.modules.operation.service.OperationService;
+import com.albaraka_bank.modules.operation.service.statement.StatementFormat;
+import com.albaraka_bank.modules.operation.service.statement.StatementService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDate;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/client")
@@ -30,19 +42,45 @@ public class ClientWebController {
     private final DocumentService documentService;
     private final AccountService accountService;
     private final DocumentRepository documentRepository;
+    private final IdempotencyService idempotencyService;
+    private final StatementService statementService;
+    private final BalanceHistoryService balanceHistoryService;
 
     @GetMapping("/operations")
-    public String listOperations(Model model) {
+    public String listOperations(OperationHistoryFilter filter, Model model) {
         User user = SecurityUtils.getCurrentUser();
-        List<OperationResponse> operations = operationService.getOperationsByUser(user);
+        OperationPage page = operationService.getOperationsByUser(user, filter);
         Account account = accountService.getAccountByOwner(user);
 
-        model.addAttribute("operations", operations);
+        model.addAttribute("operations", page.getOperations());
+        model.addAttribute("filter", filter);
+        model.addAttribute("operationStatuses", OperationStatus.values());
+        if (page.getNextCursor() != null) {
+            model.addAttribute("nextPageUrl", ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .toUriString());
+        }
         model.addAttribute("account", account);
+        model.addAttribute("balance", accountService.getBalanceView(account));
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        model.addAttribute("monthStart", monthStart);
+        model.addAttribute("monthOpeningBalance", balanceHistoryService.openingBalance(account, monthStart));
         model.addAttribute("operationTypes", OperationType.values());
+        // Resubmitting the same rendered form replays the first result instead of moving money twice
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         return "client/operations";
     }
 
+    @GetMapping("/operations/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @RequestParam(defaultValue = "CSV") StatementFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        User user = SecurityUtils.getCurrentUser();
+        Account account = accountService.getAccountByOwner(user);
+        return statementService.export(account, format, from, to).toResponseEntity();
+    }
+
     @GetMapping("/operations/new")
     public String newOperationForm(Model model) {
         User user = SecurityUtils.getCurrentUser();
@@ -50,6 +88,7 @@ public class ClientWebController {
 
         model.addAttribute("account", account);
         model.addAttribute("operationTypes", OperationType.values());
+        model.addAttribute("idempotencyKey", UUID.randomUUID().toString());
         return "client/operation-form";
     }
 
@@ -58,6 +97,7 @@ public class ClientWebController {
             @RequestParam("type") OperationType type,
             @RequestParam("amount") BigDecimal amount,
             @RequestParam(value = "destinationAccountNumber", required = false) String destinationAccountNumber,
+            @RequestParam(value = "idempotencyKey", required = false) String idempotencyKey,
             RedirectAttributes redirectAttributes) {
         try {
             User user = SecurityUtils.getCurrentUser();
@@ -67,7 +107,7 @@ public class ClientWebController {
             request.setAmount(amount);
             request.setDestinationAccountNumber(destinationAccountNumber);
 
-            OperationResponse response = operationService.createOperation(request, user);
+            OperationResponse response = idempotencyService.createOperation(request, user, idempotencyKey);
 
             if (response.getStatus().name().equals("PENDING")) {
                 redirectAttributes.addFlashAttribute("warning",
@@ -0,0 +1,76 @@
+package com.albaraka_bank.benchmark;
+
+import com.albaraka_bank.config.KeycloakJwtConverterBenchmark;
+import com.albaraka_bank.modules.iam.service.JwtServiceBenchmark;
+import com.albaraka_bank.modules.operation.service.OperationMappingBenchmark;
+import com.albaraka_bank.modules.operation.service.TransactionValidatorBenchmark;
+import com.albaraka_bank.modules.operation.strategy.OperationStrategyBenchmark;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hot-path benchmarks with the GC profiler and writes JMH's JSON report to
+ * {@code jmh.result} (target/jmh-result.json by default), for diffing between releases:
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@Slf4j
+class HotPathBenchmarkTest {
+
+    private static final List<Class<?>> BENCHMARKS = List.of(
+            TransactionValidatorBenchmark.class,
+            OperationStrategyBenchmark.class,
+            OperationMappingBenchmark.class,
+            JwtServiceBenchmark.class,
+            KeycloakJwtConverterBenchmark.class);
+
+    @Test
+    @DisplayName("Hot-path benchmarks should all run and report their allocation rate")
+    void hotPaths_reportTimeAndAllocation() throws Exception {
+        Path resultFile = Path.of(System.getProperty("jmh.result", "target/jmh-result.json"));
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .result(resultFile.toString())
+                .resultFormat(ResultFormatType.JSON);
+        // Anchored so a benchmark whose name extends another's is not run twice
+        BENCHMARKS.forEach(benchmark -> options.include("^" + benchmark.getName().replace(".", "\\.") + "\\."));
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        assertEquals(9, results.size());
+        for (RunResult result : results) {
+            double bytes = result.getSecondaryResults().entrySet().stream()
+                    .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getValue()
+                    .getScore();
+            log.info("{}: {} {}, {} B/op", result.getParams().getBenchmark(),
+                    "%.3f".formatted(result.getPrimaryResult().getScore()), result.getPrimaryResult().getScoreUnit(),
+                    "%.1f".formatted(bytes));
+        }
+        assertTrue(Files.size(resultFile) > 0, "No results written to " + resultFile);
+    }
+}
@@ -0,0 +1,37 @@
+package com.albaraka_bank.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * Repository stand-ins for benchmarks: {@code save} hands back what it was given and every
+ * other method answers empty, so a benchmark measures the service code and not a mock library.
+ */
+public final class InMemoryStubs {
+
+    private InMemoryStubs() {
+    }
+
+    public static <T> T repository(Class<T> type) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("save") && args != null && args.length == 1) {
+                return args[0];
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == Optional.class) {
+                return Optional.empty();
+            }
+            return null;
+        });
+        return type.cast(stub);
+    }
+}
@@ -0,0 +1,45 @@
+package com.albaraka_bank.common.jfr;
+
+import com.albaraka_bank.common.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A balance update with and without the operation and strategy events around it, in a JVM
+ * with no recording running. Run through {@link JfrEventBenchmarkTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JfrEventBenchmark {
+
+    private final Money amount = Money.of("250.50");
+    private Money balance = Money.of("1000000.00");
+    private long operationId;
+
+    @Benchmark
+    public Money withoutEvents() {
+        operationId++;
+        balance = balance.plus(amount).minus(amount);
+        return balance;
+    }
+
+    @Benchmark
+    public Money withEvents() {
+        OperationExecutedEvent executed = new OperationExecutedEvent();
+        executed.begin();
+        StrategyAppliedEvent applied = new StrategyAppliedEvent();
+        applied.begin();
+        operationId++;
+        balance = balance.plus(amount).minus(amount);
+        applied.complete("DEPOSIT", amount, 1L);
+        executed.complete(operationId, "DEPOSIT", amount, 1L);
+        return balance;
+    }
+}
@@ -0,0 +1,61 @@
+package com.albaraka_bank.common.jfr;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link JfrEventBenchmark} and checks that, with no recording running, the events
+ * allocate nothing and add at most a few nanoseconds.
+ */
+@Tag("benchmark")
+@Slf4j
+class JfrEventBenchmarkTest {
+
+    @Test
+    @DisplayName("Application events should be near-free while no recording is running")
+    void events_nearFreeWhenNotRecording() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JfrEventBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, double[]> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            double nanos = result.getPrimaryResult().getScore();
+            double bytes = result.getSecondaryResults().entrySet().stream()
+                    .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getValue()
+                    .getScore();
+            log.info("{}: {} ns/op, {} B/op", name, "%.1f".formatted(nanos), "%.1f".formatted(bytes));
+            scores.put(name.substring(name.lastIndexOf('.') + 1), new double[] {nanos, bytes});
+        }
+
+        double[] without = scores.get("withoutEvents");
+        double[] with = scores.get("withEvents");
+        assertTrue(with[1] - without[1] < 1, "Events allocated " + (with[1] - without[1]) + " B/op");
+        assertTrue(with[0] - without[0] < 5, "Events added " + (with[0] - without[0]) + " ns/op");
+    }
+}
@@ -0,0 +1,80 @@
+package com.albaraka_bank.common.money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a transfer does to balances in TransferStrategy and AccountService: check the source
+ * covers the amount, debit it, credit the destination. Amounts come in at the scales clients
+ * send them, against balances at the column's scale. Transfers go back and forth between the
+ * two accounts so the balances stay bounded. Run through {@link MoneyBenchmarkTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private static final String[] AMOUNTS = {"15000", "250.5", "1200.00", "89.99", "4000", "0.01", "730.10", "12"};
+
+    private BigDecimal[] decimalAmounts;
+    private Money[] moneyAmounts;
+    private BigDecimal decimalSource;
+    private BigDecimal decimalDestination;
+    private Money moneySource;
+    private Money moneyDestination;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        decimalAmounts = new BigDecimal[AMOUNTS.length];
+        moneyAmounts = new Money[AMOUNTS.length];
+        for (int i = 0; i < AMOUNTS.length; i++) {
+            decimalAmounts[i] = new BigDecimal(AMOUNTS[i]);
+            moneyAmounts[i] = Money.of(AMOUNTS[i]);
+        }
+        decimalSource = new BigDecimal("1000000.00");
+        decimalDestination = new BigDecimal("1000000.00");
+        moneySource = Money.of(decimalSource);
+        moneyDestination = Money.of(decimalDestination);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTransfer() {
+        int i = next++ & (AMOUNTS.length - 1);
+        BigDecimal amount = decimalAmounts[i];
+        if ((next & AMOUNTS.length) == 0) {
+            if (decimalSource.compareTo(amount) >= 0) {
+                decimalSource = decimalSource.subtract(amount);
+                decimalDestination = decimalDestination.add(amount);
+            }
+        } else if (decimalDestination.compareTo(amount) >= 0) {
+            decimalDestination = decimalDestination.subtract(amount);
+            decimalSource = decimalSource.add(amount);
+        }
+        return decimalSource;
+    }
+
+    @Benchmark
+    public Money moneyTransfer() {
+        int i = next++ & (AMOUNTS.length - 1);
+        Money amount = moneyAmounts[i];
+        if ((next & AMOUNTS.length) == 0) {
+            if (!moneySource.isLessThan(amount)) {
+                moneySource = moneySource.minus(amount);
+                moneyDestination = moneyDestination.plus(amount);
+            }
+        } else if (!moneyDestination.isLessThan(amount)) {
+            moneyDestination = moneyDestination.minus(amount);
+            moneySource = moneySource.plus(amount);
+        }
+        return moneySource;
+    }
+}
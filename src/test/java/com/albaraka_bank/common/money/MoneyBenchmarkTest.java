@@ -0,0 +1,61 @@
+package com.albaraka_bank.common.money;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link MoneyBenchmark} and checks the Money path allocates less than the BigDecimal
+ * one and is no slower.
+ */
+@Tag("benchmark")
+@Slf4j
+class MoneyBenchmarkTest {
+
+    @Test
+    @DisplayName("Money balance updates should allocate less than BigDecimal ones and be no slower")
+    void money_cheaperThanBigDecimal() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MoneyBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, double[]> scores = new HashMap<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            double nanos = result.getPrimaryResult().getScore();
+            double bytes = result.getSecondaryResults().entrySet().stream()
+                    .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getValue()
+                    .getScore();
+            log.info("{}: {} ns/op, {} B/op", name, "%.1f".formatted(nanos), "%.1f".formatted(bytes));
+            scores.put(name.substring(name.lastIndexOf('.') + 1), new double[] {nanos, bytes});
+        }
+
+        double[] decimal = scores.get("bigDecimalTransfer");
+        double[] money = scores.get("moneyTransfer");
+        assertTrue(money[1] < decimal[1], "Money allocated " + money[1] + " B/op, BigDecimal " + decimal[1]);
+        assertTrue(money[0] <= decimal[0], "Money took " + money[0] + " ns/op, BigDecimal " + decimal[0]);
+    }
+}
@@ -0,0 +1,55 @@
+package com.albaraka_bank.common.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Amounts should convert exactly to and from two-decimal BigDecimals")
+    void of_roundTripsAtScaleTwo() {
+        assertEquals(1500000, Money.of("15000").getMinorUnits());
+        assertEquals(new BigDecimal("250.50"), Money.of("250.5").toBigDecimal());
+        assertEquals(Money.of("12.30"), Money.of(new BigDecimal("12.3000")));
+        assertEquals("-0.01", Money.of("-0.01").toString());
+    }
+
+    @Test
+    @DisplayName("More than two decimals should be rejected instead of rounded")
+    void of_moreThanTwoDecimals_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("10.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1e30"));
+    }
+
+    @Test
+    @DisplayName("Arithmetic should be exact and fail on overflow")
+    void arithmetic_exactAndOverflowChecked() {
+        Money balance = Money.of("1000.10");
+        assertEquals(Money.of("1200.00"), balance.plus(Money.of("199.90")));
+        assertEquals(Money.of("-0.90"), balance.minus(Money.of("1001")));
+        assertTrue(balance.isLessThan(Money.of("1000.11")));
+        assertEquals(Money.ZERO, balance.max(Money.ZERO).min(Money.ZERO));
+
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).negate());
+    }
+
+    @Test
+    @DisplayName("JSON should carry the same plain decimal number as before")
+    void json_plainDecimalNumber() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(Money.class, new MoneyJsonComponent.Serializer())
+                .addDeserializer(Money.class, new MoneyJsonComponent.Deserializer()));
+
+        assertEquals("15000.50", mapper.writeValueAsString(Money.of("15000.5")));
+        assertEquals(Money.of("400"), mapper.readValue("400", Money.class));
+        assertEquals(Money.of("12.34"), mapper.readValue("\"12.34\"", Money.class));
+    }
+}
@@ -0,0 +1,59 @@
+package com.albaraka_bank.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latencies, errors and query counts for one endpoint of a load run. */
+final class EndpointStats {
+
+    private final String endpoint;
+    private final List<Long> latencies = new ArrayList<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder queriedRequests = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    synchronized void recordLatency(long nanos) {
+        latencies.add(nanos);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordQueries(long count) {
+        queries.add(count);
+        queriedRequests.increment();
+    }
+
+    synchronized int requests() {
+        return latencies.size();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double queriesPerRequest() {
+        long requests = queriedRequests.sum();
+        return requests == 0 ? 0 : (double) queries.sum() / requests;
+    }
+
+    /** Nearest-rank percentile in milliseconds, {@code quantile} between 0 and 1. */
+    synchronized double percentileMillis(double quantile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.albaraka_bank.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint results of a load run. Latency is recorded by the clients, query counts by
+ * {@link LoadTestHarnessTest.QueryCountingFilter} on the server side of the same request.
+ */
+public class LoadReport {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    EndpointStats endpoint(String name) {
+        return endpoints.computeIfAbsent(name, EndpointStats::new);
+    }
+
+    List<EndpointStats> endpoints() {
+        List<EndpointStats> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointStats::getEndpoint));
+        return sorted;
+    }
+
+    void clear() {
+        endpoints.clear();
+    }
+
+    /** Overall throughput, then one line per endpoint. */
+    String summary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        int total = endpoints().stream().mapToInt(EndpointStats::requests).sum();
+        StringBuilder summary = new StringBuilder();
+        Formatter out = new Formatter(summary, Locale.ROOT);
+        out.format("%d requests in %.2f s: %.1f req/s%n", total, seconds, total / seconds);
+        out.format("%-12s %8s %8s %9s %9s %9s %9s %8s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "queries");
+        for (EndpointStats stats : endpoints()) {
+            out.format("%n%-12s %8d %8d %9.1f %9.2f %9.2f %9.2f %8.1f",
+                    stats.getEndpoint(), stats.requests(), stats.errors(), stats.requests() / seconds,
+                    stats.percentileMillis(0.50), stats.percentileMillis(0.99), stats.percentileMillis(0.999),
+                    stats.queriesPerRequest());
+        }
+        return summary.toString();
+    }
+
+    void writeCsv(Path file, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / 1e9;
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,throughput_per_s,p50_ms,p99_ms,p999_ms,queries_per_request");
+        for (EndpointStats stats : endpoints()) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.2f",
+                    stats.getEndpoint(), stats.requests(), stats.errors(), stats.requests() / seconds,
+                    stats.percentileMillis(0.50), stats.percentileMillis(0.99), stats.percentileMillis(0.999),
+                    stats.queriesPerRequest()));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines);
+    }
+}
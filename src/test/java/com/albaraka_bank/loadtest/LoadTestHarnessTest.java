@@ -0,0 +1,397 @@
+package com.albaraka_bank.loadtest;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.iam.service.JwtService;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a mix of client operations through the real controllers and security filters from
+ * many concurrent clients, each with its own account and token, and reports throughput,
+ * p50/p99/p999 latency and Hibernate statements per request for every endpoint. The AI model
+ * is a stub, the database the test H2.
+ *
+ * <p>Tuned with system properties: {@code load.clients} (16), {@code load.requests} (4000),
+ * {@code load.warmup} (500, not recorded), {@code load.mix}
+ * ({@code deposit=30,withdrawal=20,transfer=15,history=30,upload=5}),
+ * {@code load.model-latency-ms} (0) and {@code load.report} (target/load-test-report.csv), e.g.
+ * {@code mvn test -Pbenchmarks -Dtest=LoadTestHarnessTest -Dload.clients=64}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(LoadTestHarnessTest.HarnessConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.albaraka_bank.loadtest.QueryCountingInspector",
+        "app.storage.location=target/load-test-uploads",
+        // The harness measures capacity; the velocity limits would reject most of a client's traffic
+        "app.velocity.minute.max-count=0",
+        "app.velocity.hour.max-count=0",
+        "app.velocity.hour.max-amount=0",
+        "app.velocity.day.max-count=0",
+        "app.velocity.day.max-amount=0"
+})
+class LoadTestHarnessTest {
+
+    static final String ENDPOINT_HEADER = "X-Load-Endpoint";
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 4000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 500);
+    private static final String MIX = System.getProperty("load.mix",
+            "deposit=30,withdrawal=20,transfer=15,history=30,upload=5");
+    private static final long MODEL_LATENCY_MS = Long.getLong("load.model-latency-ms", 0);
+
+    @TestConfiguration
+    static class HarnessConfig {
+
+        @Bean
+        LoadReport loadReport() {
+            return new LoadReport();
+        }
+
+        // Outermost, so the security filters' own lookups are charged to the request too
+        @Bean
+        FilterRegistrationBean<QueryCountingFilter> queryCountingFilter(LoadReport loadReport) {
+            FilterRegistrationBean<QueryCountingFilter> registration =
+                    new FilterRegistrationBean<>(new QueryCountingFilter(loadReport));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+
+        @Bean
+        @Primary
+        ChatModel stubChatModel() {
+            return prompt -> {
+                if (MODEL_LATENCY_MS > 0) {
+                    try {
+                        Thread.sleep(MODEL_LATENCY_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new ChatResponse(List.of(new Generation(
+                        new AssistantMessage("DECISION: APPROVE\nREASONING: Invoice amount matches"))));
+            };
+        }
+    }
+
+    /** Charges the statements of a labelled request to its endpoint. */
+    static class QueryCountingFilter extends OncePerRequestFilter {
+
+        private final LoadReport loadReport;
+
+        QueryCountingFilter(LoadReport loadReport) {
+            this.loadReport = loadReport;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            String endpoint = request.getHeader(ENDPOINT_HEADER);
+            if (endpoint == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            QueryCountingInspector.reset();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                loadReport.endpoint(endpoint).recordQueries(QueryCountingInspector.count());
+            }
+        }
+    }
+
+    private record Client(User user, Account account, String token) {
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadReport loadReport;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Client> clients = new ArrayList<>();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private Map<String, Integer> mix;
+    private byte[] invoice;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mix = parseMix(MIX);
+        if (mix.containsKey("transfer") && CLIENTS < 2) {
+            throw new IllegalArgumentException("Transfers in load.mix need at least 2 load.clients");
+        }
+        invoice = invoice();
+        for (int i = 0; i < CLIENTS; i++) {
+            User user = userRepository.save(User.builder()
+                    .fullName("Load Client " + i)
+                    .email("load-client-" + i + "@example.com")
+                    .password("password")
+                    .role(UserRole.CLIENT)
+                    .active(true)
+                    .build());
+            Account account = accountRepository.save(Account.builder()
+                    .accountNumber(String.format("LOAD%012d", i))
+                    .balance(Money.of("100000000"))
+                    .owner(user)
+                    .build());
+            String token = jwtService.generateToken(new org.springframework.security.core.userdetails.User(
+                    user.getEmail(),
+                    user.getPassword(),
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_CLIENT"))));
+            clients.add(new Client(user, account, token));
+        }
+        loadReport.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Client client : clients) {
+            Long accountId = client.account().getId();
+            String operations = "SELECT id FROM operations WHERE source_account_id = ? OR destination_account_id = ?";
+            jdbcTemplate.update("DELETE FROM documents WHERE operation_id IN (" + operations + ")", accountId, accountId);
+            jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (" + operations + ")",
+                    accountId, accountId);
+            jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ? OR destination_account_id = ?",
+                    accountId, accountId);
+        }
+        for (Client client : clients) {
+            jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", client.account().getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", client.user().getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent clients should get through the mix without errors; logs per-endpoint figures")
+    void mixedLoad_reportsLatencyAndQueries() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(CLIENTS);
+        AtomicInteger sequence = new AtomicInteger();
+        long[] measuredFrom = new long[1];
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            int index = i;
+            running.add(workers.submit(() -> runClient(index, sequence, measuredFrom)));
+        }
+        for (Future<?> client : running) {
+            client.get(10, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - measuredFrom[0];
+        workers.shutdown();
+
+        log.info("{}: {} clients, mix {}, model latency {} ms{}{}", getClass().getSimpleName(), CLIENTS, MIX,
+                MODEL_LATENCY_MS, System.lineSeparator(), loadReport.summary(elapsed));
+        loadReport.writeCsv(Path.of(System.getProperty("load.report", "target/load-test-report.csv")), elapsed);
+
+        for (EndpointStats stats : loadReport.endpoints()) {
+            assertEquals(0, stats.errors(), stats.getEndpoint() + " had errors");
+            assertTrue(stats.queriesPerRequest() > 0, stats.getEndpoint() + " recorded no queries");
+        }
+        int measured = loadReport.endpoints().stream().mapToInt(EndpointStats::requests).sum();
+        assertEquals(REQUESTS, measured);
+    }
+
+    private void runClient(int index, AtomicInteger sequence, long[] measuredFrom) {
+        Client client = clients.get(index);
+        Client counterparty = clients.get((index + 1) % clients.size());
+        int seq;
+        while ((seq = sequence.getAndIncrement()) < WARMUP + REQUESTS) {
+            if (seq == WARMUP) {
+                measuredFrom[0] = System.nanoTime();
+            }
+            String endpoint = pick(mix);
+            HttpRequest.Builder request = request(endpoint, client, counterparty);
+            boolean measuredRequest = seq >= WARMUP;
+            if (measuredRequest) {
+                request.header(ENDPOINT_HEADER, endpoint);
+            }
+
+            long start = System.nanoTime();
+            int status = send(request.build());
+            long latency = System.nanoTime() - start;
+            if (measuredRequest) {
+                EndpointStats stats = loadReport.endpoint(endpoint);
+                stats.recordLatency(latency);
+                if (status != 200) {
+                    stats.recordError();
+                }
+            }
+        }
+    }
+
+    private HttpRequest.Builder request(String endpoint, Client client, Client counterparty) {
+        URI operations = URI.create("http://localhost:" + port + "/api/client/operations");
+        HttpRequest.Builder request = HttpRequest.newBuilder().header("Authorization", "Bearer " + client.token());
+        return switch (endpoint) {
+            case "deposit" -> post(request, operations, "{\"type\":\"DEPOSIT\",\"amount\":" + smallAmount() + "}");
+            case "withdrawal" -> post(request, operations,
+                    "{\"type\":\"WITHDRAWAL\",\"amount\":" + smallAmount() + "}");
+            case "transfer" -> post(request, operations, "{\"type\":\"TRANSFER\",\"amount\":" + smallAmount()
+                    + ",\"destinationAccountNumber\":\"" + counterparty.account().getAccountNumber() + "\"}");
+            case "history" -> request.uri(URI.create(operations + "?limit=20")).GET();
+            case "upload" -> upload(request, operations, pendingOperation(client));
+            default -> throw new IllegalArgumentException("Unknown endpoint in load.mix: " + endpoint);
+        };
+    }
+
+    private HttpRequest.Builder post(HttpRequest.Builder request, URI uri, String json) {
+        return request.uri(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    // Created directly, outside the measured request, as the operation a client would attach a document to
+    private Long pendingOperation(Client client) {
+        return operationRepository.save(Operation.builder()
+                .type(OperationType.DEPOSIT)
+                .amount(Money.of("15000"))
+                .status(OperationStatus.PENDING)
+                .accountSource(client.account())
+                .build()).getId();
+    }
+
+    private HttpRequest.Builder upload(HttpRequest.Builder request, URI operations, Long operationId) {
+        String boundary = "----load" + operationId;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"invoice.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(invoice);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return request.uri(URI.create(operations + "/" + operationId + "/document"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Below the default review threshold, so operations execute instead of queueing
+    private static String smallAmount() {
+        return ThreadLocalRandom.current().nextInt(1, 5000) + "." + ThreadLocalRandom.current().nextInt(10, 100);
+    }
+
+    private static String pick(Map<String, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int draw = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            weights.put(weight[0].trim(), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static byte[] invoice() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 12);
+                content.newLineAtOffset(50, 700);
+                content.showText("INVOICE - Amount: 15000.00 DH");
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
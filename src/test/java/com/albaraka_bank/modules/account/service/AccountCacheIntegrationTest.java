@@ -0,0 +1,173 @@
+package com.albaraka_bank.modules.account.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AccountCacheIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .fullName("Cached Client")
+                .email("cached@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("CACHE00000000001")
+                .balance(Money.of("1000.00"))
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    @DisplayName("A cached owner lookup should not load the account until something besides its id is read")
+    void getAccountByOwner_cachedIdIsNotLoaded() {
+        entityManager.flush();
+        entityManager.clear();
+        // As left by a committed lookup
+        accountCache.putAccount(account.getId(), owner.getId(), account.getAccountNumber());
+
+        Account cached = accountService.getAccountByOwner(owner);
+
+        assertFalse(Hibernate.isInitialized(cached));
+        assertEquals(account.getId(), cached.getId());
+        assertEquals("CACHE00000000001", cached.getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("A lookup should only be cached once its transaction commits")
+    void getAccountByOwner_notCachedBeforeCommit() {
+        accountService.getAccountByOwner(owner);
+
+        assertNull(accountCache.accountIdForOwner(owner.getId()));
+    }
+
+    @Test
+    @DisplayName("A renumbered account should no longer be found under its old number")
+    void getAccountByNumber_evictedWhenNumberChanges() {
+        accountCache.putAccount(account.getId(), owner.getId(), "CACHE00000000001");
+
+        account.setAccountNumber("CACHE00000000002");
+        entityManager.flush();
+
+        assertNull(accountCache.accountIdForNumber("CACHE00000000001"));
+        assertThrows(RuntimeException.class, () -> accountService.getAccountByNumber("CACHE00000000001"));
+        assertEquals(account.getId(), accountService.getAccountByNumber("CACHE00000000002").getId());
+    }
+
+    @Test
+    @DisplayName("An account moved to another owner should no longer be found through the old one")
+    void getAccountByOwner_evictedWhenOwnerChanges() {
+        accountCache.putAccount(account.getId(), owner.getId(), account.getAccountNumber());
+        User newOwner = userRepository.save(User.builder()
+                .fullName("New Owner")
+                .email("cached-new@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+
+        account.setOwner(newOwner);
+        entityManager.flush();
+
+        assertNull(accountCache.accountIdForOwner(owner.getId()));
+        assertThrows(RuntimeException.class, () -> accountService.getAccountByOwner(owner));
+        assertEquals(account.getId(), accountService.getAccountByOwner(newOwner).getId());
+    }
+
+    @Test
+    @DisplayName("Repeated balance reads of an unchanged row should be served from the view")
+    void getBalanceView_secondReadHitsCache() {
+        long hitsBefore = stats().hits();
+
+        accountService.getBalanceView(account);
+        accountService.getBalanceView(account);
+
+        assertTrue(stats().hits() >= hitsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("A deposit should evict the balance view")
+    void getBalanceView_evictedByCredit() {
+        assertEquals(0, new BigDecimal("1000.00").compareTo(accountService.getBalanceView(account)));
+
+        OperationRequest deposit = new OperationRequest();
+        deposit.setType(OperationType.DEPOSIT);
+        deposit.setAmount(new BigDecimal("250"));
+        operationService.createOperation(deposit, owner);
+
+        Account reloaded = accountService.getAccountByOwner(owner);
+        assertEquals(0, new BigDecimal("1250.00").compareTo(accountService.getBalanceView(reloaded)));
+    }
+
+    @Test
+    @DisplayName("A row changed elsewhere should not be answered from an older balance view")
+    void getBalanceView_versionedAgainstRow() {
+        accountService.getBalanceView(account);
+
+        // Another node moved money: the row version changes, this node's cache was not told
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE accounts SET balance = 400, version = version + 1 WHERE id = ?", account.getId());
+        entityManager.clear();
+
+        Account reloaded = accountService.getAccountByNumber(account.getAccountNumber());
+        assertEquals(0, new BigDecimal("400").compareTo(accountService.getBalanceView(reloaded)));
+    }
+
+    private AccountCache.Stats stats() {
+        return accountCache.stats().stream()
+                .filter(stats -> stats.region().equals("balance"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
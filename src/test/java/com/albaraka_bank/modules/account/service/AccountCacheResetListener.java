@@ -0,0 +1,18 @@
+package com.albaraka_bank.modules.account.service;
+
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+
+/**
+ * Many tests clean up with plain SQL, which {@link AccountCacheListener} never sees. Clearing the
+ * cache after each test keeps the next one from being answered with a deleted account's id.
+ */
+public class AccountCacheResetListener implements TestExecutionListener {
+
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        if (testContext.hasApplicationContext()) {
+            testContext.getApplicationContext().getBeanProvider(AccountCache.class).ifAvailable(AccountCache::clear);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.albaraka_bank.modules.account.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixes batches of several credits with debits on one hot account. A batch spreading its credits
+ * over several slots would deadlock with a debit locking every slot in order.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+// Slots only take credits in place
+@TestPropertySource(properties = "app.ledger.balance-mode=in-place")
+class HotAccountConcurrencyStressTest {
+
+    private static final int SLOTS = 4;
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+    private static final int CREDITS_PER_BATCH = 6;
+    private static final BigDecimal SLOT_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User merchant;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        merchant = userRepository.save(User.builder()
+                .fullName("Hot Merchant")
+                .email("hot-merchant@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("HOTSTRESS0000001")
+                .balance(Money.ZERO)
+                .owner(merchant)
+                .build());
+        accountService.setBalanceSlots(account.getAccountNumber(), SLOTS);
+        // An empty account row, so every debit draws from the slots
+        jdbcTemplate.update("UPDATE account_balance_slots SET balance = ? WHERE account_id = ?", SLOT_BALANCE,
+                account.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (SELECT id FROM operations"
+                + " WHERE source_account_id = ?)", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM account_balance_slots WHERE account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", merchant.getId());
+    }
+
+    @Test
+    @DisplayName("Multi-credit batches and debits on one hot account should neither deadlock nor lose money")
+    void creditBatchesAndDebits_onHotAccount_doNotDeadlock() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ROUNDS; i++) {
+            boolean credits = i % 2 == 0;
+            futures.add(pool.submit(() -> {
+                start.await();
+                operationService.createOperationsForAccounts(credits
+                        ? Collections.nCopies(CREDITS_PER_BATCH, request(OperationType.DEPOSIT))
+                        : List.of(request(OperationType.WITHDRAWAL)));
+                return null;
+            }));
+        }
+
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                // Throws if either side was picked as a deadlock victim or timed out on a lock
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            // Nothing may still be writing once the rows are cleaned up
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        int batches = ROUNDS / 2;
+        Money expected = Money.of(SLOT_BALANCE.multiply(BigDecimal.valueOf(SLOTS)))
+                .plus(Money.of(BigDecimal.valueOf((long) batches * CREDITS_PER_BATCH)))
+                .minus(Money.of(BigDecimal.valueOf(batches)));
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, expected.compareTo(accountService.getBalance(reloaded)));
+    }
+
+    private OperationRequest request(OperationType type) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(BigDecimal.ONE);
+        request.setSourceAccountNumber(account.getAccountNumber());
+        return request;
+    }
+}
@@ -0,0 +1,130 @@
+package com.albaraka_bank.modules.account.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.model.AccountBalanceSlot;
+import com.albaraka_bank.modules.account.repository.AccountBalanceSlotRepository;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HotAccountIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User merchant;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        merchant = userRepository.save(User.builder()
+                .fullName("Merchant")
+                .email("merchant@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+
+        account = accountRepository.save(Account.builder()
+                .accountNumber("HOT0000000000001")
+                .balance(Money.of("1000.00"))
+                .owner(merchant)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Credits should land in slots and debits should draw the row first, then the slots")
+    void hotAccount_creditsToSlots_debitsDrawAcrossSlots() {
+        accountService.setBalanceSlots(account.getAccountNumber(), 4);
+        assertEquals(4, balanceSlotRepository.findByAccountIdOrderBySlot(account.getId()).size());
+
+        for (int i = 0; i < 3; i++) {
+            operationService.createOperation(request(OperationType.DEPOSIT, "300"), merchant);
+        }
+
+        Account reloaded = reload();
+        assertEquals(0, Money.of("1000.00").compareTo(reloaded.getBalance()));
+        assertEquals(0, Money.of("1900.00").compareTo(accountService.getBalance(reloaded)));
+
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "1500"), merchant);
+
+        reloaded = reload();
+        assertEquals(0, reloaded.getBalance().signum());
+        assertEquals(0, Money.of("400.00").compareTo(accountService.getBalance(reloaded)));
+        List<AccountBalanceSlot> slots = balanceSlotRepository.findByAccountIdOrderBySlot(account.getId());
+        assertTrue(slots.stream().allMatch(slot -> slot.getBalance().signum() >= 0));
+    }
+
+    @Test
+    @DisplayName("Turning slots off should fold them back into the account row")
+    void setBalanceSlots_zero_foldsSlotsIntoRow() {
+        accountService.setBalanceSlots(account.getAccountNumber(), 8);
+        operationService.createOperation(request(OperationType.DEPOSIT, "250"), merchant);
+
+        accountService.setBalanceSlots(account.getAccountNumber(), 0);
+
+        Account reloaded = reload();
+        assertFalse(reloaded.hasBalanceSlots());
+        assertTrue(balanceSlotRepository.findByAccountIdOrderBySlot(account.getId()).isEmpty());
+        assertEquals(0, Money.of("1250.00").compareTo(reloaded.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Withdrawal above row plus slots should be rejected")
+    void hotAccount_withdrawalAboveTotal_throwsException() {
+        accountService.setBalanceSlots(account.getAccountNumber(), 4);
+        operationService.createOperation(request(OperationType.DEPOSIT, "100"), merchant);
+
+        assertThrows(RuntimeException.class,
+                () -> operationService.createOperation(request(OperationType.WITHDRAWAL, "1200"), merchant));
+    }
+
+    private Account reload() {
+        entityManager.flush();
+        entityManager.clear();
+        return accountRepository.findById(account.getId()).orElseThrow();
+    }
+
+    private OperationRequest request(OperationType type, String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
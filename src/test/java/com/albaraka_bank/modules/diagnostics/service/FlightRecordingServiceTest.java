@@ -0,0 +1,77 @@
+package com.albaraka_bank.modules.diagnostics.service;
+
+import com.albaraka_bank.common.jfr.JwtValidatedEvent;
+import com.albaraka_bank.common.jfr.OperationExecutedEvent;
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.diagnostics.dto.RecordingStatus;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    private final FlightRecordingService service =
+            new FlightRecordingService("default", Duration.ofMinutes(5), DataSize.ofMegabytes(20));
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("A dump should hold the application events emitted while recording")
+    void dump_containsApplicationEvents() throws Exception {
+        assertEquals("NONE", service.status().getState());
+        assertEquals("RUNNING", service.start().getState());
+
+        OperationExecutedEvent executed = new OperationExecutedEvent();
+        executed.begin();
+        executed.complete(42L, "TRANSFER", Money.of("1500.25"), 7L);
+        JwtValidatedEvent validated = new JwtValidatedEvent();
+        validated.begin();
+        validated.complete("accepted");
+
+        RecordingStatus stopped = service.stop();
+        assertEquals("STOPPED", stopped.getState());
+        assertEquals(Duration.ofMinutes(5), stopped.getMaxAge());
+
+        Path dump = service.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            RecordedEvent operation = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("com.albaraka_bank.OperationExecuted"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(42L, operation.getLong("operationId"));
+            assertEquals("TRANSFER", operation.getString("type"));
+            assertEquals(1500.25, operation.getDouble("amount"));
+            assertTrue(events.stream()
+                    .anyMatch(event -> event.getEventType().getName().equals("com.albaraka_bank.JwtValidated")));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    @DisplayName("Starting twice, or stopping or dumping without a recording, should fail")
+    void invalidTransitions_fail() {
+        assertThrows(IllegalStateException.class, service::stop);
+        assertThrows(IllegalStateException.class, service::dump);
+
+        service.start();
+        assertThrows(IllegalStateException.class, service::start);
+
+        service.stop();
+        assertEquals("RUNNING", service.start().getState());
+    }
+}
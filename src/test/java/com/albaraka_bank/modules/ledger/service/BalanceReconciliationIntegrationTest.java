@@ -0,0 +1,174 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.ledger.dto.BalanceDrift;
+import com.albaraka_bank.modules.ledger.dto.ReconciliationReport;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: ranges are read by pool threads, in their own transactions. Runs its own
+ * service with two-account ranges so even a handful of accounts is forked.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceReconciliationIntegrationTest {
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BalanceReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = userRepository.save(User.builder()
+                    .fullName("Reconciliation Client " + i)
+                    .email("reconciliation-client-" + i + "@example.com")
+                    .password("password")
+                    .role(UserRole.CLIENT)
+                    .active(true)
+                    .build());
+            users.add(user);
+            accounts.add(accountRepository.save(Account.builder()
+                    .accountNumber("RECON000000000" + i)
+                    .balance(Money.ZERO)
+                    .owner(user)
+                    .build()));
+        }
+        reconciliationService = new BalanceReconciliationService(dataSource, transactionManager, ledgerService,
+                meterRegistry, 2, 2, 100, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Account account : accounts) {
+            String ofAccount = "SELECT id FROM operations WHERE source_account_id = ? OR destination_account_id = ?";
+            jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (" + ofAccount + ")",
+                    account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM outbox_events WHERE account_id = ?", account.getId());
+            jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ? OR destination_account_id = ?",
+                    account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM account_balance_slots WHERE account_id = ?", account.getId());
+        }
+        accounts.forEach(account -> jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId()));
+        users.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId()));
+    }
+
+    @Test
+    @DisplayName("Balances kept by operations, balance slots included, should reconcile without drift")
+    void reconcile_balancesMatchOperations() {
+        createOperations();
+
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        assertTrue(report.getRanges() > 1);
+        assertTrue(report.getAccounts() >= accounts.size());
+        assertTrue(report.getOperations() >= 5);
+        assertTrue(driftsOfOurs(report).isEmpty());
+        assertEquals(1, meterRegistry.get("bank.reconciliation").tag("outcome", "success").timer().count());
+        assertEquals(report, reconciliationService.getLastReport().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A balance changed outside any operation should be reported with its drift")
+    void reconcile_reportsDrift() {
+        createOperations();
+        Account receiver = accounts.get(1);
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 12.34 WHERE id = ?", receiver.getId());
+
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        List<BalanceDrift> drifts = driftsOfOurs(report);
+        assertEquals(1, drifts.size());
+        BalanceDrift drift = drifts.get(0);
+        assertEquals(receiver.getAccountNumber(), drift.getAccountNumber());
+        assertEquals(new BigDecimal("250.00"), drift.getExpected());
+        assertEquals(new BigDecimal("262.34"), drift.getActual());
+        assertEquals(new BigDecimal("12.34"), drift.getDrift());
+        assertEquals(report.getDriftedAccounts(),
+                meterRegistry.get("bank.reconciliation.drifted.accounts").gauge().value());
+        assertTrue(report.getTotalAbsoluteDrift().compareTo(new BigDecimal("12.34")) >= 0);
+    }
+
+    // Account 0 ends at 700, account 1 at 250, account 2 at 35 spread over balance slots
+    private void createOperations() {
+        User first = users.get(0);
+        operationService.createOperation(request(OperationType.DEPOSIT, "1000", null), first);
+        operationService.createOperation(
+                request(OperationType.TRANSFER, "300", accounts.get(1).getAccountNumber()), first);
+        assertEquals(OperationStatus.PENDING,
+                operationService.createOperation(request(OperationType.DEPOSIT, "15000", null), first).getStatus());
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "50", null), users.get(1));
+
+        operationService.createOperation(request(OperationType.DEPOSIT, "20", null), users.get(2));
+        accountService.setBalanceSlots(accounts.get(2).getAccountNumber(), 4);
+        operationService.createOperation(request(OperationType.DEPOSIT, "15", null), users.get(2));
+    }
+
+    private List<BalanceDrift> driftsOfOurs(ReconciliationReport report) {
+        Set<Long> ours = Set.of(accounts.get(0).getId(), accounts.get(1).getId(), accounts.get(2).getId());
+        return report.getDrifts().stream()
+                .filter(drift -> ours.contains(drift.getAccountId()))
+                .toList();
+    }
+
+    private static OperationRequest request(OperationType type, String amount, String destinationAccountNumber) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        request.setDestinationAccountNumber(destinationAccountNumber);
+        return request;
+    }
+}
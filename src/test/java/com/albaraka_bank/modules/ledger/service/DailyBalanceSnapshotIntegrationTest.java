@@ -0,0 +1,146 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.ledger.model.DailyBalanceSnapshot;
+import com.albaraka_bank.modules.ledger.repository.DailyBalanceSnapshotRepository;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DailyBalanceSnapshotIntegrationTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 3, 10);
+    private static final LocalDate DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDate DAY_3 = DAY_1.plusDays(2);
+    private static final LocalDate DAY_4 = DAY_1.plusDays(3);
+
+    @Autowired
+    private DailyBalanceSnapshotJob snapshotJob;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private DailyBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Account account;
+    private Account dormant;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(Account.builder()
+                .accountNumber("DAILY00000000001")
+                .balance(Money.of("1000.00"))
+                .owner(user("daily@example.com"))
+                .build());
+        dormant = accountRepository.save(Account.builder()
+                .accountNumber("DAILY00000000002")
+                .balance(Money.of("700.00"))
+                .owner(user("dormant@example.com"))
+                .build());
+
+        post(OperationType.DEPOSIT, "500", DAY_1.atTime(10, 0));
+        post(OperationType.WITHDRAWAL, "200", DAY_2.atTime(9, 0));
+        post(OperationType.DEPOSIT, "100", DAY_4.atTime(10, 0));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Only days with entries should be snapshotted, each from the previous closing balance")
+    void snapshotUpTo_writesActiveDaysOnly() {
+        assertEquals(3, snapshotJob.snapshotUpTo(DAY_4));
+
+        List<DailyBalanceSnapshot> snapshots = snapshotRepository.findByAccountIdOrderByBusinessDate(account.getId());
+        assertEquals(List.of(DAY_1, DAY_2, DAY_4), snapshots.stream().map(DailyBalanceSnapshot::getBusinessDate).toList());
+        assertEquals(0, new BigDecimal("1500").compareTo(snapshots.get(0).getClosingBalance()));
+        assertEquals(0, new BigDecimal("1300").compareTo(snapshots.get(1).getClosingBalance()));
+        assertEquals(0, new BigDecimal("1400").compareTo(snapshots.get(2).getClosingBalance()));
+        assertTrue(snapshotRepository.findByAccountIdOrderByBusinessDate(dormant.getId()).isEmpty());
+
+        assertEquals(0, snapshotJob.snapshotUpTo(DAY_4));
+    }
+
+    @Test
+    @DisplayName("Balance at a time should be the same whether or not snapshots exist")
+    void balanceAt_sameWithAndWithoutSnapshots() {
+        List<LocalDateTime> times = List.of(
+                DAY_1.atStartOfDay(), DAY_1.atTime(12, 0), DAY_3.atTime(12, 0),
+                DAY_4.atTime(9, 0), DAY_4.atTime(11, 0), DAY_4.plusDays(30).atStartOfDay());
+        List<String> expected = List.of("1000", "1500", "1300", "1300", "1400", "1400");
+
+        for (int i = 0; i < times.size(); i++) {
+            assertEquals(0, new BigDecimal(expected.get(i)).compareTo(
+                    balanceHistoryService.balanceAt(account, times.get(i))), "Without snapshots at " + times.get(i));
+        }
+
+        snapshotJob.snapshotUpTo(DAY_4);
+        for (int i = 0; i < times.size(); i++) {
+            assertEquals(0, new BigDecimal(expected.get(i)).compareTo(
+                    balanceHistoryService.balanceAt(account, times.get(i))), "With snapshots at " + times.get(i));
+        }
+        assertEquals(0, new BigDecimal("700").compareTo(balanceHistoryService.openingBalance(dormant, DAY_2)));
+    }
+
+    private void post(OperationType type, String amount, LocalDateTime executedAt) {
+        Operation operation = operationRepository.save(Operation.builder()
+                .type(type)
+                .amount(Money.of(amount))
+                .status(OperationStatus.EXECUTED)
+                .accountSource(account)
+                .executedAt(executedAt)
+                .build());
+        ledgerService.record(operation);
+        Money signed = type == OperationType.DEPOSIT ? operation.getAmount() : operation.getAmount().negate();
+        account.setBalance(account.getBalance().plus(signed));
+        account = accountRepository.save(account);
+    }
+
+    private User user(String email) {
+        return userRepository.save(User.builder()
+                .fullName("Daily Client")
+                .email(email)
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+    }
+}
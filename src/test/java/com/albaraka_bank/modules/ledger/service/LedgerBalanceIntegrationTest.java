@@ -0,0 +1,154 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.ledger.model.EntryDirection;
+import com.albaraka_bank.modules.ledger.model.LedgerEntry;
+import com.albaraka_bank.modules.ledger.repository.LedgerEntryRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.ledger.balance-mode=ledger")
+@Transactional
+class LedgerBalanceIntegrationTest {
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerSnapshotJob ledgerSnapshotJob;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User client;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        client = userRepository.save(User.builder()
+                .fullName("Ledger Client")
+                .email("ledger@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+
+        account = accountRepository.save(Account.builder()
+                .accountNumber("LEDGER0000000001")
+                .balance(Money.of("1000.00"))
+                .owner(client)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Operations should only append ledger entries and the balance should be derived from them")
+    void operations_appendEntries_balanceDerivedFromLedger() {
+        OperationResponse deposit = operationService.createOperation(request(OperationType.DEPOSIT, "500"), client);
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "200"), client);
+
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, Money.of("1000.00").compareTo(reloaded.getBalance()));
+        assertEquals(0, Money.of("1300.00").compareTo(accountService.getBalance(reloaded)));
+
+        List<LedgerEntry> legs = ledgerEntryRepository.findByOperationId(deposit.getId());
+        assertEquals(2, legs.size());
+        BigDecimal debits = sum(legs, EntryDirection.DEBIT);
+        BigDecimal credits = sum(legs, EntryDirection.CREDIT);
+        assertEquals(0, debits.compareTo(credits));
+    }
+
+    @Test
+    @DisplayName("Snapshot should fold posted entries into the account row without changing the balance")
+    void snapshot_foldsEntriesIntoAccountRow() {
+        operationService.createOperation(request(OperationType.DEPOSIT, "500"), client);
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "200"), client);
+
+        assertEquals(1, ledgerSnapshotJob.snapshotUpTo(LocalDateTime.now().plusSeconds(1)));
+        entityManager.clear();
+
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, Money.of("1300.00").compareTo(reloaded.getBalance()));
+        assertNotNull(reloaded.getBalanceAsOf());
+        assertEquals(0, Money.of("1300.00").compareTo(accountService.getBalance(reloaded)));
+    }
+
+    @Test
+    @DisplayName("Balance at a time should count entries on either side of the row snapshot")
+    void balanceAt_workedBackFromLedgerSnapshot() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        operationService.createOperation(request(OperationType.DEPOSIT, "500"), client);
+        LocalDateTime between = LocalDateTime.now().plusNanos(1000);
+        ledgerSnapshotJob.snapshotUpTo(between);
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "200"), client);
+        entityManager.clear();
+
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(balanceHistoryService.balanceAt(reloaded, before)));
+        assertEquals(0, new BigDecimal("1500.00").compareTo(balanceHistoryService.balanceAt(reloaded, between)));
+        assertEquals(0, new BigDecimal("1300.00").compareTo(
+                balanceHistoryService.balanceAt(reloaded, LocalDateTime.now().plusSeconds(1))));
+    }
+
+    @Test
+    @DisplayName("Withdrawal above the derived balance should be rejected")
+    void withdrawal_aboveDerivedBalance_throwsException() {
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "800"), client);
+
+        assertThrows(RuntimeException.class,
+                () -> operationService.createOperation(request(OperationType.WITHDRAWAL, "300"), client));
+    }
+
+    private OperationRequest request(OperationType type, String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private BigDecimal sum(List<LedgerEntry> legs, EntryDirection direction) {
+        return legs.stream()
+                .filter(leg -> leg.getDirection() == direction)
+                .map(LedgerEntry::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,138 @@
+package com.albaraka_bank.modules.ledger.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: entries are only dated once their transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "app.ledger.balance-mode=ledger")
+class LedgerSnapshotCommitIntegrationTest {
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerSnapshotJob ledgerSnapshotJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User client;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        client = userRepository.save(User.builder()
+                .fullName("Slow Ledger Client")
+                .email("slow-ledger@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("LEDGER0000000002")
+                .balance(Money.of("1000.00"))
+                .owner(client)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        String ofAccount = "SELECT id FROM operations WHERE source_account_id = ?";
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (" + ofAccount + ")", account.getId());
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", client.getId());
+    }
+
+    @Test
+    @DisplayName("An entry committed after a snapshot passed its execution time should still count")
+    void entryCommittedAfterSnapshot_isCounted() throws Exception {
+        operationService.createOperation(deposit("100"), client);
+
+        CountDownLatch executed = new CountDownLatch(1);
+        CountDownLatch snapshotTaken = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            operationService.createOperation(deposit("500"), client);
+            executed.countDown();
+            await(snapshotTaken);
+        }));
+
+        assertTrue(executed.await(30, TimeUnit.SECONDS));
+        // Past the open transaction's execution time, as a snapshot lagging less than it stays open would be
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Thread.sleep(5);
+        assertEquals(1, ledgerSnapshotJob.snapshotUpTo(cutoff));
+        snapshotTaken.countDown();
+        slow.get(30, TimeUnit.SECONDS);
+
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, Money.of("1100.00").compareTo(reloaded.getBalance()));
+        assertEquals(0, Money.of("1600.00").compareTo(accountService.getBalance(reloaded)));
+
+        // A later snapshot folds it in without counting it twice
+        ledgerSnapshotJob.snapshotUpTo(LocalDateTime.now().plusSeconds(1));
+        reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, Money.of("1600.00").compareTo(reloaded.getBalance()));
+        assertEquals(0, Money.of("1600.00").compareTo(accountService.getBalance(reloaded)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OperationRequest deposit(String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(OperationType.DEPOSIT);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
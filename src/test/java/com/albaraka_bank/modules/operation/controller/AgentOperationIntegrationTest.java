@@ -1,5 +1,6 @@
 package com.albaraka_bank.modules.operation.controller;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.account.repository.AccountRepository;
 import com.albaraka_bank.modules.iam.model.User;
@@ -10,6 +11,8 @@ import com.albaraka_bank.modules.operation.model.Operation;
 import com.albaraka_bank.modules.operation.model.OperationStatus;
 import com.albaraka_bank.modules.operation.model.OperationType;
 import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.dto.OperationBatchRequest;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -25,6 +29,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -89,14 +95,14 @@ class AgentOperationIntegrationTest {
 
         clientAccount = Account.builder()
                 .accountNumber("1111111111111111")
-                .balance(new BigDecimal("10000"))
+                .balance(Money.of("10000"))
                 .owner(clientUser)
                 .build();
         accountRepository.save(clientAccount);
 
         pendingOperation = Operation.builder()
                 .type(OperationType.DEPOSIT)
-                .amount(new BigDecimal("15000"))
+                .amount(Money.of("15000"))
                 .status(OperationStatus.PENDING)
                 .accountSource(clientAccount)
                 .build();
@@ -121,7 +127,7 @@ class AgentOperationIntegrationTest {
     @Test
     @DisplayName("Approve operation should set status to EXECUTED and update balance")
     void approveOperation_updatesStatusAndBalance() throws Exception {
-        BigDecimal initialBalance = clientAccount.getBalance();
+        Money initialBalance = clientAccount.getBalance();
 
         mockMvc.perform(put("/api/agent/operations/" + pendingOperation.getId() + "/approve")
                 .header("Authorization", "Bearer " + agentToken))
@@ -129,13 +135,13 @@ class AgentOperationIntegrationTest {
                 .andExpect(jsonPath("$.status").value("EXECUTED"));
 
         Account updatedAccount = accountRepository.findById(clientAccount.getId()).orElseThrow();
-        assertEquals(initialBalance.add(pendingOperation.getAmount()), updatedAccount.getBalance());
+        assertEquals(0, initialBalance.plus(pendingOperation.getAmount()).compareTo(updatedAccount.getBalance()));
     }
 
     @Test
     @DisplayName("Reject operation should set status to CANCELLED without balance change")
     void rejectOperation_updatesStatusWithoutBalanceChange() throws Exception {
-        BigDecimal initialBalance = clientAccount.getBalance();
+        Money initialBalance = clientAccount.getBalance();
 
         mockMvc.perform(put("/api/agent/operations/" + pendingOperation.getId() + "/reject")
                 .header("Authorization", "Bearer " + agentToken))
@@ -146,6 +152,106 @@ class AgentOperationIntegrationTest {
         assertEquals(initialBalance, updatedAccount.getBalance());
     }
 
+    @Test
+    @DisplayName("Claimed operations should be leased to the agent and decided by them")
+    void claimOperations_leasesPendingToAgent() throws Exception {
+        mockMvc.perform(post("/api/agent/operations/claims")
+                .param("limit", "5")
+                .header("Authorization", "Bearer " + agentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.leaseExpiresAt").exists())
+                .andExpect(jsonPath("$.operations[0].id").value(pendingOperation.getId()));
+
+        Operation claimed = operationRepository.findById(pendingOperation.getId()).orElseThrow();
+        assertEquals(agentUser.getId(), claimed.getClaimedBy().getId());
+
+        mockMvc.perform(put("/api/agent/operations/claims/heartbeat")
+                .header("Authorization", "Bearer " + agentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operations[0].id").value(pendingOperation.getId()));
+
+        mockMvc.perform(put("/api/agent/operations/" + pendingOperation.getId() + "/approve")
+                .header("Authorization", "Bearer " + agentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("EXECUTED"));
+    }
+
+    @Test
+    @DisplayName("Bulk approve should execute what it can and report an outcome per id")
+    void approveOperations_reportsOutcomePerId() throws Exception {
+        Operation overdraft = operationRepository.save(Operation.builder()
+                .type(OperationType.WITHDRAWAL)
+                .amount(Money.of("50000"))
+                .status(OperationStatus.PENDING)
+                .accountSource(clientAccount)
+                .build());
+        Operation secondDeposit = operationRepository.save(Operation.builder()
+                .type(OperationType.DEPOSIT)
+                .amount(Money.of("12000"))
+                .status(OperationStatus.PENDING)
+                .accountSource(clientAccount)
+                .build());
+        Long unknownId = overdraft.getId() + 1000;
+
+        mockMvc.perform(put("/api/agent/operations/approve")
+                .header("Authorization", "Bearer " + agentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("operationIds",
+                        List.of(pendingOperation.getId(), overdraft.getId(), secondDeposit.getId(), unknownId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("EXECUTED"))
+                .andExpect(jsonPath("$[1].status").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("Insufficient balance for withdrawal"))
+                .andExpect(jsonPath("$[2].status").value("EXECUTED"))
+                .andExpect(jsonPath("$[3].error").value("Operation not found"));
+
+        Account updatedAccount = accountRepository.findById(clientAccount.getId()).orElseThrow();
+        assertEquals(0, Money.of("37000").compareTo(updatedAccount.getBalance()));
+        assertEquals(OperationStatus.PENDING, operationRepository.findById(overdraft.getId()).orElseThrow().getStatus());
+
+        mockMvc.perform(put("/api/agent/operations/reject")
+                .header("Authorization", "Bearer " + agentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("operationIds",
+                        List.of(overdraft.getId(), pendingOperation.getId())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CANCELLED"))
+                .andExpect(jsonPath("$[1].error").value("Only pending operations can be rejected"));
+    }
+
+    @Test
+    @DisplayName("Agent batch should submit operations for the named source accounts")
+    void createOperations_batch_usesNamedSourceAccounts() throws Exception {
+        OperationRequest deposit = new OperationRequest();
+        deposit.setType(OperationType.DEPOSIT);
+        deposit.setAmount(new BigDecimal("2500"));
+        deposit.setSourceAccountNumber(clientAccount.getAccountNumber());
+
+        OperationRequest unknown = new OperationRequest();
+        unknown.setType(OperationType.DEPOSIT);
+        unknown.setAmount(new BigDecimal("100"));
+        unknown.setSourceAccountNumber("9999999999999999");
+
+        OperationBatchRequest batch = new OperationBatchRequest();
+        batch.setOperations(List.of(deposit));
+
+        mockMvc.perform(post("/api/agent/operations/batch")
+                .header("Authorization", "Bearer " + agentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("EXECUTED"))
+                .andExpect(jsonPath("$[0].sourceAccountNumber").value(clientAccount.getAccountNumber()));
+
+        batch.setOperations(List.of(deposit, unknown));
+        mockMvc.perform(post("/api/agent/operations/batch")
+                .header("Authorization", "Bearer " + agentToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Operation 1: Source account not found"));
+    }
+
     @Test
     @DisplayName("CLIENT should not access agent endpoints")
     void agentEndpoint_accessedByClient_returnsForbidden() throws Exception {
@@ -1,14 +1,20 @@
 package com.albaraka_bank.modules.operation.controller;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
 import com.albaraka_bank.modules.account.repository.AccountRepository;
 import com.albaraka_bank.modules.iam.model.User;
 import com.albaraka_bank.modules.iam.model.UserRole;
 import com.albaraka_bank.modules.iam.repository.UserRepository;
 import com.albaraka_bank.modules.iam.service.JwtService;
+import com.albaraka_bank.modules.operation.dto.OperationBatchRequest;
 import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
 import com.albaraka_bank.modules.operation.model.OperationType;
 import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,10 +27,18 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -77,7 +91,7 @@ class ClientOperationIntegrationTest {
 
         clientAccount = Account.builder()
                 .accountNumber("1111111111111111")
-                .balance(new BigDecimal("50000"))
+                .balance(Money.of("50000"))
                 .owner(clientUser)
                 .build();
         accountRepository.save(clientAccount);
@@ -147,7 +161,7 @@ class ClientOperationIntegrationTest {
 
         Account destinationAccount = Account.builder()
                 .accountNumber("2222222222222222")
-                .balance(new BigDecimal("1000"))
+                .balance(Money.of("1000"))
                 .owner(destinationUser)
                 .build();
         accountRepository.save(destinationAccount);
@@ -165,6 +179,80 @@ class ClientOperationIntegrationTest {
                 .andExpect(jsonPath("$.status").value("EXECUTED"));
     }
 
+    @Test
+    @DisplayName("Replaying an Idempotency-Key should return the original operation without executing again")
+    void createOperation_sameIdempotencyKey_executesOnce() throws Exception {
+        OperationRequest request = request(OperationType.WITHDRAWAL, "1000");
+
+        String first = mockMvc.perform(post("/api/client/operations")
+                .header("Authorization", "Bearer " + clientToken)
+                .header("Idempotency-Key", "withdrawal-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/client/operations")
+                .header("Authorization", "Bearer " + clientToken)
+                .header("Idempotency-Key", "withdrawal-42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(objectMapper.readTree(first).get("id").asLong()));
+
+        assertEquals(1, operationRepository.count());
+        Account reloaded = accountRepository.findById(clientAccount.getId()).orElseThrow();
+        assertEquals(0, Money.of("49000").compareTo(reloaded.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Batch submission should execute each operation against the running balance")
+    void createOperations_batch_executesInOrder() throws Exception {
+        OperationBatchRequest batch = new OperationBatchRequest();
+        batch.setOperations(List.of(
+                request(OperationType.WITHDRAWAL, "30000"),
+                request(OperationType.DEPOSIT, "5000"),
+                request(OperationType.WITHDRAWAL, "9000"),
+                request(OperationType.DEPOSIT, "20000")));
+
+        mockMvc.perform(post("/api/client/operations/batch")
+                .header("Authorization", "Bearer " + clientToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value("PENDING"))
+                .andExpect(jsonPath("$[1].status").value("EXECUTED"))
+                .andExpect(jsonPath("$[2].status").value("EXECUTED"))
+                .andExpect(jsonPath("$[3].status").value("PENDING"));
+
+        Account reloaded = accountRepository.findById(clientAccount.getId()).orElseThrow();
+        assertEquals(0, Money.of("46000").compareTo(reloaded.getBalance()));
+        assertEquals(4, operationRepository.count());
+    }
+
+    @Test
+    @DisplayName("Batch exceeding the balance part-way should be rejected as a whole")
+    void createOperations_batchOverdraws_rejectsAll() throws Exception {
+        OperationBatchRequest batch = new OperationBatchRequest();
+        batch.setOperations(List.of(
+                request(OperationType.WITHDRAWAL, "10000"),
+                request(OperationType.WITHDRAWAL, "10000"),
+                request(OperationType.WITHDRAWAL, "10000"),
+                request(OperationType.WITHDRAWAL, "10000"),
+                request(OperationType.WITHDRAWAL, "10000"),
+                request(OperationType.WITHDRAWAL, "10000")));
+
+        mockMvc.perform(post("/api/client/operations/batch")
+                .header("Authorization", "Bearer " + clientToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Operation 5: Insufficient balance"));
+
+        assertEquals(0, operationRepository.count());
+    }
+
     @Test
     @DisplayName("Get operations should return list of user operations")
     void getOperations_returnsUserOperations() throws Exception {
@@ -174,6 +262,103 @@ class ClientOperationIntegrationTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    @DisplayName("History should page by cursor, apply filters and hide incoming pending transfers")
+    void getOperations_pagesByCursorWithFilters() throws Exception {
+        User otherUser = userRepository.save(User.builder()
+                .fullName("Other User")
+                .email("other@example.com")
+                .password(passwordEncoder.encode("password"))
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        Account otherAccount = accountRepository.save(Account.builder()
+                .accountNumber("2222222222222222")
+                .balance(Money.of("50000"))
+                .owner(otherUser)
+                .build());
+
+        for (int i = 1; i <= 5; i++) {
+            saveOperation(OperationType.DEPOSIT, OperationStatus.EXECUTED, String.valueOf(i * 100), clientAccount, null);
+        }
+        saveOperation(OperationType.WITHDRAWAL, OperationStatus.EXECUTED, "50", clientAccount, null);
+        saveOperation(OperationType.TRANSFER, OperationStatus.EXECUTED, "700", otherAccount, clientAccount);
+        saveOperation(OperationType.TRANSFER, OperationStatus.PENDING, "20000", otherAccount, clientAccount);
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/client/operations")
+                    .header("Authorization", "Bearer " + clientToken)
+                    .param("limit", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<OperationResponse> page = objectMapper.readValue(result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    });
+            assertTrue(page.size() <= 3);
+            page.forEach(op -> assertTrue(seen.add(op.getId()), "Operation listed twice: " + op.getId()));
+            cursor = result.getResponse().getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(7, seen.size());
+        assertEquals(3, pages);
+
+        mockMvc.perform(get("/api/client/operations")
+                .header("Authorization", "Bearer " + clientToken)
+                .param("type", "DEPOSIT")
+                .param("minAmount", "200")
+                .param("maxAmount", "400"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].amount").value(400));
+
+        mockMvc.perform(get("/api/client/operations")
+                .header("Authorization", "Bearer " + clientToken)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Statement should be streamed as an attachment in the requested format")
+    void exportStatement_streamsAttachment() throws Exception {
+        MvcResult csv = mockMvc.perform(get("/api/client/operations/statement")
+                .header("Authorization", "Bearer " + clientToken))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"statement-1111111111111111.csv\""))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(startsWith("date,operation_id,type,status,direction,amount,counterparty")));
+
+        MvcResult pdf = mockMvc.perform(get("/api/client/operations/statement")
+                .header("Authorization", "Bearer " + clientToken)
+                .param("format", "PDF")
+                .param("from", "2025-01-01")
+                .param("to", "2025-01-31"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(pdf))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(content().string(startsWith("%PDF")));
+
+        mockMvc.perform(get("/api/client/operations/statement")
+                .header("Authorization", "Bearer " + clientToken)
+                .param("from", "2025-02-01")
+                .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Unauthenticated request should be rejected")
     void createOperation_noAuth_returnsUnauthorized() throws Exception {
@@ -186,4 +371,22 @@ class ClientOperationIntegrationTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().is4xxClientError());
     }
+
+    private void saveOperation(OperationType type, OperationStatus status, String amount, Account source,
+            Account destination) {
+        operationRepository.save(Operation.builder()
+                .type(type)
+                .status(status)
+                .amount(Money.of(amount))
+                .accountSource(source)
+                .accountDestination(destination)
+                .build());
+    }
+
+    private OperationRequest request(OperationType type, String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
 }
@@ -0,0 +1,230 @@
+package com.albaraka_bank.modules.operation.controller;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.iam.service.JwtService;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uploads documents concurrently against a real Tomcat while the AI model answers after a fixed
+ * delay, and prints the throughput. Runs on a small platform thread pool here;
+ * {@link VirtualThreadDocumentUploadThroughputBenchmarkTest} reruns it on virtual threads (Java 21).
+ * Tagged {@code benchmark}: {@code mvn test -Pjava21 -Dgroups=benchmark -DexcludedGroups=}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(DocumentUploadThroughputBenchmarkTest.SlowModelConfig.class)
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=16",
+        "app.storage.location=target/benchmark-uploads"
+})
+class DocumentUploadThroughputBenchmarkTest {
+
+    private static final int UPLOADS = 160;
+    private static final int CONCURRENCY = 80;
+    private static final long MODEL_LATENCY_MS = 200;
+
+    private static byte[] invoice;
+
+    @TestConfiguration
+    static class SlowModelConfig {
+        @Bean
+        @Primary
+        ChatModel slowChatModel() {
+            return prompt -> {
+                try {
+                    Thread.sleep(MODEL_LATENCY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ChatResponse(List.of(new Generation(
+                        new AssistantMessage("DECISION: APPROVE\nREASONING: Invoice amount matches"))));
+            };
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Account account;
+    private final List<Operation> operations = new ArrayList<>();
+    private String token;
+
+    @BeforeAll
+    static void createInvoice() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 12);
+                content.newLineAtOffset(50, 700);
+                content.showText("INVOICE - Amount: 15000.00 DH");
+                content.endText();
+            }
+            document.save(out);
+            invoice = out.toByteArray();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .fullName("Upload Client")
+                .email("uploads@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("UPLOAD0000000001")
+                .balance(Money.of("1000000"))
+                .owner(user)
+                .build());
+        for (int i = 0; i < UPLOADS; i++) {
+            operations.add(operationRepository.save(Operation.builder()
+                    .type(OperationType.DEPOSIT)
+                    .amount(Money.of("15000"))
+                    .status(OperationStatus.PENDING)
+                    .accountSource(account)
+                    .build()));
+        }
+        token = jwtService.generateToken(new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                user.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_CLIENT"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM documents WHERE operation_id IN (SELECT id FROM operations"
+                + " WHERE source_account_id = ?)", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+
+    @Test
+    @DisplayName("Concurrent uploads should all be analyzed; prints uploads per second")
+    void concurrentUploads_throughput() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (Operation operation : operations) {
+            responses.add(CompletableFuture.supplyAsync(() -> upload(http, operation.getId()), clients));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get(2, TimeUnit.MINUTES).statusCode());
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        clients.shutdown();
+
+        log.info("{}: {} uploads in {} ms ({}/s, model latency {} ms, concurrency {})",
+                getClass().getSimpleName(), UPLOADS, elapsedMs, "%.1f".formatted(UPLOADS * 1000.0 / elapsedMs),
+                MODEL_LATENCY_MS, CONCURRENCY);
+
+        for (Operation operation : operations) {
+            String analysis = operationRepository.findById(operation.getId()).orElseThrow().getAiAnalysis();
+            assertNotNull(analysis);
+            assertTrue(analysis.startsWith("APPROVE"), analysis);
+        }
+    }
+
+    private HttpResponse<String> upload(HttpClient http, Long operationId) {
+        String boundary = "----benchmark" + operationId;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"invoice.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(invoice);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + port + "/api/client/operations/" + operationId + "/document"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.albaraka_bank.modules.operation.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Same uploads with Tomcat on virtual threads; {@code server.tomcat.threads.max} no longer caps
+ * how many requests can wait on the model at once. Needs Java 21, otherwise identical to the base run.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadDocumentUploadThroughputBenchmarkTest extends DocumentUploadThroughputBenchmarkTest {
+}
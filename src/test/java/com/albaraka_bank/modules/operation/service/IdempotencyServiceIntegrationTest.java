@@ -0,0 +1,116 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: the replay relies on the duplicate insert failing and rolling back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .fullName("Retrying Client")
+                .email("retry@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+
+        account = accountRepository.save(Account.builder()
+                .accountNumber("IDEMPOTENT000001")
+                .balance(Money.of("1000.00"))
+                .owner(user)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN"
+                + " (SELECT id FROM operations WHERE source_account_id = ?)", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+
+    @Test
+    @DisplayName("A key unknown to the cache should still be replayed from the idempotency_keys table")
+    void createOperation_keyMissingFromCache_replaysFromDatabase() {
+        OperationResponse original = idempotencyService.createOperation(withdrawal(), user, "payment-7");
+
+        // A second node, or this one after the key was evicted, has nothing cached
+        IdempotencyService otherNode = new IdempotencyService(operationService, idempotencyKeyRepository,
+                16, Duration.ofDays(1));
+        OperationResponse replayed = otherNode.createOperation(withdrawal(), user, "payment-7");
+
+        assertEquals(original.getId(), replayed.getId());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM operations WHERE source_account_id = ?", Integer.class, account.getId()));
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, Money.of("700.00").compareTo(reloaded.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Different keys should create separate operations")
+    void createOperation_differentKeys_createBoth() {
+        OperationResponse first = idempotencyService.createOperation(withdrawal(), user, "payment-1");
+        OperationResponse second = idempotencyService.createOperation(withdrawal(), user, "payment-2");
+
+        assertNotEquals(first.getId(), second.getId());
+        Account reloaded = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, Money.of("400.00").compareTo(reloaded.getBalance()));
+    }
+
+    private OperationRequest withdrawal() {
+        OperationRequest request = new OperationRequest();
+        request.setType(OperationType.WITHDRAWAL);
+        request.setAmount(new BigDecimal("300"));
+        return request;
+    }
+}
@@ -0,0 +1,137 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.dto.OperationPage;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Document;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.DocumentRepository;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OperationListingQueryCountIntegrationTest {
+
+    private static final int OPERATIONS = 60;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .fullName("Listing Client")
+                .email("listing@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .accountNumber("LIST000000000001")
+                .balance(Money.of("100000"))
+                .owner(user)
+                .build());
+        Account other = accountRepository.save(Account.builder()
+                .accountNumber("LIST000000000002")
+                .balance(Money.of("100000"))
+                .owner(userRepository.save(User.builder()
+                        .fullName("Listing Payee")
+                        .email("payee@example.com")
+                        .password("password")
+                        .role(UserRole.CLIENT)
+                        .active(true)
+                        .build()))
+                .build());
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            Operation operation = operationRepository.save(Operation.builder()
+                    .type(OperationType.TRANSFER)
+                    .amount(Money.of("15000"))
+                    .status(OperationStatus.PENDING)
+                    .accountSource(account)
+                    .accountDestination(other)
+                    .build());
+            if (i % 2 == 0) {
+                documentRepository.save(Document.builder()
+                        .fileName("invoice-" + i + ".pdf")
+                        .fileType("application/pdf")
+                        .storagePath("/tmp/invoice-" + i + ".pdf")
+                        .operation(operation)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Pending list should be one query however many operations it holds")
+    void getPendingOperations_singleQuery() {
+        List<OperationResponse> operations = operationService.getPendingOperations();
+
+        assertEquals(OPERATIONS, operations.size());
+        assertEquals(OPERATIONS / 2, operations.stream().filter(OperationResponse::isHasDocument).count());
+        assertTrue(operations.stream().allMatch(op -> "LIST000000000002".equals(op.getDestinationAccountNumber())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("History page should cost the account lookup plus one query per side")
+    void getOperationsByUser_constantQueries() {
+        OperationHistoryFilter filter = new OperationHistoryFilter();
+        filter.setLimit(50);
+
+        OperationPage page = operationService.getOperationsByUser(user, filter);
+
+        assertEquals(50, page.getOperations().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals("LIST000000000001", page.getOperations().get(0).getSourceAccountNumber());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,57 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.benchmark.InMemoryStubs;
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.DocumentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OperationService#mapToResponse(Operation)} for a settled transfer, with the document
+ * lookup answered in memory. Only the mapping is exercised, so every other collaborator is null.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OperationMappingBenchmark {
+
+    private OperationService operationService;
+    private Operation operation;
+
+    @Setup
+    public void setUp() {
+        operationService = new OperationService(null, InMemoryStubs.repository(DocumentRepository.class),
+                null, null, null, null, null, null, null, null, null, null, null, null, null);
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 14, 9, 30);
+        operation = Operation.builder()
+                .id(42L)
+                .type(OperationType.TRANSFER)
+                .amount(Money.of("15000.00"))
+                .status(OperationStatus.EXECUTED)
+                .createdAt(createdAt)
+                .validatedAt(createdAt.plusMinutes(5))
+                .executedAt(createdAt.plusMinutes(5))
+                .accountSource(Account.builder().id(1L).accountNumber("ALB000000000001").build())
+                .accountDestination(Account.builder().id(2L).accountNumber("ALB000000000002").build())
+                .aiAnalysis("APPROVE: payslip matches the amount")
+                .build();
+    }
+
+    @Benchmark
+    public OperationResponse mapToResponse() {
+        return operationService.mapToResponse(operation);
+    }
+}
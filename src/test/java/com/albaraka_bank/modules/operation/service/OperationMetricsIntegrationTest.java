@@ -0,0 +1,135 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The meter registry is shared by every test on this context, so counts are compared before and
+ * after. MockMvc is built by hand so the test shares the plain test context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OperationMetricsIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private OperationMetrics operationMetrics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private User client;
+
+    @BeforeEach
+    void setUp() {
+        client = userRepository.save(User.builder()
+                .fullName("Metrics Client")
+                .email("metrics-client@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        accountRepository.save(Account.builder()
+                .accountNumber("METRICS000000001")
+                .balance(Money.of("1000"))
+                .owner(client)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Created operations should be timed by type and outcome")
+    void createOperation_recordsTimerByTypeAndOutcome() {
+        long deposits = count("bank.operation.create", "DEPOSIT", "success");
+        long failedWithdrawals = count("bank.operation.create", "WITHDRAWAL", "failure");
+
+        operationService.createOperation(request(OperationType.DEPOSIT, "500"), client);
+        assertThrows(IllegalArgumentException.class,
+                () -> operationService.createOperation(request(OperationType.WITHDRAWAL, "5000"), client));
+
+        assertEquals(deposits + 1, count("bank.operation.create", "DEPOSIT", "success"));
+        assertEquals(failedWithdrawals + 1, count("bank.operation.create", "WITHDRAWAL", "failure"));
+    }
+
+    @Test
+    @DisplayName("The pending gauge should follow the review queue on refresh")
+    void refreshPendingOperations_updatesGauge() {
+        operationMetrics.refreshPendingOperations();
+        double before = meterRegistry.get("bank.review.pending").gauge().value();
+
+        OperationResponse pending = operationService.createOperation(request(OperationType.DEPOSIT, "15000"), client);
+        assertEquals(OperationStatus.PENDING, pending.getStatus());
+        operationMetrics.refreshPendingOperations();
+
+        assertEquals(before + 1, meterRegistry.get("bank.review.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("The health endpoint should be reachable without credentials")
+    void actuatorHealth_isOpen() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("The Prometheus endpoint should only answer the scrape user")
+    void actuatorPrometheus_requiresScrapeCredentials() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong-password")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-scrape-password")))
+                .andExpect(status().isOk());
+    }
+
+    private long count(String name, String type, String outcome) {
+        return meterRegistry.get(name).tag("type", type).tag("outcome", outcome).timer().count();
+    }
+
+    private static OperationRequest request(OperationType type, String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
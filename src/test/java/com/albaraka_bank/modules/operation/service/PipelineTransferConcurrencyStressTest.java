@@ -0,0 +1,27 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.concurrent.CompletionException;
+
+@TestPropertySource(properties = "app.operations.execution=pipeline")
+class PipelineTransferConcurrencyStressTest extends TransferConcurrencyStressTest {
+
+    @Autowired
+    private OperationService operationService;
+
+    @Override
+    protected void execute(OperationRequest request, User user) {
+        try {
+            operationService.submitOperation(request, user, null).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalArgumentException rejected) {
+                throw rejected;
+            }
+            throw e;
+        }
+    }
+}
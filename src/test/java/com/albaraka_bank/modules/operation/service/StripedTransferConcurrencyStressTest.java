@@ -0,0 +1,7 @@
+package com.albaraka_bank.modules.operation.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "app.account.locking=striped")
+class StripedTransferConcurrencyStressTest extends TransferConcurrencyStressTest {
+}
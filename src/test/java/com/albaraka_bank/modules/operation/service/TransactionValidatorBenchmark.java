@@ -0,0 +1,61 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import com.albaraka_bank.modules.operation.service.rules.DecisionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionValidator#validate(OperationType, Money, Account, Account)} with tier and
+ * night rules installed, so the clock is read on every call as it is in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransactionValidatorBenchmark {
+
+    private TransactionValidator validator;
+    private Account source;
+    private Account destination;
+    private Money amount;
+
+    @Setup
+    public void setUp() {
+        validator = new TransactionValidator(new BigDecimal("10000"));
+        validator.install(DecisionTable.compile(List.of(
+                ValidationRule.builder().accountTier(AccountTier.PREMIUM).threshold(new BigDecimal("50000")).build(),
+                ValidationRule.builder().operationType(OperationType.TRANSFER)
+                        .windowStart(LocalTime.of(22, 0)).windowEnd(LocalTime.of(6, 0))
+                        .threshold(new BigDecimal("2000")).build()),
+                new BigDecimal("10000")));
+        source = Account.builder().id(1L).accountNumber("ALB000000000001").tier(AccountTier.PREMIUM)
+                .balance(Money.of("100000")).build();
+        destination = Account.builder().id(2L).accountNumber("ALB000000000002").balance(Money.ZERO).build();
+        amount = Money.of("15000.00");
+    }
+
+    @Benchmark
+    public OperationStatus withdrawal() {
+        return validator.validate(OperationType.WITHDRAWAL, amount, source, null);
+    }
+
+    @Benchmark
+    public OperationStatus transfer() {
+        return validator.validate(OperationType.TRANSFER, amount, source, destination);
+    }
+}
@@ -1,50 +1,77 @@
 package com.albaraka_bank.modules.operation.service;
 
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.model.AccountTier;
 import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import com.albaraka_bank.modules.operation.service.rules.DecisionTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class TransactionValidatorTest {
 
     private TransactionValidator transactionValidator;
+    private Account account;
 
     @BeforeEach
     void setUp() {
-        transactionValidator = new TransactionValidator();
+        transactionValidator = new TransactionValidator(new BigDecimal("10000"));
+        account = Account.builder().accountNumber("STANDARD00000001").build();
     }
 
     @Test
     @DisplayName("Amount <= 10000 should return EXECUTED status")
     void validate_amountBelowThreshold_returnsExecuted() {
-        assertEquals(OperationStatus.EXECUTED, transactionValidator.validate(new BigDecimal("5000")));
-        assertEquals(OperationStatus.EXECUTED, transactionValidator.validate(new BigDecimal("10000")));
-        assertEquals(OperationStatus.EXECUTED, transactionValidator.validate(new BigDecimal("1")));
+        assertEquals(OperationStatus.EXECUTED, validate("5000"));
+        assertEquals(OperationStatus.EXECUTED, validate("10000"));
+        assertEquals(OperationStatus.EXECUTED, validate("1"));
     }
 
     @Test
     @DisplayName("Amount > 10000 should return PENDING status")
     void validate_amountAboveThreshold_returnsPending() {
-        assertEquals(OperationStatus.PENDING, transactionValidator.validate(new BigDecimal("10001")));
-        assertEquals(OperationStatus.PENDING, transactionValidator.validate(new BigDecimal("50000")));
-        assertEquals(OperationStatus.PENDING, transactionValidator.validate(new BigDecimal("100000")));
+        assertEquals(OperationStatus.PENDING, validate("10001"));
+        assertEquals(OperationStatus.PENDING, validate("50000"));
+        assertEquals(OperationStatus.PENDING, validate("100000"));
     }
 
     @Test
-    @DisplayName("requiresManualReview returns true for amount > 10000")
-    void requiresManualReview_aboveThreshold_returnsTrue() {
-        assertTrue(transactionValidator.requiresManualReview(new BigDecimal("10001")));
-        assertTrue(transactionValidator.requiresManualReview(new BigDecimal("50000")));
+    @DisplayName("Before any rules are loaded the configured default threshold should apply")
+    void validate_configuredDefaultThreshold() {
+        transactionValidator = new TransactionValidator(new BigDecimal("500"));
+
+        assertEquals(OperationStatus.EXECUTED, validate("500"));
+        assertEquals(OperationStatus.PENDING, validate("501"));
     }
 
     @Test
-    @DisplayName("requiresManualReview returns false for amount <= 10000")
-    void requiresManualReview_belowOrEqualThreshold_returnsFalse() {
-        assertFalse(transactionValidator.requiresManualReview(new BigDecimal("10000")));
-        assertFalse(transactionValidator.requiresManualReview(new BigDecimal("5000")));
+    @DisplayName("An installed rule table should decide by operation type and source account tier")
+    void validate_installedTable_usesRules() {
+        transactionValidator.install(DecisionTable.compile(List.of(ValidationRule.builder()
+                .operationType(OperationType.WITHDRAWAL)
+                .accountTier(AccountTier.PREMIUM)
+                .threshold(new BigDecimal("40000"))
+                .build()), new BigDecimal("10000")));
+        Account premium = Account.builder().accountNumber("PREMIUM000000001").tier(AccountTier.PREMIUM).build();
+        Account standard = Account.builder().accountNumber("STANDARD00000001").build();
+
+        assertEquals(OperationStatus.EXECUTED,
+                transactionValidator.validate(OperationType.WITHDRAWAL, Money.of("30000"), premium, null));
+        assertEquals(OperationStatus.PENDING,
+                transactionValidator.validate(OperationType.DEPOSIT, Money.of("30000"), premium, null));
+        assertEquals(OperationStatus.PENDING,
+                transactionValidator.validate(OperationType.WITHDRAWAL, Money.of("30000"), standard, null));
+    }
+
+    private OperationStatus validate(String amount) {
+        return transactionValidator.validate(OperationType.WITHDRAWAL, Money.of(amount), account, null);
     }
 }
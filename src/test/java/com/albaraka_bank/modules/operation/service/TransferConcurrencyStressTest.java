@@ -0,0 +1,168 @@
+package com.albaraka_bank.modules.operation.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a small set of accounts with random transfers from many threads and checks
+ * that no money is created or lost. Runs with the default (pessimistic) lock manager;
+ * {@link StripedTransferConcurrencyStressTest} reruns it with striped locks and
+ * {@link PipelineTransferConcurrencyStressTest} through the single-writer pipeline.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferConcurrencyStressTest {
+
+    private static final int ACCOUNTS = 8;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS = 1000;
+    private static final Money INITIAL_BALANCE = Money.of("10000.00");
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            User user = userRepository.save(User.builder()
+                    .fullName("Stress User " + i)
+                    .email("stress" + i + "@example.com")
+                    .password("password")
+                    .role(UserRole.CLIENT)
+                    .active(true)
+                    .build());
+            users.add(user);
+
+            accounts.add(accountRepository.save(Account.builder()
+                    .accountNumber("STRESS" + String.format("%010d", i))
+                    .balance(INITIAL_BALANCE)
+                    .owner(user)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Account account : accounts) {
+            jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (SELECT id FROM operations"
+                    + " WHERE source_account_id = ? OR destination_account_id = ?)", account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ? OR destination_account_id = ?",
+                    account.getId(), account.getId());
+        }
+        accounts.forEach(account -> jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId()));
+        users.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId()));
+    }
+
+    protected void execute(OperationRequest request, User user) {
+        operationService.createOperation(request, user);
+    }
+
+    @Test
+    @DisplayName("Concurrent transfers should conserve the total balance and never overdraw")
+    void concurrentTransfers_conserveTotalBalance() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(ACCOUNTS);
+                int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+
+                OperationRequest request = new OperationRequest();
+                request.setType(OperationType.TRANSFER);
+                request.setAmount(BigDecimal.valueOf(random.nextInt(1, 2500)));
+                request.setDestinationAccountNumber(accounts.get(to).getAccountNumber());
+
+                try {
+                    execute(request, users.get(from));
+                    executed.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertEquals(TRANSFERS, executed.get() + rejected.get());
+        assertTrue(executed.get() > 0);
+
+        Map<Long, Money> expected = new HashMap<>();
+        accounts.forEach(account -> expected.put(account.getId(), INITIAL_BALANCE));
+        for (Operation operation : operationRepository.findAll()) {
+            if (operation.getStatus() != OperationStatus.EXECUTED
+                    || !expected.containsKey(operation.getAccountSource().getId())) {
+                continue;
+            }
+            expected.merge(operation.getAccountSource().getId(), operation.getAmount().negate(), Money::plus);
+            expected.merge(operation.getAccountDestination().getId(), operation.getAmount(), Money::plus);
+        }
+
+        Money total = Money.ZERO;
+        for (Account account : accounts) {
+            Money balance = accountRepository.findById(account.getId()).orElseThrow().getBalance();
+            assertTrue(balance.signum() >= 0, "Account overdrawn: " + account.getAccountNumber());
+            assertEquals(0, expected.get(account.getId()).compareTo(balance),
+                    "Balance does not match executed transfers for " + account.getAccountNumber());
+            total = total.plus(balance);
+        }
+        assertEquals(INITIAL_BALANCE.getMinorUnits() * ACCOUNTS, total.getMinorUnits());
+    }
+}
@@ -0,0 +1,231 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationDecisionResult;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.dto.ReviewClaimResponse;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: concurrent claims need their own committed transactions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewClaimIntegrationTest {
+
+    @Autowired
+    private ReviewClaimService reviewClaimService;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User firstAgent;
+    private User secondAgent;
+    private User client;
+    private Account account;
+    private final List<Long> pending = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        firstAgent = user("claim-agent-1@example.com", UserRole.AGENT_BANCAIRE);
+        secondAgent = user("claim-agent-2@example.com", UserRole.AGENT_BANCAIRE);
+        client = user("claim-client@example.com", UserRole.CLIENT);
+        account = accountRepository.save(Account.builder()
+                .accountNumber("CLAIM00000000001")
+                .balance(Money.of("100000"))
+                .owner(client)
+                .build());
+        for (String amount : List.of("11000", "14000", "12000", "13000")) {
+            pending.add(operationRepository.save(Operation.builder()
+                    .type(OperationType.WITHDRAWAL)
+                    .amount(Money.of(amount))
+                    .status(OperationStatus.PENDING)
+                    .accountSource(account)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (SELECT id FROM operations"
+                + " WHERE source_account_id = ?)", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?, ?)",
+                firstAgent.getId(), secondAgent.getId(), client.getId());
+    }
+
+    @Test
+    @DisplayName("A claim should skip rows another agent is claiming instead of waiting for them")
+    void claim_concurrentAgentsGetDisjointOperations() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ReviewClaimResponse> first = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    ReviewClaimResponse response = reviewClaimService.claim(firstAgent, 2);
+                    claimed.countDown();
+                    await(release);
+                    return response;
+                }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        // The first claim has not committed, its rows are still locked. PostgreSQL fills the limit
+        // from the rows after them; H2 applies the limit first, so only disjointness is checked.
+        ReviewClaimResponse second = CompletableFuture.supplyAsync(() -> reviewClaimService.claim(secondAgent, 2))
+                .get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        List<Long> firstIds = ids(first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("14000", "13000"), amounts(first.get()));
+        assertTrue(ids(second).stream().noneMatch(firstIds::contains));
+
+        List<Long> rest = ids(reviewClaimService.claim(secondAgent, 10));
+        assertEquals(2, rest.size());
+        assertTrue(rest.stream().noneMatch(firstIds::contains));
+        assertEquals(List.of("12000", "11000"), amounts(reviewClaimService.heartbeat(secondAgent)));
+    }
+
+    @Test
+    @DisplayName("Only the lease holder should decide a claimed operation, and a heartbeat should keep it")
+    void approve_requiresLease() {
+        ReviewClaimResponse claim = reviewClaimService.claim(firstAgent, 1);
+        Long claimedId = claim.getOperations().get(0).getId();
+
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> operationService.approveOperation(claimedId, secondAgent));
+        assertTrue(error.getMessage().contains("claimed by another agent"));
+
+        ReviewClaimResponse renewed = reviewClaimService.heartbeat(firstAgent);
+        assertFalse(renewed.getLeaseExpiresAt().isBefore(claim.getLeaseExpiresAt()));
+        assertEquals(List.of(claimedId), renewed.getOperations().stream().map(OperationResponse::getId).toList());
+
+        assertEquals(OperationStatus.EXECUTED, operationService.approveOperation(claimedId, firstAgent).getStatus());
+        assertTrue(reviewClaimService.heartbeat(firstAgent).getOperations().isEmpty());
+
+        // Released operations go back to the queue for anyone
+        Long next = reviewClaimService.claim(firstAgent, 1).getOperations().get(0).getId();
+        reviewClaimService.release(next, firstAgent);
+        assertThrows(IllegalArgumentException.class, () -> reviewClaimService.release(next, firstAgent));
+        assertEquals(OperationStatus.CANCELLED, operationService.rejectOperation(next, secondAgent).getStatus());
+    }
+
+    @Test
+    @DisplayName("A batch decision should wait for a concurrent one on the same operation and see its outcome")
+    void decideOperations_concurrentBatchesSerialise() throws Exception {
+        Long id = pending.get(0);
+        CountDownLatch decided = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<OperationDecisionResult>> approval = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<OperationDecisionResult> results = operationService.approveOperations(List.of(id), firstAgent);
+                    decided.countDown();
+                    await(release);
+                    return results;
+                }));
+        assertTrue(decided.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<List<OperationDecisionResult>> rejection = CompletableFuture.supplyAsync(() ->
+                operationService.rejectOperations(List.of(id), secondAgent));
+        Thread.sleep(200);
+        assertFalse(rejection.isDone());
+        release.countDown();
+
+        assertEquals(OperationStatus.EXECUTED, approval.get(5, TimeUnit.SECONDS).get(0).getStatus());
+        OperationDecisionResult refused = rejection.get(5, TimeUnit.SECONDS).get(0);
+        assertNull(refused.getStatus());
+        assertEquals("Only pending operations can be rejected", refused.getError());
+        assertEquals(OperationStatus.EXECUTED, operationRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("An approval the strategy refuses should leave the operation queued, unvalidated and still claimed")
+    void approveOperations_refusedKeepsClaim() {
+        List<Long> claimed = ids(reviewClaimService.claim(firstAgent, 4));
+        jdbcTemplate.update("UPDATE accounts SET balance = 0 WHERE id = ?", account.getId());
+
+        assertTrue(operationService.approveOperations(claimed, firstAgent).stream()
+                .allMatch(result -> "Insufficient balance for withdrawal".equals(result.getError())));
+        for (Long id : claimed) {
+            Operation operation = operationRepository.findById(id).orElseThrow();
+            assertEquals(OperationStatus.PENDING, operation.getStatus());
+            assertNull(operation.getValidatedAt());
+            assertNotNull(operation.getClaimExpiresAt());
+        }
+        assertEquals(4, reviewClaimService.heartbeat(firstAgent).getOperations().size());
+    }
+
+    private List<Long> ids(ReviewClaimResponse response) {
+        return response.getOperations().stream().map(OperationResponse::getId).toList();
+    }
+
+    private List<String> amounts(ReviewClaimResponse response) {
+        Set<Long> ids = new HashSet<>(pending);
+        return response.getOperations().stream()
+                .peek(operation -> assertTrue(ids.contains(operation.getId())))
+                .map(operation -> operation.getAmount().toBigDecimal().stripTrailingZeros().toPlainString())
+                .toList();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User user(String email, UserRole role) {
+        return userRepository.save(User.builder()
+                .fullName("Claim User")
+                .email(email)
+                .password("password")
+                .role(role)
+                .active(true)
+                .build());
+    }
+}
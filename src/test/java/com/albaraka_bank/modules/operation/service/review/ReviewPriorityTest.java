@@ -0,0 +1,61 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewPriorityTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Test
+    @DisplayName("Larger amounts should come first whatever the AI decided")
+    void compare_amountFirst() {
+        OperationResponse small = operation(1L, "12000", "REJECT: Forged invoice", NOW);
+        OperationResponse large = operation(2L, "50000", "APPROVE: Invoice matches", NOW);
+
+        assertEquals(List.of(large, small), sorted(small, large));
+    }
+
+    @Test
+    @DisplayName("Equal amounts should be ordered rejected, needs review, not analysed, approved")
+    void compare_thenAiDecision() {
+        OperationResponse approved = operation(1L, "20000", "APPROVE: Invoice matches", NOW);
+        OperationResponse pending = operation(2L, "20000", null, NOW);
+        OperationResponse failed = operation(3L, "20000", "AI Analysis Failed: timeout", NOW);
+        OperationResponse review = operation(4L, "20000", "NEED_HUMAN_REVIEW: Blurry scan", NOW);
+        OperationResponse rejected = operation(5L, "20000", "REJECT: Amount differs", NOW);
+
+        assertEquals(List.of(rejected, review, pending, failed, approved),
+                sorted(approved, pending, failed, review, rejected));
+    }
+
+    @Test
+    @DisplayName("Otherwise the operation waiting longest should come first")
+    void compare_thenAge() {
+        OperationResponse newer = operation(1L, "20000", null, NOW);
+        OperationResponse older = operation(2L, "20000", null, NOW.minusHours(3));
+
+        assertEquals(List.of(older, newer), sorted(newer, older));
+    }
+
+    private List<OperationResponse> sorted(OperationResponse... operations) {
+        return Stream.of(operations).sorted(ReviewPriority.COMPARATOR).toList();
+    }
+
+    private OperationResponse operation(Long id, String amount, String aiAnalysis, LocalDateTime createdAt) {
+        return OperationResponse.builder()
+                .id(id)
+                .amount(Money.of(amount))
+                .aiAnalysis(aiAnalysis)
+                .createdAt(createdAt)
+                .build();
+    }
+}
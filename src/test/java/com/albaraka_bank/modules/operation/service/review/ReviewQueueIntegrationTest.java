@@ -0,0 +1,228 @@
+package com.albaraka_bank.modules.operation.service.review;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.iam.service.JwtService;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Not transactional: changes are only pushed once they commit. MockMvc is built by hand so the
+ * test shares the plain test context instead of starting another one.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewQueueIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private ReviewQueueService reviewQueueService;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private User agent;
+    private User client;
+    private Account account;
+    private String agentToken;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        agent = userRepository.save(User.builder()
+                .fullName("Queue Agent")
+                .email("queue-agent@example.com")
+                .password("password")
+                .role(UserRole.AGENT_BANCAIRE)
+                .active(true)
+                .build());
+        client = userRepository.save(User.builder()
+                .fullName("Queue Client")
+                .email("queue-client@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("QUEUE00000000001")
+                .balance(Money.of("100000"))
+                .owner(client)
+                .build());
+        agentToken = jwtService.generateToken(new org.springframework.security.core.userdetails.User(
+                agent.getEmail(),
+                agent.getPassword(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_AGENT_BANCAIRE"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewQueueService.disconnectAll();
+        // The stream never went through an async dispatch, which is what would have cleared it
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (SELECT id FROM operations"
+                + " WHERE source_account_id = ?)", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", agent.getId(), client.getId());
+    }
+
+    @Test
+    @DisplayName("Subscribers should get a prioritised snapshot, then new and decided operations as they commit")
+    void stream_pushesSnapshotThenChanges() throws Exception {
+        OperationResponse small = operationService.createOperation(deposit("12000"), client);
+        OperationResponse large = operationService.createOperation(deposit("40000"), client);
+
+        MvcResult stream = mockMvc.perform(get("/api/agent/operations/stream")
+                .header("Authorization", "Bearer " + agentToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String snapshot = awaitContent(stream, "event:snapshot");
+        int largeAt = snapshot.indexOf("\"id\":" + large.getId() + ",");
+        int smallAt = snapshot.indexOf("\"id\":" + small.getId() + ",");
+        assertTrue(largeAt >= 0 && smallAt > largeAt, snapshot);
+
+        OperationResponse added = operationService.createOperation(deposit("25000"), client);
+        String upsert = awaitContent(stream, "event:upsert");
+        assertTrue(upsert.substring(upsert.indexOf("event:upsert")).contains("\"id\":" + added.getId() + ","));
+
+        operationService.rejectOperation(small.getId(), agent);
+        String remove = awaitContent(stream, "event:remove");
+        assertTrue(remove.substring(remove.indexOf("event:remove")).contains("data:[" + small.getId() + "]"), remove);
+
+        // Executed straight away, never queued
+        operationService.createOperation(deposit("500"), client);
+        assertEquals(1, count(stream.getResponse().getContentAsString(), "event:upsert"));
+        assertTrue(reviewQueueService.subscriberCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("A subscriber that stops reading should be dropped without holding up the others")
+    void stuckSubscriber_isDroppedWithoutDelayingOthers() throws Exception {
+        ReviewQueueService queue = new ReviewQueueService(operationRepository, Duration.ofMinutes(1), 5, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        SseEmitter stuck = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder event) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        SseEmitter healthy = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder event) {
+                received.add(event.build().iterator().next().getData().toString());
+            }
+        };
+
+        try {
+            queue.subscribe(stuck);
+            queue.subscribe(healthy);
+            awaitReceived(received, 1);
+
+            // One at a time, so only the stuck subscriber can fall behind
+            for (long id = 1; id <= 10; id++) {
+                queue.onChange(ReviewQueueChange.remove(id));
+                awaitReceived(received, 1 + (int) id);
+            }
+            assertTrue(received.get(10).contains("remove"), received.toString());
+            assertEquals(1, queue.subscriberCount());
+        } finally {
+            release.countDown();
+            queue.close();
+        }
+    }
+
+    private void awaitReceived(List<String> received, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, received.size(), received.toString());
+    }
+
+    private OperationRequest deposit(String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(OperationType.DEPOSIT);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    // Waits for the whole event: its name, data and the blank line that ends it
+    private String awaitContent(MvcResult result, String event) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!complete(content, event) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(complete(content, event), "No " + event + " in: " + content);
+        return content;
+    }
+
+    private boolean complete(String content, String event) {
+        int at = content.indexOf(event);
+        return at >= 0 && content.indexOf("\n\n", at) > 0;
+    }
+
+    private int count(String content, String token) {
+        return content.split(token, -1).length - 1;
+    }
+}
@@ -0,0 +1,73 @@
+package com.albaraka_bank.modules.operation.service.rules;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation cost of a realistic table: rules for every type and tier, night windows and a
+ * thousand destination overrides. Run through {@link DecisionTableBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DecisionTableBenchmark {
+
+    private DecisionTable table;
+    private Money amount;
+    private String knownDestination;
+    private String unknownDestination;
+
+    @Setup
+    public void setUp() {
+        List<ValidationRule> rules = new ArrayList<>();
+        for (OperationType type : OperationType.values()) {
+            for (AccountTier tier : AccountTier.values()) {
+                rules.add(ValidationRule.builder().operationType(type).accountTier(tier)
+                        .threshold(new BigDecimal(20000 + 1000 * tier.ordinal())).build());
+                rules.add(ValidationRule.builder().operationType(type).accountTier(tier)
+                        .windowStart(LocalTime.of(22, 0)).windowEnd(LocalTime.of(6, 0))
+                        .threshold(new BigDecimal("2000")).build());
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            rules.add(ValidationRule.builder().operationType(OperationType.TRANSFER)
+                    .destinationAccountNumber(String.format("DEST%012d", i))
+                    .threshold(new BigDecimal("100000")).build());
+        }
+        table = DecisionTable.compile(rules, new BigDecimal("10000"));
+        amount = Money.of("15000.00");
+        knownDestination = String.format("DEST%012d", 500);
+        unknownDestination = "OTHER00000000001";
+    }
+
+    @Benchmark
+    public OperationStatus withdrawal() {
+        return table.decide(OperationType.WITHDRAWAL, AccountTier.PREMIUM, null, amount, 14 * 60);
+    }
+
+    @Benchmark
+    public OperationStatus transferToKnownDestination() {
+        return table.decide(OperationType.TRANSFER, AccountTier.STANDARD, knownDestination, amount, 23 * 60);
+    }
+
+    @Benchmark
+    public OperationStatus transferToUnknownDestination() {
+        return table.decide(OperationType.TRANSFER, AccountTier.BUSINESS, unknownDestination, amount, 23 * 60);
+    }
+}
@@ -0,0 +1,56 @@
+package com.albaraka_bank.modules.operation.service.rules;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link DecisionTableBenchmark} and checks a decision stays under a microsecond and
+ * allocates nothing once compiled.
+ */
+@Tag("benchmark")
+@Slf4j
+class DecisionTableBenchmarkTest {
+
+    @Test
+    @DisplayName("Validation decisions should take well under a microsecond and allocate nothing")
+    void decide_subMicrosecond() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(DecisionTableBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertEquals(3, results.size());
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            double nanos = result.getPrimaryResult().getScore();
+            // Named with or without a leading "·" depending on the JMH version
+            double bytes = result.getSecondaryResults().entrySet().stream()
+                    .filter(entry -> entry.getKey().endsWith("gc.alloc.rate.norm"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getValue()
+                    .getScore();
+            log.info("{}: {} ns/op, {} B/op", name, "%.1f".formatted(nanos), "%.1f".formatted(bytes));
+            assertTrue(nanos < 1000, name + " took " + nanos + " ns");
+            assertTrue(bytes < 1, name + " allocated " + bytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.albaraka_bank.modules.operation.service.rules;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionTableTest {
+
+    private static final int NOON = 12 * 60;
+    private static final int NIGHT = 2 * 60;
+
+    private final DecisionTable table = DecisionTable.compile(List.of(
+            rule(OperationType.WITHDRAWAL, null, null, "5000"),
+            rule(null, AccountTier.PREMIUM, null, "50000"),
+            rule(OperationType.WITHDRAWAL, AccountTier.PREMIUM, null, "30000"),
+            rule(OperationType.TRANSFER, null, "TRUSTED000000001", "100000"),
+            night(null, "1000"),
+            night(OperationType.DEPOSIT, "20000")), new BigDecimal("10000"));
+
+    @Test
+    @DisplayName("No matching rule should fall back to the default threshold")
+    void thresholdFor_noRule_usesDefault() {
+        assertEquals(Money.of("10000"), threshold(OperationType.DEPOSIT, AccountTier.STANDARD, null, NOON));
+        assertEquals(Money.of("10000"), threshold(OperationType.TRANSFER, AccountTier.BUSINESS, "OTHER", NOON));
+    }
+
+    @Test
+    @DisplayName("The most specific matching rule should decide")
+    void thresholdFor_mostSpecificWins() {
+        assertEquals(Money.of("5000"), threshold(OperationType.WITHDRAWAL, AccountTier.STANDARD, null, NOON));
+        assertEquals(Money.of("50000"), threshold(OperationType.DEPOSIT, AccountTier.PREMIUM, null, NOON));
+        assertEquals(Money.of("30000"), threshold(OperationType.WITHDRAWAL, AccountTier.PREMIUM, null, NOON));
+        assertEquals(Money.of("100000"),
+                threshold(OperationType.TRANSFER, AccountTier.STANDARD, "TRUSTED000000001", NIGHT));
+    }
+
+    @Test
+    @DisplayName("Time windows should apply only inside them, including across midnight")
+    void thresholdFor_timeWindows() {
+        assertTrue(table.isTimeDependent());
+        assertEquals(Money.of("1000"), threshold(OperationType.WITHDRAWAL, AccountTier.PREMIUM, null, NIGHT));
+        assertEquals(Money.of("1000"), threshold(OperationType.TRANSFER, AccountTier.STANDARD, null, 23 * 60));
+        assertEquals(Money.of("20000"), threshold(OperationType.DEPOSIT, AccountTier.STANDARD, null, NIGHT));
+        assertEquals(Money.of("10000"), threshold(OperationType.TRANSFER, AccountTier.STANDARD, null, 6 * 60));
+    }
+
+    @Test
+    @DisplayName("Amounts up to the threshold should execute, above it wait for review")
+    void decide_comparesWithThreshold() {
+        assertEquals(OperationStatus.EXECUTED, table.decide(OperationType.WITHDRAWAL, AccountTier.STANDARD, null,
+                Money.of("5000.00"), NOON));
+        assertEquals(OperationStatus.PENDING, table.decide(OperationType.WITHDRAWAL, AccountTier.STANDARD, null,
+                Money.of("5000.01"), NOON));
+        assertFalse(DecisionTable.compile(List.of(), BigDecimal.TEN).isTimeDependent());
+    }
+
+    @Test
+    @DisplayName("A time window with one end should be refused")
+    void compile_halfWindow_throws() {
+        ValidationRule rule = rule(null, null, null, "100");
+        rule.setWindowStart(LocalTime.of(22, 0));
+        assertThrows(IllegalArgumentException.class, () -> DecisionTable.compile(List.of(rule), BigDecimal.TEN));
+    }
+
+    private Money threshold(OperationType type, AccountTier tier, String destination, int minute) {
+        return table.thresholdFor(type, tier, destination, minute);
+    }
+
+    private static ValidationRule rule(OperationType type, AccountTier tier, String destination, String threshold) {
+        return ValidationRule.builder()
+                .operationType(type)
+                .accountTier(tier)
+                .destinationAccountNumber(destination)
+                .threshold(new BigDecimal(threshold))
+                .build();
+    }
+
+    private static ValidationRule night(OperationType type, String threshold) {
+        ValidationRule rule = rule(type, null, null, threshold);
+        rule.setWindowStart(LocalTime.of(22, 0));
+        rule.setWindowEnd(LocalTime.of(5, 0));
+        return rule;
+    }
+}
@@ -0,0 +1,141 @@
+package com.albaraka_bank.modules.operation.service.rules;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.model.AccountTier;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.ValidationRule;
+import com.albaraka_bank.modules.operation.repository.ValidationRuleRepository;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: the compiled table outlives a rolled back test, so rules are deleted and
+ * the table reloaded afterwards.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ValidationRuleLoaderIntegrationTest {
+
+    @Autowired
+    private ValidationRuleLoader ruleLoader;
+
+    @Autowired
+    private ValidationRuleRepository ruleRepository;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User client;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        client = userRepository.save(User.builder()
+                .fullName("Rules Client")
+                .email("rules-client@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("RULES00000000001")
+                .balance(Money.of("100000"))
+                .tier(AccountTier.BUSINESS)
+                .owner(client)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleRepository.deleteAll();
+        ruleLoader.reload();
+        jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (SELECT id FROM operations"
+                + " WHERE source_account_id = ?)", account.getId());
+        jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId());
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", client.getId());
+    }
+
+    @Test
+    @DisplayName("Rules saved in the database should apply to new operations once reloaded")
+    void reload_appliesNewRules() {
+        assertEquals(OperationStatus.EXECUTED, operationService.createOperation(withdrawal("8000"), client).getStatus());
+
+        ruleRepository.save(ValidationRule.builder()
+                .operationType(OperationType.WITHDRAWAL)
+                .accountTier(AccountTier.BUSINESS)
+                .threshold(new BigDecimal("5000"))
+                .build());
+        ruleRepository.save(ValidationRule.builder()
+                .accountTier(AccountTier.BUSINESS)
+                .threshold(new BigDecimal("50000"))
+                .active(false)
+                .build());
+        assertEquals(1, ruleLoader.reload().size());
+
+        assertEquals(OperationStatus.PENDING, operationService.createOperation(withdrawal("8000"), client).getStatus());
+        assertEquals(OperationStatus.PENDING, operationService.createOperation(deposit("12000"), client).getStatus());
+    }
+
+    @Test
+    @DisplayName("Rules for a tier should apply once an account is moved to it")
+    void setTier_selectsTierRules() {
+        accountService.setTier(account.getAccountNumber(), AccountTier.STANDARD);
+        ruleRepository.save(ValidationRule.builder()
+                .accountTier(AccountTier.PREMIUM)
+                .threshold(new BigDecimal("50000"))
+                .build());
+        ruleLoader.reload();
+        assertEquals(OperationStatus.PENDING, operationService.createOperation(withdrawal("20000"), client).getStatus());
+
+        accountService.setTier(account.getAccountNumber(), AccountTier.PREMIUM);
+
+        assertEquals(AccountTier.PREMIUM, accountRepository.findById(account.getId()).orElseThrow().getTier());
+        assertEquals(OperationStatus.EXECUTED, operationService.createOperation(withdrawal("20000"), client).getStatus());
+    }
+
+    private OperationRequest withdrawal(String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(OperationType.WITHDRAWAL);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private OperationRequest deposit(String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(OperationType.DEPOSIT);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
@@ -0,0 +1,182 @@
+package com.albaraka_bank.modules.operation.service.statement;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class StatementServiceIntegrationTest {
+
+    private static final int OPERATIONS = 5000;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Account account;
+    private Account other;
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.save(Account.builder()
+                .accountNumber("STMT000000000001")
+                .balance(Money.of("100000"))
+                .owner(user("statement@example.com", "Statement Client"))
+                .build());
+        other = accountRepository.save(Account.builder()
+                .accountNumber("STMT000000000002")
+                .balance(Money.of("100000"))
+                .owner(user("payer@example.com", "Payer"))
+                .build());
+        entityManager.flush();
+
+        // One operation per hour: every 10th is an incoming transfer, and every 100th of those still pending
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            boolean incoming = i % 10 == 0;
+            rows.add(new Object[] {
+                    incoming ? "TRANSFER" : i % 2 == 0 ? "DEPOSIT" : "WITHDRAWAL",
+                    BigDecimal.valueOf(i + 1),
+                    incoming && i % 1000 == 0 ? "PENDING" : "EXECUTED",
+                    Timestamp.valueOf(START.plusHours(i)),
+                    incoming ? other.getId() : account.getId(),
+                    incoming ? account.getId() : null,
+                    0L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO operations (id, type, amount, status, created_at, source_account_id,"
+                + " destination_account_id, version) VALUES (NEXT VALUE FOR operations_seq, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    @DisplayName("CSV statement should stream every visible operation in date order")
+    void csvStatement_streamsAllRowsInOrder() throws Exception {
+        LineCounter out = new LineCounter();
+        statementService.export(account, StatementFormat.CSV, null, null).body().writeTo(out);
+
+        // Header plus everything except the 5 incoming transfers still pending
+        assertEquals(1 + OPERATIONS - 5, out.lines);
+        assertTrue(out.ordered, "Rows are not in date order");
+    }
+
+    @Test
+    @DisplayName("Date range should be inclusive and credits should be told apart from debits")
+    void csvStatement_appliesDateRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LocalDate day = START.toLocalDate().plusDays(1);
+        statementService.export(account, StatementFormat.CSV, day, day).body().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(25, lines.length);
+        assertTrue(lines[1].startsWith("2025-01-02T00:00,"), lines[1]);
+        assertTrue(lines[1].endsWith(",WITHDRAWAL,EXECUTED,DEBIT,16.00,"), lines[1]);
+        assertTrue(lines[2].endsWith(",DEPOSIT,EXECUTED,CREDIT,17.00,"), lines[2]);
+        assertTrue(lines[6].endsWith(",TRANSFER,EXECUTED,CREDIT,21.00,STMT000000000002"), lines[6]);
+    }
+
+    @Test
+    @DisplayName("PDF statement should be a readable document listing the operations")
+    void pdfStatement_isReadable() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        LocalDate day = START.toLocalDate();
+        statementService.export(account, StatementFormat.PDF, day, day.plusDays(3)).body().writeTo(out);
+
+        try (PDDocument document = PDDocument.load(out.toByteArray())) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(document.getNumberOfPages() >= 2);
+            assertTrue(text.contains("Statement of account STMT000000000001"));
+            assertTrue(text.contains("Opening balance on 2025-01-01: 100000.00 DH"), text);
+            assertTrue(text.contains("+25.00"));
+        }
+    }
+
+    @Test
+    @DisplayName("PDF statement over the row limit should be refused, CSV should not")
+    void pdfStatement_overRowLimit_isRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> statementService.export(account, StatementFormat.PDF, null, null));
+        assertTrue(e.getMessage().contains("export CSV"), e.getMessage());
+
+        assertDoesNotThrow(() -> statementService.export(account, StatementFormat.CSV, null, null));
+    }
+
+    @Test
+    @DisplayName("Reversed date range should be rejected")
+    void export_reversedRange_isRejected() {
+        LocalDate day = START.toLocalDate();
+        assertThrows(IllegalArgumentException.class,
+                () -> statementService.export(account, StatementFormat.CSV, day.plusDays(1), day));
+    }
+
+    private User user(String email, String name) {
+        return userRepository.save(User.builder()
+                .fullName(name)
+                .email(email)
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+    }
+
+    /** Counts lines and checks the date column only ever grows, without keeping the output. */
+    private static class LineCounter extends OutputStream {
+        private final StringBuilder current = new StringBuilder();
+        private String previousDate = "";
+        private int lines;
+        private boolean ordered = true;
+
+        @Override
+        public void write(int b) {
+            if (b != '\n') {
+                current.append((char) b);
+                return;
+            }
+            if (lines > 0) {
+                String date = current.substring(0, current.indexOf(","));
+                ordered &= date.compareTo(previousDate) >= 0;
+                previousDate = date;
+            }
+            lines++;
+            current.setLength(0);
+        }
+    }
+}
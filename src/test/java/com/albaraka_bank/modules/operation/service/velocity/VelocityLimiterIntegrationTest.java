@@ -0,0 +1,194 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VelocityLimiterIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Small limits that a few operations go over; the service keeps the configured ones
+    private VelocityLimiter limiter;
+    private TransactionTemplate newTransaction;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .fullName("Velocity Client")
+                .email("velocity@example.com")
+                .password("password")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("VELOCITY00000001")
+                .balance(Money.of("100000"))
+                .owner(owner)
+                .build());
+
+        limiter = new VelocityLimiter(jdbcTemplate);
+        ReflectionTestUtils.setField(limiter, "minuteMaxCount", 3L);
+        ReflectionTestUtils.setField(limiter, "minuteMaxAmount", BigDecimal.ZERO);
+        ReflectionTestUtils.setField(limiter, "minuteAction", "reject");
+        ReflectionTestUtils.setField(limiter, "hourMaxCount", 0L);
+        ReflectionTestUtils.setField(limiter, "hourMaxAmount", new BigDecimal("20000"));
+        ReflectionTestUtils.setField(limiter, "hourAction", "review");
+        ReflectionTestUtils.setField(limiter, "dayMaxCount", 0L);
+        ReflectionTestUtils.setField(limiter, "dayMaxAmount", BigDecimal.ZERO);
+        ReflectionTestUtils.setField(limiter, "dayAction", "review");
+        limiter.configure();
+
+        // Recording inside the test's transaction would wait for a commit that never comes
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    @DisplayName("Going over a review limit should send to review, over a reject limit should refuse")
+    void assess_appliesLimitActions() {
+        assertEquals(VelocityDecision.ALLOW, limiter.assess(account.getId(), OperationType.WITHDRAWAL,
+                Money.of("9999")));
+        recordCommitted(OperationType.WITHDRAWAL, "9999");
+        recordCommitted(OperationType.TRANSFER, "9999");
+
+        assertEquals(VelocityDecision.REVIEW, limiter.assess(account.getId(), OperationType.WITHDRAWAL,
+                Money.of("9999")));
+        assertEquals(VelocityDecision.ALLOW, limiter.assess(account.getId(), OperationType.WITHDRAWAL,
+                Money.of("2")));
+        assertEquals(VelocityDecision.ALLOW, limiter.assess(account.getId(), OperationType.DEPOSIT,
+                Money.of("50000")));
+
+        recordCommitted(OperationType.WITHDRAWAL, "1");
+        assertEquals(VelocityDecision.REJECT, limiter.assess(account.getId(), OperationType.WITHDRAWAL,
+                Money.of("1")));
+    }
+
+    @Test
+    @DisplayName("Operations should only count once their transaction commits")
+    void record_countsCommittedOperationsOnly() {
+        newTransaction.executeWithoutResult(status -> {
+            limiter.record(account.getId(), OperationType.WITHDRAWAL, Money.of("500"));
+            assertEquals(0, limiter.getTracker().count(account.getId(), VelocityWindow.MINUTE,
+                    System.currentTimeMillis()));
+            status.setRollbackOnly();
+        });
+        assertEquals(0, limiter.getTracker().count(account.getId(), VelocityWindow.MINUTE,
+                System.currentTimeMillis()));
+
+        recordCommitted(OperationType.WITHDRAWAL, "500");
+        assertEquals(1, limiter.getTracker().count(account.getId(), VelocityWindow.MINUTE,
+                System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("Batch rows should be checked against the amount limits, counting the rows before them")
+    void assessBatchRow_appliesAmountLimitsAcrossTheBatch() {
+        VelocityLimiter.BatchTally tally = new VelocityLimiter.BatchTally();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(VelocityDecision.ALLOW, limiter.assessBatchRow(tally, account.getId(),
+                    OperationType.WITHDRAWAL, Money.of("1")));
+        }
+        assertEquals(VelocityDecision.ALLOW, limiter.assessBatchRow(tally, account.getId(),
+                OperationType.TRANSFER, Money.of("9999")));
+        assertEquals(VelocityDecision.REVIEW, limiter.assessBatchRow(tally, account.getId(),
+                OperationType.TRANSFER, Money.of("9999")));
+    }
+
+    @Test
+    @DisplayName("A batch longer than the per-minute count limit should go through under the configured limits")
+    void createOperationsForAccounts_isNotCappedByTheCountLimits() {
+        List<OperationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            OperationRequest request = new OperationRequest();
+            request.setType(OperationType.WITHDRAWAL);
+            request.setAmount(new BigDecimal("100"));
+            request.setSourceAccountNumber(account.getAccountNumber());
+            requests.add(request);
+        }
+
+        List<OperationResponse> responses = operationService.createOperationsForAccounts(requests);
+
+        assertEquals(30, responses.size());
+        assertTrue(responses.stream().allMatch(response -> response.getStatus() == OperationStatus.EXECUTED));
+    }
+
+    @Test
+    @DisplayName("Counters should be rebuilt from the last day of operations, leaving out deposits and rejections")
+    void rebuild_replaysRecentOperations() {
+        save(OperationType.WITHDRAWAL, "9000", OperationStatus.EXECUTED);
+        save(OperationType.TRANSFER, "8000", OperationStatus.PENDING);
+        save(OperationType.WITHDRAWAL, "7000", OperationStatus.CANCELLED);
+        save(OperationType.DEPOSIT, "6000", OperationStatus.EXECUTED);
+        operationRepository.flush();
+
+        limiter.rebuild();
+
+        long now = System.currentTimeMillis();
+        assertEquals(2, limiter.getTracker().count(account.getId(), VelocityWindow.MINUTE, now));
+        assertEquals(1_700_000, limiter.getTracker().sum(account.getId(), VelocityWindow.DAY, now));
+        assertEquals(VelocityDecision.REVIEW, limiter.assess(account.getId(), OperationType.WITHDRAWAL,
+                Money.of("3001")));
+    }
+
+    private void recordCommitted(OperationType type, String amount) {
+        newTransaction.executeWithoutResult(status -> limiter.record(account.getId(), type, Money.of(amount)));
+    }
+
+    private void save(OperationType type, String amount, OperationStatus status) {
+        operationRepository.save(Operation.builder()
+                .type(type)
+                .amount(Money.of(amount))
+                .status(status)
+                .accountSource(account)
+                .build());
+    }
+}
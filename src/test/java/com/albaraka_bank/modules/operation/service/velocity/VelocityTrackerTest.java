@@ -0,0 +1,79 @@
+package com.albaraka_bank.modules.operation.service.velocity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VelocityTrackerTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long ACCOUNT = 1L;
+
+    private final VelocityTracker tracker = new VelocityTracker();
+
+    @Test
+    @DisplayName("Operations should leave each window once it has rolled past them")
+    void windows_rollOver() {
+        tracker.record(ACCOUNT, 500, START);
+        tracker.record(ACCOUNT, 300, START + 30_000);
+
+        assertEquals(2, tracker.count(ACCOUNT, VelocityWindow.MINUTE, START + 45_000));
+        assertEquals(800, tracker.sum(ACCOUNT, VelocityWindow.MINUTE, START + 45_000));
+
+        long later = START + 75_000;
+        assertEquals(1, tracker.count(ACCOUNT, VelocityWindow.MINUTE, later));
+        assertEquals(300, tracker.sum(ACCOUNT, VelocityWindow.MINUTE, later));
+        assertEquals(2, tracker.count(ACCOUNT, VelocityWindow.HOUR, later));
+
+        long nextDay = START + 25 * 3600_000L;
+        assertEquals(0, tracker.count(ACCOUNT, VelocityWindow.DAY, nextDay));
+        assertEquals(0, tracker.count(2L, VelocityWindow.DAY, START));
+    }
+
+    @Test
+    @DisplayName("A bucket reused on a later turn of the ring should start over")
+    void record_reusedSlot_startsOver() {
+        tracker.record(ACCOUNT, 100, START);
+        tracker.record(ACCOUNT, 200, START + 60_000);
+
+        assertEquals(1, tracker.count(ACCOUNT, VelocityWindow.MINUTE, START + 60_000));
+        assertEquals(200, tracker.sum(ACCOUNT, VelocityWindow.MINUTE, START + 60_000));
+
+        // Replayed out of order after its slot moved on: already outside the window, ignored
+        tracker.record(ACCOUNT, 100, START);
+        assertEquals(1, tracker.count(ACCOUNT, VelocityWindow.MINUTE, START + 60_000));
+    }
+
+    @Test
+    @DisplayName("Concurrent records should all be counted")
+    void record_concurrent_losesNothing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    tracker.record(ACCOUNT, 1, START + i % 1000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, tracker.count(ACCOUNT, VelocityWindow.MINUTE, START + 1000));
+        assertEquals(80_000, tracker.sum(ACCOUNT, VelocityWindow.DAY, START + 1000));
+    }
+
+    @Test
+    @DisplayName("Accounts idle for a day should be evicted")
+    void evictIdle_dropsDayOldAccounts() {
+        tracker.record(ACCOUNT, 100, START);
+        tracker.record(2L, 100, START + 3600_000L);
+
+        assertEquals(1, tracker.evictIdle(START + 24 * 3600_000L + 1));
+        assertEquals(1, tracker.size());
+    }
+}
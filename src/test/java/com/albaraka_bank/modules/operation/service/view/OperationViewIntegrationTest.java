@@ -0,0 +1,265 @@
+package com.albaraka_bank.modules.operation.service.view;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.ai.model.AiDecision;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationHistoryFilter;
+import com.albaraka_bank.modules.operation.dto.OperationPage;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.dto.OperationResponse;
+import com.albaraka_bank.modules.operation.model.Document;
+import com.albaraka_bank.modules.operation.model.Operation;
+import com.albaraka_bank.modules.operation.model.OperationSide;
+import com.albaraka_bank.modules.operation.model.OperationStatus;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.model.OperationView;
+import com.albaraka_bank.modules.operation.repository.DocumentRepository;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.repository.OperationViewRepository;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import com.albaraka_bank.modules.outbox.model.OutboxEventType;
+import com.albaraka_bank.modules.outbox.repository.OutboxEventRepository;
+import com.albaraka_bank.modules.outbox.service.OutboxDispatcher;
+import com.albaraka_bank.modules.outbox.service.OutboxWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: the view is only written once the outbox events of committed operations
+ * are dispatched. The scheduled dispatcher is idle in the test profile; each test runs its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OperationViewIntegrationTest {
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private OperationViewProjector projector;
+
+    @Autowired
+    private OperationViewRepository operationViewRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 2; i++) {
+            User user = userRepository.save(User.builder()
+                    .fullName("View Client " + i)
+                    .email("view-client-" + i + "@example.com")
+                    .password("password")
+                    .role(UserRole.CLIENT)
+                    .active(true)
+                    .build());
+            users.add(user);
+            accounts.add(accountRepository.save(Account.builder()
+                    .accountNumber("VIEW0000000000" + i)
+                    .balance(Money.of("50000"))
+                    .owner(user)
+                    .build()));
+        }
+        users.add(userRepository.save(User.builder()
+                .fullName("View Agent")
+                .email("view-agent@example.com")
+                .password("password")
+                .role(UserRole.AGENT_BANCAIRE)
+                .active(true)
+                .build()));
+        dispatcher = new OutboxDispatcher(outboxEventRepository, transactionTemplate, List.of(projector),
+                new SimpleMeterRegistry(), 500, Duration.ofDays(7), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(operationService, "readModel", "tables");
+        for (Account account : accounts) {
+            String ofAccount = "SELECT id FROM operations WHERE source_account_id = ? OR destination_account_id = ?";
+            jdbcTemplate.update("DELETE FROM operation_view WHERE operation_id IN (" + ofAccount + ")",
+                    account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM outbox_events WHERE account_id = ?", account.getId());
+            jdbcTemplate.update("DELETE FROM documents WHERE operation_id IN (" + ofAccount + ")",
+                    account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (" + ofAccount + ")",
+                    account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ? OR destination_account_id = ?",
+                    account.getId(), account.getId());
+        }
+        accounts.forEach(account -> jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId()));
+        users.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId()));
+    }
+
+    @Test
+    @DisplayName("Once dispatched, the view should answer history and review reads exactly like the joins")
+    void view_matchesJoinedReads() {
+        Long documented = createOperations();
+        User sender = users.get(0);
+        User receiver = users.get(1);
+
+        // Nothing is projected until the outbox is dispatched
+        assertTrue(fromView(() -> operationService.getOperationsByUser(sender, new OperationHistoryFilter()))
+                .getOperations().isEmpty());
+        dispatcher.dispatch();
+
+        for (User user : List.of(sender, receiver)) {
+            assertEquals(fromTables(() -> walk(user)), fromView(() -> walk(user)));
+        }
+        OperationHistoryFilter transfers = new OperationHistoryFilter();
+        transfers.setType(OperationType.TRANSFER);
+        transfers.setMinAmount(new BigDecimal("100"));
+        assertEquals(fromTables(() -> operationService.getOperationsByUser(receiver, transfers)),
+                fromView(() -> operationService.getOperationsByUser(receiver, transfers)));
+
+        Set<String> ours = Set.of(accounts.get(0).getAccountNumber(), accounts.get(1).getAccountNumber());
+        List<OperationResponse> pending = fromView(operationService::getPendingOperations).stream()
+                .filter(operation -> ours.contains(operation.getSourceAccountNumber()))
+                .toList();
+        assertEquals(fromTables(operationService::getPendingOperations).stream()
+                .filter(operation -> ours.contains(operation.getSourceAccountNumber()))
+                .toList(), pending);
+        assertEquals(List.of(documented), pending.stream().map(OperationResponse::getId).toList());
+        assertTrue(pending.get(0).isHasDocument());
+
+        OperationView row = operationViewRepository.findById(new OperationView.Key(documented, OperationSide.SOURCE))
+                .orElseThrow();
+        assertEquals(AiDecision.REJECT, row.getAiDecision());
+    }
+
+    @Test
+    @DisplayName("A rebuild from scratch should produce the rows the projector maintained")
+    void rebuild_reproducesProjectedRows() {
+        createOperations();
+        dispatcher.dispatch();
+        List<OperationView> projected = ourRows();
+        assertEquals(7, projected.size());
+
+        assertTrue(projector.rebuild() >= projected.size());
+
+        assertEquals(projected, ourRows());
+    }
+
+    /**
+     * Seven rows: a deposit, an executed transfer (both sides), a rejected transfer (both sides),
+     * a withdrawal, and a pending deposit with a document and an AI verdict, whose id is returned.
+     */
+    private Long createOperations() {
+        User sender = users.get(0);
+        String receiverAccount = accounts.get(1).getAccountNumber();
+        operationService.createOperation(request(OperationType.DEPOSIT, "100", null), sender);
+        operationService.createOperation(request(OperationType.TRANSFER, "50", receiverAccount), sender);
+        Long rejected = operationService.createOperation(
+                request(OperationType.TRANSFER, "12000", receiverAccount), sender).getId();
+        operationService.createOperation(request(OperationType.WITHDRAWAL, "10", null), users.get(1));
+        operationService.rejectOperation(rejected, users.get(2));
+
+        Long documented = operationService.createOperation(request(OperationType.DEPOSIT, "15000", null), sender)
+                .getId();
+        // What DocumentService commits for an upload and its analysis
+        transactionTemplate.executeWithoutResult(status -> {
+            Operation operation = operationRepository.findById(documented).orElseThrow();
+            documentRepository.save(Document.builder()
+                    .fileName("receipt.pdf")
+                    .fileType("application/pdf")
+                    .storagePath("view-test/receipt.pdf")
+                    .operation(operation)
+                    .build());
+            outboxWriter.operationChanged(OutboxEventType.DOCUMENT_ATTACHED, operation);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            operationRepository.updateAiAnalysis(documented, "REJECT: amount does not match the receipt");
+            outboxWriter.operationChanged(OutboxEventType.AI_ANALYSIS_RECORDED,
+                    operationRepository.findById(documented).orElseThrow());
+        });
+        assertEquals(OperationStatus.PENDING, operationService.getOperation(documented).getStatus());
+        return documented;
+    }
+
+    // Every page of the user's history, two at a time, so cursors are compared too
+    private List<OperationPage> walk(User user) {
+        List<OperationPage> pages = new ArrayList<>();
+        OperationHistoryFilter filter = new OperationHistoryFilter();
+        filter.setLimit(2);
+        do {
+            OperationPage page = operationService.getOperationsByUser(user, filter);
+            pages.add(page);
+            filter.setCursor(page.getNextCursor());
+        } while (filter.getCursor() != null);
+        return pages;
+    }
+
+    private <T> T fromTables(Supplier<T> read) {
+        ReflectionTestUtils.setField(operationService, "readModel", "tables");
+        return read.get();
+    }
+
+    private <T> T fromView(Supplier<T> read) {
+        ReflectionTestUtils.setField(operationService, "readModel", "view");
+        return read.get();
+    }
+
+    private List<OperationView> ourRows() {
+        Set<Long> ours = Set.of(accounts.get(0).getId(), accounts.get(1).getId());
+        return operationViewRepository.findAll().stream()
+                .filter(row -> ours.contains(row.getAccountId()))
+                .sorted(Comparator.comparing(OperationView::getOperationId).thenComparing(OperationView::getSide))
+                .toList();
+    }
+
+    private static OperationRequest request(OperationType type, String amount, String destinationAccountNumber) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        request.setDestinationAccountNumber(destinationAccountNumber);
+        return request;
+    }
+}
@@ -1,16 +1,21 @@
 package com.albaraka_bank.modules.operation.strategy;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountBalanceSlotRepository;
 import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountCache;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.account.service.lock.AccountLockManager;
+import com.albaraka_bank.modules.ledger.service.LedgerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,25 +26,36 @@ class DepositStrategyTest {
     @Mock
     private AccountRepository accountRepository;
 
-    @InjectMocks
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    @Mock
+    private AccountLockManager accountLockManager;
+
     private DepositStrategy depositStrategy;
 
     private Account account;
 
     @BeforeEach
     void setUp() {
+        depositStrategy = new DepositStrategy(new AccountService(accountRepository, ledgerService,
+                balanceSlotRepository, accountLockManager, new AccountCache(100, Duration.ofMinutes(10), Duration.ofSeconds(2)), null));
+
         account = Account.builder()
                 .id(1L)
                 .accountNumber("1234567890123456")
-                .balance(new BigDecimal("1000"))
+                .balance(Money.of("1000"))
                 .build();
     }
 
     @Test
     @DisplayName("Deposit should increase account balance")
     void process_validDeposit_increasesBalance() {
-        BigDecimal depositAmount = new BigDecimal("500");
-        BigDecimal expectedBalance = new BigDecimal("1500");
+        Money depositAmount = Money.of("500");
+        Money expectedBalance = Money.of("1500");
 
         depositStrategy.process(depositAmount, account, null);
 
@@ -50,19 +66,19 @@ class DepositStrategyTest {
     @Test
     @DisplayName("Deposit with null account should throw exception")
     void process_nullAccount_throwsException() {
-        assertThrows(IllegalArgumentException.class, () -> depositStrategy.process(new BigDecimal("500"), null, null));
+        assertThrows(IllegalArgumentException.class, () -> depositStrategy.process(Money.of("500"), null, null));
     }
 
     @Test
     @DisplayName("Deposit with zero amount should throw exception")
     void process_zeroAmount_throwsException() {
-        assertThrows(IllegalArgumentException.class, () -> depositStrategy.process(BigDecimal.ZERO, account, null));
+        assertThrows(IllegalArgumentException.class, () -> depositStrategy.process(Money.ZERO, account, null));
     }
 
     @Test
     @DisplayName("Deposit with negative amount should throw exception")
     void process_negativeAmount_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> depositStrategy.process(new BigDecimal("-100"), account, null));
+                () -> depositStrategy.process(Money.of("-100"), account, null));
     }
 }
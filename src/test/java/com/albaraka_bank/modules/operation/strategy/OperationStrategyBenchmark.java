@@ -0,0 +1,77 @@
+package com.albaraka_bank.modules.operation.strategy;
+
+import com.albaraka_bank.benchmark.InMemoryStubs;
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountBalanceSlotRepository;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountCache;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.ledger.service.LedgerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each strategy against in-place balances with no database behind the repositories, i.e. the
+ * checks and balance arithmetic an operation pays for on top of its SQL. Transfers go back and
+ * forth, and opening balances are large enough that withdrawals never run out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OperationStrategyBenchmark {
+
+    private DepositStrategy deposit;
+    private WithdrawalStrategy withdrawal;
+    private TransferStrategy transfer;
+    private Account first;
+    private Account second;
+    private Money amount;
+    private boolean forward;
+
+    @Setup
+    public void setUp() {
+        AccountService accountService = new AccountService(InMemoryStubs.repository(AccountRepository.class),
+                new LedgerService(null, null), InMemoryStubs.repository(AccountBalanceSlotRepository.class), null,
+                new AccountCache(100, Duration.ofMinutes(10), Duration.ofSeconds(2)), null);
+        deposit = new DepositStrategy(accountService);
+        withdrawal = new WithdrawalStrategy(accountService);
+        transfer = new TransferStrategy(accountService);
+        // Far more than a run can withdraw, far from overflowing on deposits
+        Money opening = Money.ofMinor(Long.MAX_VALUE / 4);
+        first = Account.builder().id(1L).accountNumber("ALB000000000001").balance(opening).build();
+        second = Account.builder().id(2L).accountNumber("ALB000000000002").balance(opening).build();
+        amount = Money.of("150.25");
+    }
+
+    @Benchmark
+    public Money deposit() {
+        deposit.process(amount, first, null);
+        return first.getBalance();
+    }
+
+    @Benchmark
+    public Money withdrawal() {
+        withdrawal.process(amount, second, null);
+        return second.getBalance();
+    }
+
+    @Benchmark
+    public Money transfer() {
+        forward = !forward;
+        if (forward) {
+            transfer.process(amount, first, second);
+        } else {
+            transfer.process(amount, second, first);
+        }
+        return first.getBalance();
+    }
+}
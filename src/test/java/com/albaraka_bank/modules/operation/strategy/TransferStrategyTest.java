@@ -1,16 +1,21 @@
 package com.albaraka_bank.modules.operation.strategy;
 
+import com.albaraka_bank.common.money.Money;
 import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountBalanceSlotRepository;
 import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.account.service.AccountCache;
+import com.albaraka_bank.modules.account.service.AccountService;
+import com.albaraka_bank.modules.account.service.lock.AccountLockManager;
+import com.albaraka_bank.modules.ledger.service.LedgerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,7 +26,15 @@ class TransferStrategyTest {
     @Mock
     private AccountRepository accountRepository;
 
-    @InjectMocks
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private AccountBalanceSlotRepository balanceSlotRepository;
+
+    @Mock
+    private AccountLockManager accountLockManager;
+
     private TransferStrategy transferStrategy;
 
     private Account sourceAccount;
@@ -29,28 +42,31 @@ class TransferStrategyTest {
 
     @BeforeEach
     void setUp() {
+        transferStrategy = new TransferStrategy(new AccountService(accountRepository, ledgerService,
+                balanceSlotRepository, accountLockManager, new AccountCache(100, Duration.ofMinutes(10), Duration.ofSeconds(2)), null));
+
         sourceAccount = Account.builder()
                 .id(1L)
                 .accountNumber("1111111111111111")
-                .balance(new BigDecimal("5000"))
+                .balance(Money.of("5000"))
                 .build();
 
         destinationAccount = Account.builder()
                 .id(2L)
                 .accountNumber("2222222222222222")
-                .balance(new BigDecimal("1000"))
+                .balance(Money.of("1000"))
                 .build();
     }
 
     @Test
     @DisplayName("Transfer should decrease source and increase destination balance")
     void process_validTransfer_updatesBalances() {
-        BigDecimal transferAmount = new BigDecimal("2000");
+        Money transferAmount = Money.of("2000");
 
         transferStrategy.process(transferAmount, sourceAccount, destinationAccount);
 
-        assertEquals(new BigDecimal("3000"), sourceAccount.getBalance());
-        assertEquals(new BigDecimal("3000"), destinationAccount.getBalance());
+        assertEquals(Money.of("3000"), sourceAccount.getBalance());
+        assertEquals(Money.of("3000"), destinationAccount.getBalance());
         verify(accountRepository, times(2)).save(any(Account.class));
     }
 
@@ -58,41 +74,41 @@ class TransferStrategyTest {
     @DisplayName("Transfer with null source account should throw exception")
     void process_nullSourceAccount_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> transferStrategy.process(new BigDecimal("500"), null, destinationAccount));
+                () -> transferStrategy.process(Money.of("500"), null, destinationAccount));
     }
 
     @Test
     @DisplayName("Transfer with null destination account should throw exception")
     void process_nullDestinationAccount_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> transferStrategy.process(new BigDecimal("500"), sourceAccount, null));
+                () -> transferStrategy.process(Money.of("500"), sourceAccount, null));
     }
 
     @Test
     @DisplayName("Transfer to same account should throw exception")
     void process_sameAccount_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> transferStrategy.process(new BigDecimal("500"), sourceAccount, sourceAccount));
+                () -> transferStrategy.process(Money.of("500"), sourceAccount, sourceAccount));
     }
 
     @Test
     @DisplayName("Transfer with insufficient balance should throw exception")
     void process_insufficientBalance_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> transferStrategy.process(new BigDecimal("10000"), sourceAccount, destinationAccount));
+                () -> transferStrategy.process(Money.of("10000"), sourceAccount, destinationAccount));
     }
 
     @Test
     @DisplayName("Transfer with zero amount should throw exception")
     void process_zeroAmount_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> transferStrategy.process(BigDecimal.ZERO, sourceAccount, destinationAccount));
+                () -> transferStrategy.process(Money.ZERO, sourceAccount, destinationAccount));
     }
 
     @Test
     @DisplayName("Transfer with negative amount should throw exception")
     void process_negativeAmount_throwsException() {
         assertThrows(IllegalArgumentException.class,
-                () -> transferStrategy.process(new BigDecimal("-100"), sourceAccount, destinationAccount));
+                () -> transferStrategy.process(Money.of("-100"), sourceAccount, destinationAccount));
     }
 }
@@ -0,0 +1,295 @@
+package com.albaraka_bank.modules.outbox.service;
+
+import com.albaraka_bank.common.money.Money;
+import com.albaraka_bank.modules.account.model.Account;
+import com.albaraka_bank.modules.account.repository.AccountRepository;
+import com.albaraka_bank.modules.iam.model.User;
+import com.albaraka_bank.modules.iam.model.UserRole;
+import com.albaraka_bank.modules.iam.repository.UserRepository;
+import com.albaraka_bank.modules.operation.dto.OperationRequest;
+import com.albaraka_bank.modules.operation.model.OperationType;
+import com.albaraka_bank.modules.operation.repository.OperationRepository;
+import com.albaraka_bank.modules.operation.service.OperationService;
+import com.albaraka_bank.modules.outbox.model.OutboxEvent;
+import com.albaraka_bank.modules.outbox.model.OutboxEventType;
+import com.albaraka_bank.modules.outbox.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: outbox rows are only written when the operation's transaction commits.
+ * The scheduled dispatcher is idle in the test profile; each test runs its own.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private OperationService operationService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 2; i++) {
+            User user = userRepository.save(User.builder()
+                    .fullName("Outbox Client " + i)
+                    .email("outbox-client-" + i + "@example.com")
+                    .password("password")
+                    .role(UserRole.CLIENT)
+                    .active(true)
+                    .build());
+            users.add(user);
+            accounts.add(accountRepository.save(Account.builder()
+                    .accountNumber("OUTBOX00000000" + i)
+                    .balance(Money.of("50000"))
+                    .owner(user)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Account account : accounts) {
+            jdbcTemplate.update("DELETE FROM outbox_events WHERE account_id = ?", account.getId());
+            jdbcTemplate.update("DELETE FROM ledger_entries WHERE operation_id IN (SELECT id FROM operations"
+                    + " WHERE source_account_id = ? OR destination_account_id = ?)", account.getId(), account.getId());
+            jdbcTemplate.update("DELETE FROM operations WHERE source_account_id = ? OR destination_account_id = ?",
+                    account.getId(), account.getId());
+        }
+        accounts.forEach(account -> jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", account.getId()));
+        users.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId()));
+    }
+
+    @Test
+    @DisplayName("Operations should be in the outbox once committed, and not at all when rolled back")
+    void executedOperations_writtenWithTheirTransaction() {
+        User client = users.get(0);
+        Long first = operationService.createOperation(request(OperationType.DEPOSIT, "100"), client).getId();
+        Long second = operationService.createOperation(request(OperationType.WITHDRAWAL, "40"), client).getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            operationService.createOperation(request(OperationType.DEPOSIT, "999"), client);
+            status.setRollbackOnly();
+        });
+        // Goes to review instead of executing
+        Long pending = operationService.createOperation(request(OperationType.DEPOSIT, "15000"), client).getId();
+
+        List<OutboxEvent> events = eventsOf(accounts.get(0)).stream()
+                .filter(event -> event.getEventType() == OutboxEventType.OPERATION_EXECUTED)
+                .toList();
+        assertEquals(List.of(first, second), events.stream().map(OutboxEvent::getOperationId).toList());
+        assertEquals(List.of(OutboxEventType.OPERATION_SUBMITTED), eventsOf(accounts.get(0)).stream()
+                .filter(event -> event.getOperationId().equals(pending))
+                .map(OutboxEvent::getEventType)
+                .toList());
+        assertTrue(events.get(0).getId() < events.get(1).getId());
+        assertEquals(OperationType.WITHDRAWAL, events.get(1).getOperationType());
+        assertEquals(Money.of("40"), events.get(1).getAmount());
+        assertNull(events.get(1).getPublishedAt());
+    }
+
+    @Test
+    @DisplayName("A failed event should hold back its account's later events, not other accounts', until retried")
+    void dispatch_ordersPerAccountAndRetriesFailures() {
+        User client = users.get(0);
+        Long first = operationService.createOperation(request(OperationType.DEPOSIT, "1"), client).getId();
+        Long failing = operationService.createOperation(request(OperationType.DEPOSIT, "2"), client).getId();
+        Long third = operationService.createOperation(request(OperationType.DEPOSIT, "3"), client).getId();
+        Long other = operationService.createOperation(request(OperationType.DEPOSIT, "4"), users.get(1)).getId();
+
+        Set<Long> ours = Set.of(first, failing, third, other);
+        List<Long> delivered = new ArrayList<>();
+        Set<Long> failedOnce = new HashSet<>();
+        OutboxSubscriber subscriber = event -> {
+            if (!ours.contains(event.getOperationId())) {
+                return;
+            }
+            if (event.getOperationId().equals(failing) && failedOnce.add(failing)) {
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            delivered.add(event.getOperationId());
+        };
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, transactionTemplate,
+                List.of(subscriber), new SimpleMeterRegistry(), 500, Duration.ofDays(7), Duration.ofMinutes(5));
+
+        dispatcher.dispatch();
+        assertEquals(List.of(first, other), delivered);
+        OutboxEvent failed = eventsOf(accounts.get(0)).get(1);
+        assertEquals(1, failed.getAttempts());
+        assertEquals("Subscriber unavailable", failed.getLastError());
+        assertNotNull(failed.getNextAttemptAt());
+
+        // Not due yet
+        dispatcher.dispatch();
+        assertEquals(List.of(first, other), delivered);
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = NULL WHERE id = ?", failed.getId());
+        dispatcher.dispatch();
+        assertEquals(List.of(first, other, failing, third), delivered);
+        assertTrue(eventsOf(accounts.get(0)).stream().allMatch(event -> event.getPublishedAt() != null));
+    }
+
+    @Test
+    @DisplayName("A subscriber failing inside a transactional call should be backed off without blocking other events")
+    void dispatch_recordsFailuresThatDoomTheDelivery() {
+        Long poison = operationService.createOperation(request(OperationType.DEPOSIT, "5"), users.get(0)).getId();
+        Long next = operationService.createOperation(request(OperationType.DEPOSIT, "6"), users.get(0)).getId();
+        Long other = operationService.createOperation(request(OperationType.DEPOSIT, "7"), users.get(1)).getId();
+
+        Set<Long> ours = Set.of(poison, next, other);
+        List<Long> delivered = new ArrayList<>();
+        AtomicBoolean healthy = new AtomicBoolean();
+        OutboxSubscriber subscriber = event -> {
+            if (event.getOperationId().equals(poison) && !healthy.get()) {
+                // Fails inside the repository's transaction, which dooms the delivery's
+                userRepository.save(User.builder().build());
+            }
+            if (ours.contains(event.getOperationId())) {
+                delivered.add(event.getOperationId());
+            }
+        };
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, transactionTemplate,
+                List.of(subscriber), new SimpleMeterRegistry(), 500, Duration.ofDays(7), Duration.ofMinutes(5));
+
+        dispatcher.dispatch();
+        assertEquals(List.of(other), delivered);
+        OutboxEvent failed = eventOf(poison);
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getLastError());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = NULL WHERE id = ?", failed.getId());
+        dispatcher.dispatch();
+        assertEquals(2, eventOf(poison).getAttempts());
+        assertNull(eventOf(next).getPublishedAt());
+
+        healthy.set(true);
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = NULL WHERE id = ?", failed.getId());
+        dispatcher.dispatch();
+        assertEquals(List.of(other, poison, next), delivered);
+        assertNotNull(eventOf(next).getPublishedAt());
+    }
+
+    @Test
+    @DisplayName("An account's event drawn first should be delivered first even when its transaction commits last")
+    void interleavedWriters_deliveredInCommitOrder() throws Exception {
+        Long first = operationService.createOperation(request(OperationType.DEPOSIT, "8"), users.get(0)).getId();
+        Long second = operationService.createOperation(request(OperationType.DEPOSIT, "9"), users.get(0)).getId();
+        List<Long> delivered = new ArrayList<>();
+        OutboxSubscriber subscriber = event -> {
+            if (event.getEventType() == OutboxEventType.OPERATION_REJECTED) {
+                delivered.add(event.getOperationId());
+            }
+        };
+        OutboxDispatcher dispatcher = new OutboxDispatcher(outboxEventRepository, transactionTemplate,
+                List.of(subscriber), new SimpleMeterRegistry(), 500, Duration.ofDays(7), Duration.ofMinutes(5));
+        dispatcher.dispatch();
+
+        // Neither holds the account's lock: the writer alone has to keep them apart
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            outboxWriter.operationChanged(OutboxEventType.OPERATION_REJECTED,
+                    operationRepository.findById(first).orElseThrow());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // After the outbox row went in, before it is committed
+                    firstWritten.countDown();
+                    await(release);
+                }
+            });
+        }));
+        assertTrue(firstWritten.await(30, TimeUnit.SECONDS));
+        CompletableFuture<Void> fast = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+                outboxWriter.operationChanged(OutboxEventType.OPERATION_REJECTED,
+                        operationRepository.findById(second).orElseThrow())));
+
+        Thread.sleep(200);
+        assertFalse(fast.isDone());
+        dispatcher.dispatchBatch();
+        assertEquals(List.of(), delivered);
+
+        release.countDown();
+        slow.get(30, TimeUnit.SECONDS);
+        fast.get(30, TimeUnit.SECONDS);
+        dispatcher.dispatch();
+        assertEquals(List.of(first, second), delivered);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OutboxEvent eventOf(Long operationId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getOperationId().equals(operationId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<OutboxEvent> eventsOf(Account account) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAccountId().equals(account.getId()))
+                .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                .toList();
+    }
+
+    private static OperationRequest request(OperationType type, String amount) {
+        OperationRequest request = new OperationRequest();
+        request.setType(type);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}